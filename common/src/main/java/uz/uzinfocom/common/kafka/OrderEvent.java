@@ -1,4 +1,4 @@
-package uz.uzinfocom.notification.dto;
+package uz.uzinfocom.common.kafka;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
@@ -7,12 +7,18 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import lombok.ToString;
 
+/**
+ * orders topic xabari. Wire formati OrderEventCodec'da: yangi maydon qo'shilsa
+ * yangi tag oladi, mavjud tag'lar o'zgartirilmaydi va qayta ishlatilmaydi.
+ */
 @Getter
 @Setter
+@ToString
 @AllArgsConstructor
 @NoArgsConstructor
-public class OrdersDto implements Serializable {
+public class OrderEvent implements Serializable {
 
   private Long id;
   private Long userId;
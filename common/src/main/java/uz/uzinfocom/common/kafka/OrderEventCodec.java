@@ -0,0 +1,264 @@
+package uz.uzinfocom.common.kafka;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * OrderEvent uchun binar wire formati.
+ * Format: [MAGIC][schemaVersion varint] keyin maydonlar: [tag varint][qiymat],
+ * tag = (maydon raqami << 3) | wire turi. null maydonlar yozilmaydi.
+ * <p>
+ * Evolyutsiya: yangi maydon yangi raqam bilan qo'shiladi - eski o'quvchi uni wire turi bo'yicha
+ * o'tkazib yuboradi (forward), yangi o'quvchi eski xabarda yo'q maydonni null qoldiradi (backward).
+ * schemaVersion faqat mos kelmaydigan o'zgarishda oshiriladi; o'quvchi bilmagan versiyani rad etadi.
+ */
+public final class OrderEventCodec {
+
+  public static final byte MAGIC = (byte) 0xC5;
+  public static final int SCHEMA_VERSION = 1;
+
+  static final int VARINT = 0;
+  static final int LENGTH_DELIMITED = 2;
+
+  private static final int ID = 1;
+  private static final int USER_ID = 2;
+  private static final int PRODUCT_ID = 3;
+  private static final int QUANTITY = 4;
+  private static final int TOTAL_PRICE = 5;
+  private static final int CREATED_AT = 6;
+  private static final int UPDATED_AT = 7;
+
+  private OrderEventCodec() {
+  }
+
+  public static boolean isBinary(byte[] bytes) {
+    return bytes != null && bytes.length > 0 && bytes[0] == MAGIC;
+  }
+
+  public static byte[] encode(OrderEvent event) {
+    Writer out = new Writer(64);
+    out.writeByte(MAGIC);
+    out.writeVarLong(SCHEMA_VERSION);
+    writeLong(out, ID, event.getId());
+    writeLong(out, USER_ID, event.getUserId());
+    writeLong(out, PRODUCT_ID, event.getProductId());
+    if (event.getQuantity() != null) {
+      writeLong(out, QUANTITY, (long) event.getQuantity());
+    }
+    if (event.getTotalPrice() != null) {
+      int scale = event.getTotalPrice().scale();
+      if (scale != (byte) scale) {
+        throw new IllegalArgumentException("Unsupported totalPrice scale: " + scale);
+      }
+      byte[] unscaled = event.getTotalPrice().unscaledValue().toByteArray();
+      out.writeTag(TOTAL_PRICE, LENGTH_DELIMITED);
+      out.writeVarLong(1 + unscaled.length);
+      // scale bitta ishorali bayt
+      out.writeByte(scale);
+      out.write(unscaled);
+    }
+    writeDateTime(out, CREATED_AT, event.getCreatedAt());
+    writeDateTime(out, UPDATED_AT, event.getUpdatedAt());
+    return out.toByteArray();
+  }
+
+  public static OrderEvent decode(byte[] bytes) throws IOException {
+    if (!isBinary(bytes)) {
+      throw new IOException("Not a binary order event");
+    }
+    Reader in = new Reader(bytes, 1);
+    long version = in.readVarLong();
+    if (version != SCHEMA_VERSION) {
+      throw new IOException("Unsupported order event schema version: " + version);
+    }
+
+    OrderEvent event = new OrderEvent();
+    while (in.hasRemaining()) {
+      long tag = in.readVarLong();
+      int field = (int) (tag >>> 3);
+      int wireType = (int) (tag & 0x7);
+      switch (field) {
+        case ID -> event.setId(readLong(in, wireType));
+        case USER_ID -> event.setUserId(readLong(in, wireType));
+        case PRODUCT_ID -> event.setProductId(readLong(in, wireType));
+        case QUANTITY -> event.setQuantity(Math.toIntExact(readLong(in, wireType)));
+        case TOTAL_PRICE -> event.setTotalPrice(readDecimal(in, wireType));
+        case CREATED_AT -> event.setCreatedAt(readDateTime(in, wireType));
+        case UPDATED_AT -> event.setUpdatedAt(readDateTime(in, wireType));
+        // Yangiroq producer qo'shgan maydon
+        default -> in.skip(wireType);
+      }
+    }
+    return event;
+  }
+
+  private static void writeLong(Writer out, int field, Long value) {
+    if (value != null) {
+      out.writeTag(field, VARINT);
+      out.writeVarLong(zigZag(value));
+    }
+  }
+
+  private static void writeDateTime(Writer out, int field, LocalDateTime value) {
+    if (value == null) {
+      return;
+    }
+    long seconds = zigZag(value.toEpochSecond(ZoneOffset.UTC));
+    out.writeTag(field, LENGTH_DELIMITED);
+    out.writeVarLong(varLongSize(seconds) + varLongSize(value.getNano()));
+    out.writeVarLong(seconds);
+    out.writeVarLong(value.getNano());
+  }
+
+  private static long readLong(Reader in, int wireType) throws IOException {
+    expect(wireType, VARINT);
+    return unZigZag(in.readVarLong());
+  }
+
+  private static BigDecimal readDecimal(Reader in, int wireType) throws IOException {
+    expect(wireType, LENGTH_DELIMITED);
+    int length = Math.toIntExact(in.readVarLong());
+    int scale = in.readByte();
+    return new BigDecimal(new BigInteger(in.readBytes(length - 1)), scale);
+  }
+
+  private static LocalDateTime readDateTime(Reader in, int wireType) throws IOException {
+    expect(wireType, LENGTH_DELIMITED);
+    in.readVarLong();
+    long seconds = unZigZag(in.readVarLong());
+    int nano = (int) in.readVarLong();
+    return LocalDateTime.ofEpochSecond(seconds, nano, ZoneOffset.UTC);
+  }
+
+  private static void expect(int wireType, int expected) throws IOException {
+    if (wireType != expected) {
+      throw new IOException("Unexpected wire type " + wireType + ", expected " + expected);
+    }
+  }
+
+  private static int varLongSize(long value) {
+    int size = 1;
+    while ((value & ~0x7FL) != 0) {
+      value >>>= 7;
+      size++;
+    }
+    return size;
+  }
+
+  private static long zigZag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  private static long unZigZag(long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  /**
+   * Sinxronizatsiyasiz, o'sib boruvchi bayt buferi (DataOutputStream har yozuvda lock oladi).
+   */
+  static final class Writer {
+
+    private byte[] buffer;
+    private int position;
+
+    Writer(int capacity) {
+      this.buffer = new byte[capacity];
+    }
+
+    void writeTag(int field, int wireType) {
+      writeVarLong(((long) field << 3) | wireType);
+    }
+
+    void writeVarLong(long value) {
+      ensure(10);
+      while ((value & ~0x7FL) != 0) {
+        buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      buffer[position++] = (byte) value;
+    }
+
+    void writeByte(int value) {
+      ensure(1);
+      buffer[position++] = (byte) value;
+    }
+
+    void write(byte[] bytes) {
+      ensure(bytes.length);
+      System.arraycopy(bytes, 0, buffer, position, bytes.length);
+      position += bytes.length;
+    }
+
+    byte[] toByteArray() {
+      return Arrays.copyOf(buffer, position);
+    }
+
+    private void ensure(int extra) {
+      if (position + extra > buffer.length) {
+        buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+      }
+    }
+  }
+
+  private static final class Reader {
+
+    private final byte[] bytes;
+    private int position;
+
+    Reader(byte[] bytes, int position) {
+      this.bytes = bytes;
+      this.position = position;
+    }
+
+    boolean hasRemaining() {
+      return position < bytes.length;
+    }
+
+    long readVarLong() throws IOException {
+      long result = 0;
+      for (int shift = 0; shift < 64; shift += 7) {
+        int b = readByte() & 0xFF;
+        result |= (long) (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return result;
+        }
+      }
+      throw new IOException("Malformed varint");
+    }
+
+    byte readByte() throws IOException {
+      if (position >= bytes.length) {
+        throw new EOFException("Truncated order event");
+      }
+      return bytes[position++];
+    }
+
+    byte[] readBytes(int length) throws IOException {
+      if (length < 0 || position + length > bytes.length) {
+        throw new EOFException("Truncated order event");
+      }
+      byte[] result = Arrays.copyOfRange(bytes, position, position + length);
+      position += length;
+      return result;
+    }
+
+    void skip(int wireType) throws IOException {
+      switch (wireType) {
+        case VARINT -> readVarLong();
+        case LENGTH_DELIMITED -> {
+          long length = readVarLong();
+          if (length < 0 || length > bytes.length - position) {
+            throw new EOFException("Truncated order event field");
+          }
+          position += (int) length;
+        }
+        default -> throw new IOException("Unknown wire type: " + wireType);
+      }
+    }
+  }
+}
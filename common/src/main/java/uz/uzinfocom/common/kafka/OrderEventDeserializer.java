@@ -0,0 +1,39 @@
+package uz.uzinfocom.common.kafka;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+/**
+ * OrderEvent'ni o'qiydi: MAGIC bilan boshlangan qiymat binar formatda, qolganlari
+ * migratsiya davridagi eski JSON xabarlar sifatida (OrderMessage type header'i e'tiborsiz qoldiriladi).
+ */
+public class OrderEventDeserializer implements Deserializer<OrderEvent> {
+
+  private final ObjectMapper jsonMapper;
+
+  public OrderEventDeserializer() {
+    this(new ObjectMapper().findAndRegisterModules());
+  }
+
+  public OrderEventDeserializer(ObjectMapper jsonMapper) {
+    this.jsonMapper = jsonMapper.copy()
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+  }
+
+  @Override
+  public OrderEvent deserialize(String topic, byte[] data) {
+    if (data == null || data.length == 0) {
+      return null;
+    }
+    try {
+      return OrderEventCodec.isBinary(data)
+          ? OrderEventCodec.decode(data)
+          : jsonMapper.readValue(data, OrderEvent.class);
+    } catch (IOException | RuntimeException e) {
+      throw new SerializationException("Could not deserialize order event from " + topic, e);
+    }
+  }
+}
@@ -0,0 +1,14 @@
+package uz.uzinfocom.common.kafka;
+
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * OrderEvent'ni binar formatda yozadi (OrderEventCodec). Type header'lar qo'shilmaydi.
+ */
+public class OrderEventSerializer implements Serializer<OrderEvent> {
+
+  @Override
+  public byte[] serialize(String topic, OrderEvent event) {
+    return event == null ? null : OrderEventCodec.encode(event);
+  }
+}
@@ -0,0 +1,83 @@
+package uz.uzinfocom.common.kafka;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+
+class OrderEventCodecTests {
+
+  private final OrderEventSerializer serializer = new OrderEventSerializer();
+  private final OrderEventDeserializer deserializer = new OrderEventDeserializer();
+
+  @Test
+  void roundTripsEvent() {
+    OrderEvent event = event();
+
+    OrderEvent result = deserializer.deserialize("orders", serializer.serialize("orders", event));
+
+    assertEquals(event.getId(), result.getId());
+    assertEquals(event.getUserId(), result.getUserId());
+    assertEquals(event.getProductId(), result.getProductId());
+    assertEquals(event.getQuantity(), result.getQuantity());
+    assertEquals(event.getTotalPrice(), result.getTotalPrice());
+    assertEquals(event.getCreatedAt(), result.getCreatedAt());
+    assertNull(result.getUpdatedAt());
+  }
+
+  @Test
+  void skipsFieldsAddedByNewerProducers() {
+    OrderEventCodec.Writer out = new OrderEventCodec.Writer(16);
+    out.write(serializer.serialize("orders", event()));
+    out.writeTag(40, OrderEventCodec.LENGTH_DELIMITED);
+    out.writeVarLong(3);
+    out.write(new byte[] {1, 2, 3});
+    out.writeTag(41, OrderEventCodec.VARINT);
+    out.writeVarLong(300);
+
+    OrderEvent result = deserializer.deserialize("orders", out.toByteArray());
+
+    assertEquals(event().getTotalPrice(), result.getTotalPrice());
+    assertEquals(event().getCreatedAt(), result.getCreatedAt());
+  }
+
+  @Test
+  void readsLegacyJsonMessages() throws Exception {
+    ObjectMapper mapper = new ObjectMapper().findAndRegisterModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    OrderEvent event = event();
+
+    OrderEvent result = deserializer.deserialize("orders", mapper.writeValueAsBytes(event));
+
+    assertEquals(event.getId(), result.getId());
+    assertEquals(event.getTotalPrice(), result.getTotalPrice());
+    assertEquals(event.getCreatedAt(), result.getCreatedAt());
+  }
+
+  @Test
+  void rejectsUnknownSchemaVersion() {
+    byte[] bytes = {OrderEventCodec.MAGIC, 2, 8, 2};
+
+    assertThrows(SerializationException.class, () -> deserializer.deserialize("orders", bytes));
+  }
+
+  @Test
+  void binaryIsSmallerThanJson() throws Exception {
+    ObjectMapper mapper = new ObjectMapper().findAndRegisterModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    assertTrue(serializer.serialize("orders", event()).length * 3 < mapper.writeValueAsBytes(event()).length);
+  }
+
+  private static OrderEvent event() {
+    return new OrderEvent(1_000_123L, 42L, 77L, 3, new BigDecimal("3899.97"),
+        LocalDateTime.of(2026, 10, 18, 15, 30, 12, 123_456_000), null);
+  }
+}
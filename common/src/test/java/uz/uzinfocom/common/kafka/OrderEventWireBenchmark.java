@@ -0,0 +1,73 @@
+package uz.uzinfocom.common.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+/**
+ * Eski JSON (type header bilan) va binar formatni solishtirish: xabar hajmi va bitta
+ * yadroda (bitta thread) sekundiga serialize + deserialize qilinadigan yozuvlar soni.
+ * Test sifatida ishga tushmaydi, qo'lda: main() orqali.
+ */
+public class OrderEventWireBenchmark {
+
+  private static final int WARMUP = 300_000;
+  private static final int ITERATIONS = 2_000_000;
+
+  public static void main(String[] args) {
+    ObjectMapper mapper = new ObjectMapper().findAndRegisterModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    JsonSerializer<OrderEvent> jsonSerializer = new JsonSerializer<>(mapper);
+    jsonSerializer.configure(Map.of(JsonSerializer.TYPE_MAPPINGS,
+        "OrderMessage:" + OrderEvent.class.getName()), false);
+    JsonDeserializer<OrderEvent> jsonDeserializer = new JsonDeserializer<>(mapper);
+    jsonDeserializer.configure(Map.of(JsonDeserializer.TYPE_MAPPINGS,
+        "OrderMessage:" + OrderEvent.class.getName()), false);
+
+    OrderEvent event = new OrderEvent(1_000_123L, 42_517L, 9_731L, 3, new BigDecimal("3899.97"),
+        LocalDateTime.now(), LocalDateTime.now());
+
+    run("json", jsonSerializer, jsonDeserializer, event);
+    run("binary", new OrderEventSerializer(), new OrderEventDeserializer(mapper), event);
+  }
+
+  private static void run(String name, Serializer<OrderEvent> serializer,
+      Deserializer<OrderEvent> deserializer, OrderEvent event) {
+    RecordHeaders headers = new RecordHeaders();
+    byte[] bytes = serializer.serialize("orders", headers, event);
+    int headerBytes = 0;
+    for (var header : headers) {
+      headerBytes += header.key().length() + header.value().length;
+    }
+
+    // JsonDeserializer type header'larni o'qigach olib tashlaydi - har safar nusxa beriladi
+    long sink = 0;
+    for (int i = 0; i < WARMUP; i++) {
+      sink += serializer.serialize("orders", new RecordHeaders(), event).length;
+      sink += deserializer.deserialize("orders", new RecordHeaders(headers.toArray()), bytes).getId();
+    }
+
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      sink += serializer.serialize("orders", new RecordHeaders(), event).length;
+    }
+    long serNanos = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      sink += deserializer.deserialize("orders", new RecordHeaders(headers.toArray()), bytes).getId();
+    }
+    long deserNanos = System.nanoTime() - start;
+
+    System.out.printf("%-7s value=%3d bytes  headers=%3d bytes  ser=%,10.0f rec/s  deser=%,10.0f rec/s"
+            + "  (per core, sink=%d)%n",
+        name, bytes.length, headerBytes, ITERATIONS * 1e9 / serNanos, ITERATIONS * 1e9 / deserNanos, sink);
+  }
+}
@@ -3,7 +3,7 @@ package uz.uzinfocom.notification;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
-import uz.uzinfocom.notification.dto.OrdersDto;
+import uz.uzinfocom.common.kafka.OrderEvent;
 
 @Slf4j
 @Service
@@ -16,7 +16,7 @@ public class NotificationListener {
   }
 
   @KafkaListener(topics = "orders", groupId = "notification-group", containerFactory = "orderKafkaListenerContainerFactory")
-  public void consumeOrder(OrdersDto orderDTO) {
+  public void consumeOrder(OrderEvent orderDTO) {
     notificationRepository.save(
         new NotificationEntity(orderDTO.getUserId(), orderDTO.getProductId())
     );
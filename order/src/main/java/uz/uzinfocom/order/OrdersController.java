@@ -1,5 +1,6 @@
 package uz.uzinfocom.order;
 
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -12,6 +13,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import uz.uzinfocom.order.dto.OrdersBatchResultDto;
 import uz.uzinfocom.order.dto.OrdersRequestDto;
 import uz.uzinfocom.order.dto.OrdersResponseDto;
 import uz.uzinfocom.order.kafka.OrderProducer;
@@ -22,6 +24,8 @@ import uz.uzinfocom.order.kafka.OrderProducer;
 @Slf4j
 public class OrdersController {
 
+  private static final int MAX_BATCH_SIZE = 1000;
+
   private final OrdersService orderService;
 
 
@@ -32,6 +36,18 @@ public class OrdersController {
     return ResponseEntity.status(HttpStatus.CREATED).body(response);
   }
 
+  /**
+   * Bir nechta buyurtma bitta tranzaksiyada; har buyurtma uchun natija (CREATED/REJECTED) qaytadi.
+   */
+  @PostMapping("/batch")
+  public ResponseEntity<OrdersBatchResultDto> createOrders(@RequestBody List<OrdersRequestDto> requests) {
+    log.info("POST /api/orders/batch - {} ta buyurtma", requests.size());
+    if (requests.isEmpty() || requests.size() > MAX_BATCH_SIZE) {
+      return ResponseEntity.badRequest().build();
+    }
+    return ResponseEntity.ok(orderService.createOrders(requests));
+  }
+
   @GetMapping
   public ResponseEntity<Page<OrdersResponseDto>> getAllOrders(
       @RequestParam(defaultValue = "0") int page,
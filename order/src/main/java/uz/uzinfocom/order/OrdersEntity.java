@@ -22,12 +22,14 @@ import org.hibernate.annotations.UpdateTimestamp;
 @Entity
 @Table(name = "orders")
 public class OrdersEntity {
-  private static final String SEQUENCE_NAME = "orders_seq";
+  // orders_seq eski (allocationSize = 1) instance'lar uchun qoladi, 202610181600-orders_seq_pooled.xml
+  private static final String SEQUENCE_NAME = "orders_pooled_seq";
   private static final String GENERATOR_NAME = "orders_gen";
 
   @Id
   @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = GENERATOR_NAME)
-  @SequenceGenerator(name = GENERATOR_NAME, sequenceName = SEQUENCE_NAME, allocationSize = 1)
+  // orders_pooled_seq INCREMENT BY 50 bilan mos: bitta nextval 50 ta id beradi, insert'lar batch qilinadi
+  @SequenceGenerator(name = GENERATOR_NAME, sequenceName = SEQUENCE_NAME, allocationSize = 50)
   private Long id;
 
   @Column(nullable = false)
@@ -1,6 +1,8 @@
 package uz.uzinfocom.order;
 
+import java.util.List;
 import org.springframework.data.domain.Page;
+import uz.uzinfocom.order.dto.OrdersBatchResultDto;
 import uz.uzinfocom.order.dto.OrdersRequestDto;
 import uz.uzinfocom.order.dto.OrdersResponseDto;
 
@@ -8,6 +10,8 @@ public interface OrdersService {
 
   OrdersResponseDto createOrder(OrdersRequestDto requestDTO);
 
+  OrdersBatchResultDto createOrders(List<OrdersRequestDto> requests);
+
   Page<OrdersResponseDto> getAllOrders(int page, int size, String sortBy, String direction);
 
   Page<OrdersResponseDto> getOrdersByUserId(Long userId, int page, int size);
@@ -2,19 +2,27 @@ package uz.uzinfocom.order;
 
 import jakarta.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import uz.uzinfocom.order.dto.OrdersBatchResultDto;
+import uz.uzinfocom.order.dto.OrdersBatchResultDto.OrderResult;
+import uz.uzinfocom.order.dto.OrdersBatchResultDto.Status;
 import uz.uzinfocom.order.dto.OrdersRequestDto;
 import uz.uzinfocom.order.dto.OrdersResponseDto;
-import uz.uzinfocom.order.extrenal.ProductClient;
+import uz.uzinfocom.order.extrenal.CoalescingProductClient;
 import uz.uzinfocom.order.extrenal.dto.ProductResponseDto;
 import uz.uzinfocom.order.kafka.OrderProducer;
+import uz.uzinfocom.order.replica.ProductReplica;
 
 @Service
 @Slf4j
@@ -22,21 +30,25 @@ import uz.uzinfocom.order.kafka.OrderProducer;
 public class OrdersServiceImpl implements OrdersService {
 
   private final OrdersRepository ordersRepository;
-  private final ProductClient productClient;
+  private final CoalescingProductClient productClient;
   private final OrderProducer orderProducer;
+  private final ProductReplica productReplica;
 
   @Override
   @Transactional
   public OrdersResponseDto createOrder(OrdersRequestDto requestDTO) {
     log.info("Yangi buyurtma yaratish: {}", requestDTO);
-    try {
-      ResponseEntity<ProductResponseDto> productById = productClient.getProductById(
-          requestDTO.getProductId()
-      );
-      log.info("product servisedan kelgan productId: {}", productById);
-    }catch (Exception e) {
-      log.warn("product service dan product olib kelishda xatolik: {}", e.getMessage());
-      throw new RuntimeException("product service dan product olib kelishda xatolik");
+    // Replikada bor bo'lsa product servisiga so'rov yuborilmaydi
+    if (productReplica.find(requestDTO.getProductId()).isPresent()) {
+      log.info("product replikadan topildi: {}", requestDTO.getProductId());
+    } else {
+      try {
+        ProductResponseDto productById = productClient.getProductById(requestDTO.getProductId());
+        log.info("product servisedan kelgan productId: {}", productById.getId());
+      } catch (Exception e) {
+        log.warn("product service dan product olib kelishda xatolik: {}", e.getMessage());
+        throw new RuntimeException("product service dan product olib kelishda xatolik");
+      }
     }
     OrdersEntity order = toEntity(requestDTO);
     OrdersEntity savedOrder = ordersRepository.save(order);
@@ -47,6 +59,65 @@ public class OrdersServiceImpl implements OrdersService {
     return responseDto;
   }
 
+  /**
+   * Product'lar bitta deduplikatsiya qilingan so'rov bilan tekshiriladi (avval replika, keyin /batch),
+   * buyurtmalar pooled id'lar va JDBC batch bilan bitta tranzaksiyada yoziladi.
+   */
+  @Override
+  @Transactional
+  public OrdersBatchResultDto createOrders(List<OrdersRequestDto> requests) {
+    log.info("Batch buyurtma yaratish: {} ta", requests.size());
+    String[] errors = new String[requests.size()];
+    Set<Long> productIds = new LinkedHashSet<>();
+    for (int i = 0; i < requests.size(); i++) {
+      errors[i] = validate(requests.get(i));
+      if (errors[i] == null) {
+        productIds.add(requests.get(i).getProductId());
+      }
+    }
+
+    Set<Long> existing = new HashSet<>();
+    List<Long> toLookup = new ArrayList<>();
+    for (Long productId : productIds) {
+      if (productReplica.find(productId).isPresent()) {
+        existing.add(productId);
+      } else {
+        toLookup.add(productId);
+      }
+    }
+    if (!toLookup.isEmpty()) {
+      try {
+        existing.addAll(productClient.getProductsByIds(toLookup).keySet());
+      } catch (Exception e) {
+        log.warn("product service dan productlarni olib kelishda xatolik: {}", e.getMessage());
+        throw new RuntimeException("product service dan product olib kelishda xatolik");
+      }
+    }
+
+    List<OrdersEntity> orders = new ArrayList<>();
+    for (int i = 0; i < requests.size(); i++) {
+      if (errors[i] == null && !existing.contains(requests.get(i).getProductId())) {
+        errors[i] = "product not found: " + requests.get(i).getProductId();
+      }
+      if (errors[i] == null) {
+        orders.add(toEntity(requests.get(i)));
+      }
+    }
+    List<OrdersResponseDto> created = ordersRepository.saveAll(orders).stream().map(this::toDTO).toList();
+    orderProducer.sendOrders(created);
+
+    List<OrderResult> results = new ArrayList<>(requests.size());
+    int next = 0;
+    for (int i = 0; i < requests.size(); i++) {
+      results.add(errors[i] == null
+          ? new OrderResult(i, Status.CREATED, created.get(next++), null)
+          : new OrderResult(i, Status.REJECTED, null, errors[i]));
+    }
+    log.info("Batch buyurtmalar yaratildi: {} ta, rad etildi: {} ta", created.size(),
+        requests.size() - created.size());
+    return new OrdersBatchResultDto(created.size(), requests.size() - created.size(), results);
+  }
+
   @Override
   @Transactional
   public Page<OrdersResponseDto> getAllOrders(int page, int size, String sortBy, String direction) {
@@ -73,6 +144,25 @@ public class OrdersServiceImpl implements OrdersService {
         .map(this::toDTO);
   }
 
+  private static String validate(OrdersRequestDto dto) {
+    if (dto == null) {
+      return "order is required";
+    }
+    if (dto.getUserId() == null) {
+      return "userId is required";
+    }
+    if (dto.getProductId() == null) {
+      return "productId is required";
+    }
+    if (dto.getQuantity() == null || dto.getQuantity() <= 0) {
+      return "quantity must be positive";
+    }
+    if (dto.getTotalPrice() == null || dto.getTotalPrice().signum() < 0) {
+      return "totalPrice must not be negative";
+    }
+    return null;
+  }
+
   public OrdersEntity toEntity(OrdersRequestDto dto) {
     OrdersEntity order = new OrdersEntity();
     order.setUserId(dto.getUserId());
@@ -0,0 +1,33 @@
+package uz.uzinfocom.order.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrdersBatchResultDto {
+  private int created;
+  private int rejected;
+  // So'rovdagi buyurtmalar tartibida
+  private List<OrderResult> results;
+
+  @Getter
+  @AllArgsConstructor
+  @NoArgsConstructor
+  public static class OrderResult {
+    private int index;
+    private Status status;
+    private OrdersResponseDto order;
+    private String error;
+  }
+
+  public enum Status {
+    CREATED,
+    REJECTED
+  }
+}
@@ -0,0 +1,222 @@
+package uz.uzinfocom.order.extrenal;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import uz.uzinfocom.order.extrenal.dto.ProductBatchDto;
+import uz.uzinfocom.order.extrenal.dto.ProductResponseDto;
+
+/**
+ * ProductClient ustidagi qatlam:
+ * - bitta id uchun bir vaqtdagi so'rovlar bitta HTTP chaqiruvga birlashtiriladi;
+ * - javob ttl davomida lokal keshdan beriladi;
+ * - ttl o'tgach maxStale'gacha eski javob darhol qaytariladi va fonda yangilanadi;
+ * - 404 kelsa yozuv keshdan o'chiriladi, eski javob faqat 5xx/IO xatolarida saqlanadi;
+ * - ko'p id keshda yo'q qismi /batch orqali bitta (500 tadan bo'lingan) chaqiruvda olinadi.
+ */
+@Slf4j
+@Component
+public class CoalescingProductClient {
+
+  private final ProductClient productClient;
+  private final ProductBatchClient productBatchClient;
+  private final long ttlNanos;
+  private final Cache<Long, CachedProduct> cache;
+  private final Map<Long, Flight> inFlight = new ConcurrentHashMap<>();
+  private final ExecutorService refreshExecutor;
+
+  private final Counter fresh;
+  private final Counter stale;
+  private final Counter coalesced;
+  private final Counter calls;
+  private final Counter callsSaved;
+  private final DistributionSummary coalescing;
+  private final Timer staleness;
+
+  public CoalescingProductClient(ProductClient productClient, ProductBatchClient productBatchClient,
+      ProductClientProperties properties, MeterRegistry meterRegistry) {
+    this.productClient = productClient;
+    this.productBatchClient = productBatchClient;
+    this.ttlNanos = properties.getTtl().toNanos();
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(properties.getMaximumSize())
+        .expireAfterWrite(properties.getMaxStale())
+        .build();
+    CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("product-client-refresh-");
+    threadFactory.setDaemon(true);
+    this.refreshExecutor = Executors.newFixedThreadPool(properties.getRefreshWorkers(), threadFactory);
+
+    this.fresh = meterRegistry.counter("product.client.requests", "result", "fresh");
+    this.stale = meterRegistry.counter("product.client.requests", "result", "stale");
+    this.coalesced = meterRegistry.counter("product.client.requests", "result", "coalesced");
+    this.calls = meterRegistry.counter("product.client.calls");
+    // Keshdan yoki boshqa so'rovning chaqiruvidan javob olgan so'rovlar
+    this.callsSaved = meterRegistry.counter("product.client.calls.saved");
+    // Bitta HTTP chaqiruv natijasini kutgan so'rovlar soni
+    this.coalescing = DistributionSummary.builder("product.client.coalescing")
+        .publishPercentiles(0.5, 0.99)
+        .register(meterRegistry);
+    // Qaytarilgan eski javobning yoshi
+    this.staleness = Timer.builder("product.client.staleness")
+        .publishPercentiles(0.5, 0.99)
+        .register(meterRegistry);
+  }
+
+  public ProductResponseDto getProductById(Long id) {
+    CachedProduct cached = cache.getIfPresent(id);
+    if (cached != null) {
+      long age = System.nanoTime() - cached.fetchedAt;
+      callsSaved.increment();
+      if (age < ttlNanos) {
+        fresh.increment();
+      } else {
+        stale.increment();
+        staleness.record(age, TimeUnit.NANOSECONDS);
+        refreshAsync(id);
+      }
+      return cached.product;
+    }
+
+    Flight flight = new Flight();
+    Flight existing = inFlight.putIfAbsent(id, flight);
+    if (existing != null) {
+      existing.waiters.incrementAndGet();
+      coalesced.increment();
+      callsSaved.increment();
+      return await(existing.result);
+    }
+    fetch(id, flight);
+    return await(flight.result);
+  }
+
+  /**
+   * @return topilgan product'lar (id bo'yicha); topilmagan yoki aktiv bo'lmagan id'lar map'da yo'q
+   */
+  public Map<Long, ProductResponseDto> getProductsByIds(Collection<Long> ids) {
+    Map<Long, ProductResponseDto> found = new HashMap<>();
+    List<Long> toFetch = new ArrayList<>();
+    for (Long id : new LinkedHashSet<>(ids)) {
+      CachedProduct cached = cache.getIfPresent(id);
+      if (cached == null) {
+        toFetch.add(id);
+        continue;
+      }
+      callsSaved.increment();
+      if (System.nanoTime() - cached.fetchedAt < ttlNanos) {
+        fresh.increment();
+      } else {
+        stale.increment();
+        refreshAsync(id);
+      }
+      found.put(id, cached.product);
+    }
+
+    for (int from = 0; from < toFetch.size(); from += ProductBatchClient.MAX_BATCH_SIZE) {
+      List<Long> chunk = toFetch.subList(from, Math.min(from + ProductBatchClient.MAX_BATCH_SIZE, toFetch.size()));
+      calls.increment();
+      ProductBatchDto batch = productBatchClient.getProductsByIds(chunk).getBody();
+      if (batch == null || batch.getProducts() == null) {
+        continue;
+      }
+      long now = System.nanoTime();
+      for (ProductResponseDto product : batch.getProducts()) {
+        cache.put(product.getId(), new CachedProduct(product, now));
+        found.put(product.getId(), product);
+      }
+    }
+    return found;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    refreshExecutor.shutdownNow();
+  }
+
+  private void refreshAsync(Long id) {
+    Flight flight = new Flight();
+    if (inFlight.putIfAbsent(id, flight) != null) {
+      return;
+    }
+    try {
+      refreshExecutor.execute(() -> fetch(id, flight));
+    } catch (RejectedExecutionException e) {
+      inFlight.remove(id, flight);
+      flight.result.cancel(false);
+    }
+  }
+
+  private void fetch(Long id, Flight flight) {
+    try {
+      calls.increment();
+      ProductResponseDto product = productClient.getProductById(id).getBody();
+      if (product == null) {
+        // 200 bo'sh body bilan - chaqiruvchilar null'ni kutmaydi, xato sifatida qaraladi
+        throw new IllegalStateException("Empty response from product service for ID: " + id);
+      }
+      cache.put(id, new CachedProduct(product, System.nanoTime()));
+      flight.result.complete(product);
+    } catch (FeignException.NotFound e) {
+      // Product o'chirilgan: eski javobni boshqa bermaslik kerak
+      cache.invalidate(id);
+      flight.result.completeExceptionally(e);
+    } catch (RuntimeException e) {
+      // Fondagi yangilash xatosida eski javob maxStale'gacha qoladi
+      log.debug("Product service call failed for ID: {}", id, e);
+      flight.result.completeExceptionally(e);
+    } finally {
+      inFlight.remove(id, flight);
+      coalescing.record(flight.waiters.get());
+    }
+  }
+
+  private static ProductResponseDto await(CompletableFuture<ProductResponseDto> result) {
+    try {
+      return result.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  private static class Flight {
+
+    private final CompletableFuture<ProductResponseDto> result = new CompletableFuture<>();
+    // Chaqiruvni boshlagan so'rov ham hisobga kiradi
+    private final AtomicInteger waiters = new AtomicInteger(1);
+  }
+
+  private static class CachedProduct {
+
+    private final ProductResponseDto product;
+    private final long fetchedAt;
+
+    CachedProduct(ProductResponseDto product, long fetchedAt) {
+      this.product = product;
+      this.fetchedAt = fetchedAt;
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package uz.uzinfocom.order.extrenal;
+
+import java.util.List;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import uz.uzinfocom.order.extrenal.dto.ProductBatchDto;
+
+@FeignClient(name = "product", contextId = "productBatchClient")
+public interface ProductBatchClient {
+
+  // product servisida bitta so'rovga 500 tadan ko'p id berilmaydi
+  int MAX_BATCH_SIZE = 500;
+
+  @GetMapping("/api/products/batch")
+  ResponseEntity<ProductBatchDto> getProductsByIds(@RequestParam("ids") List<Long> ids);
+
+}
@@ -0,0 +1,19 @@
+package uz.uzinfocom.order.extrenal;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "product.client")
+public class ProductClientProperties {
+
+  // Shu muddatgacha javob yangi hisoblanadi va product servisiga so'rov yuborilmaydi
+  private Duration ttl = Duration.ofSeconds(5);
+  // ttl o'tgach shu muddatgacha eski javob qaytariladi va fonda yangilanadi
+  private Duration maxStale = Duration.ofSeconds(60);
+  private long maximumSize = 10_000;
+  private int refreshWorkers = 2;
+}
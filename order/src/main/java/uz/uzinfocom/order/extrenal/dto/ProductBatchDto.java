@@ -0,0 +1,19 @@
+package uz.uzinfocom.order.extrenal.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ProductBatchDto {
+  private List<ProductResponseDto> products;
+  // Topilmagan yoki aktiv bo'lmagan id'lar
+  private List<Long> missingIds;
+}
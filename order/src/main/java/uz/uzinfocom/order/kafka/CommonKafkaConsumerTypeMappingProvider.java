@@ -0,0 +1,18 @@
+package uz.uzinfocom.order.kafka;
+
+import java.util.Map;
+import org.springframework.stereotype.Component;
+import uz.uzinfocom.order.replica.ProductChangeEvent;
+
+@Component
+public class CommonKafkaConsumerTypeMappingProvider {
+
+  private static final String PRODUCT_CHANGE_MESSAGE = "ProductChangeMessage";
+
+  public Map<String, String> getTypeMappings() {
+    return Map.of(
+        PRODUCT_CHANGE_MESSAGE, ProductChangeEvent.class.getName()
+    );
+  }
+
+}
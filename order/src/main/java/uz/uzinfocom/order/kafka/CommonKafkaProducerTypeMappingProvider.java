@@ -4,7 +4,7 @@ package uz.uzinfocom.order.kafka;
 import org.springframework.stereotype.Component;
 
 import java.util.Map;
-import uz.uzinfocom.order.dto.OrdersResponseDto;
+import uz.uzinfocom.common.kafka.OrderEvent;
 
 @Component
 public class CommonKafkaProducerTypeMappingProvider {
@@ -13,9 +13,8 @@ public class CommonKafkaProducerTypeMappingProvider {
 
     public Map<String, String> getTypeMappings() {
         return Map.of(
-               ORDER_MESSAGE, OrdersResponseDto.class.getName()
+               ORDER_MESSAGE, OrderEvent.class.getName()
         );
     }
 
 }
-
@@ -0,0 +1,89 @@
+package uz.uzinfocom.order.kafka;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.util.backoff.FixedBackOff;
+import uz.uzinfocom.order.replica.ProductChangeEvent;
+
+@Configuration
+public class KafkaConsumerConfig {
+
+  private final CommonKafkaConsumerTypeMappingProvider typeMappingProvider;
+
+  public KafkaConsumerConfig(CommonKafkaConsumerTypeMappingProvider typeMappingProvider) {
+    this.typeMappingProvider = typeMappingProvider;
+  }
+
+  @Bean
+  public ConsumerFactory<String, ProductChangeEvent> productChangeConsumerFactory() {
+    Map<String, Object> props = new HashMap<>();
+    props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9094");
+    // Har bir instance to'liq replika saqlaydi: partition'lar qo'lda biriktiriladi, consumer group yo'q
+    // (broker'da group ham, commit qilingan offset ham qolmaydi)
+    props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+    props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+    // Xatoliklardan himoyalangan deserializer
+    props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+    props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+    props.put(ErrorHandlingDeserializer.KEY_DESERIALIZER_CLASS, StringDeserializer.class);
+    props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
+    props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, ProductChangeEvent.class.getName());
+    props.put(JsonDeserializer.TRUSTED_PACKAGES, ProductChangeEvent.class.getPackageName());
+
+    var typeMappings = new StringBuilder();
+    typeMappingProvider.getTypeMappings().forEach((key, value) ->
+        typeMappings.append(key).append(":").append(value).append(","));
+
+    if (!typeMappings.isEmpty()) {
+      typeMappings.deleteCharAt(typeMappings.length() - 1);
+      props.put(JsonDeserializer.TYPE_MAPPINGS, typeMappings.toString());
+    }
+
+    return new DefaultKafkaConsumerFactory<>(props);
+  }
+
+  /**
+   * Replika o'qiydigan partition'lar. Topic topilmasa ilova ishga tushmaydi - replikasiz buyurtma
+   * servisi har so'rovda Feign'ga tushib qolmasligi uchun. Partition qo'shilsa qayta ishga tushirish kerak.
+   */
+  @Bean
+  public Integer[] productChangePartitions(ConsumerFactory<String, ProductChangeEvent> productChangeConsumerFactory,
+      @Value("${product.replica.topic:product-changes}") String topic) {
+    try (Consumer<String, ProductChangeEvent> consumer = productChangeConsumerFactory.createConsumer()) {
+      List<PartitionInfo> partitions = consumer.partitionsFor(topic, Duration.ofSeconds(30));
+      if (partitions == null || partitions.isEmpty()) {
+        throw new IllegalStateException("Product replica topic not found: " + topic);
+      }
+      return partitions.stream()
+          .map(PartitionInfo::partition)
+          .sorted()
+          .toArray(Integer[]::new);
+    }
+  }
+
+  @Bean
+  public ConcurrentKafkaListenerContainerFactory<String, ProductChangeEvent> productChangeKafkaListenerContainerFactory(
+      ConsumerFactory<String, ProductChangeEvent> productChangeConsumerFactory) {
+    ConcurrentKafkaListenerContainerFactory<String, ProductChangeEvent> factory =
+        new ConcurrentKafkaListenerContainerFactory<>();
+    factory.setConsumerFactory(productChangeConsumerFactory);
+    factory.setCommonErrorHandler(new DefaultErrorHandler(new FixedBackOff(2000L, 3)));
+    return factory;
+  }
+}
@@ -7,19 +7,28 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.core.*;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import org.apache.kafka.common.serialization.Serializer;
+import uz.uzinfocom.common.kafka.OrderEvent;
+import uz.uzinfocom.common.kafka.OrderEventSerializer;
+import uz.uzinfocom.order.kafka.OrderKafkaProperties.WireFormat;
 
 @EnableKafka
 @Configuration
 public class KafkaProducerConfig {
 
     private final CommonKafkaProducerTypeMappingProvider typeMappingProvider;
+    private final OrderKafkaProperties properties;
 
-    public KafkaProducerConfig(CommonKafkaProducerTypeMappingProvider typeMappingProvider) {
+    public KafkaProducerConfig(CommonKafkaProducerTypeMappingProvider typeMappingProvider,
+                               OrderKafkaProperties properties) {
         this.typeMappingProvider = typeMappingProvider;
+        this.properties = properties;
     }
 
     @Bean
@@ -28,7 +37,13 @@ public class KafkaProducerConfig {
         config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9094");
         config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-
+        // Outbox relay bitta kalit xabarlarini tartib bilan yuboradi - retry tartibni buzmasin
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        config.put(ProducerConfig.LINGER_MS_CONFIG, properties.effectiveLingerMs());
+        config.put(ProducerConfig.BATCH_SIZE_CONFIG, properties.effectiveBatchSize());
+        config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, properties.effectiveCompression());
+        config.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, properties.getMaxBlock().toMillis());
 
 
         var typeMappings = new StringBuilder();
@@ -40,7 +55,21 @@ public class KafkaProducerConfig {
             config.put(JsonSerializer.TYPE_MAPPINGS, typeMappings.toString());
         }
 
-        return new DefaultKafkaProducerFactory<>(config, new StringSerializer(), new JsonSerializer<>(objectMapper));
+        return new DefaultKafkaProducerFactory<>(config, new StringSerializer(), valueSerializer(objectMapper));
+    }
+
+    // OrderEvent binar formatda (type header'siz), qolgan turlar JSON bilan
+    private Serializer<Object> valueSerializer(ObjectMapper objectMapper) {
+        JsonSerializer<Object> json = new JsonSerializer<>(objectMapper);
+        if (properties.getWireFormat() == WireFormat.JSON) {
+            return json;
+        }
+        Map<Class<?>, Serializer<?>> delegates = new LinkedHashMap<>();
+        delegates.put(OrderEvent.class, new OrderEventSerializer());
+        delegates.put(Object.class, json);
+        @SuppressWarnings("unchecked")
+        Serializer<Object> serializer = (Serializer<Object>) (Serializer<?>) new DelegatingByTypeSerializer(delegates, true);
+        return serializer;
     }
 
     @Bean
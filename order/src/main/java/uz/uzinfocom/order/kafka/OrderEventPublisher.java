@@ -0,0 +1,103 @@
+package uz.uzinfocom.order.kafka;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * KafkaTemplate ustidan cheklangan "in-flight" oynali yuboruvchi.
+ * Broker sekinlashsa yangi send oyna bo'shashini kutadi (maxBlock gacha), producer buferi
+ * to'lib send() bloklanib qolishini kutmaydi. Natija callback orqali kuzatiladi.
+ */
+@Slf4j
+@Component
+public class OrderEventPublisher {
+
+  private final KafkaTemplate<String, Object> kafkaTemplate;
+  private final OrderKafkaProperties properties;
+  private final Semaphore window;
+
+  private final Timer sendLatency;
+  private final Timer backpressureWait;
+  private final Counter succeeded;
+  private final Counter failed;
+  private final Counter throttled;
+
+  public OrderEventPublisher(KafkaTemplate<String, Object> kafkaTemplate,
+      OrderKafkaProperties properties, MeterRegistry meterRegistry) {
+    this.kafkaTemplate = kafkaTemplate;
+    this.properties = properties;
+    this.window = new Semaphore(properties.getMaxInFlight());
+
+    Gauge.builder("order.kafka.in-flight", window,
+            w -> properties.getMaxInFlight() - w.availablePermits())
+        .description("Sent order events not yet acknowledged by the broker")
+        .register(meterRegistry);
+    this.sendLatency = Timer.builder("order.kafka.send.latency")
+        .description("Time from send to broker acknowledgement")
+        .publishPercentiles(0.5, 0.99)
+        .register(meterRegistry);
+    this.backpressureWait = meterRegistry.timer("order.kafka.backpressure.wait");
+    this.succeeded = meterRegistry.counter("order.kafka.send", "result", "success");
+    this.failed = meterRegistry.counter("order.kafka.send", "result", "failure");
+    this.throttled = meterRegistry.counter("order.kafka.send", "result", "throttled");
+  }
+
+  /**
+   * Oynada joy bo'lishini kutadi va yuboradi. Joy maxBlock ichida bo'shamasa
+   * BackpressureException bilan tugagan future qaytadi - xabar yuborilmagan.
+   */
+  public CompletableFuture<Void> send(String topic, String key, Object value) {
+    long waitStart = System.nanoTime();
+    try {
+      if (!window.tryAcquire(properties.getMaxBlock().toMillis(), TimeUnit.MILLISECONDS)) {
+        throttled.increment();
+        return CompletableFuture.failedFuture(new BackpressureException(
+            "In-flight window of " + properties.getMaxInFlight() + " is full"));
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return CompletableFuture.failedFuture(new BackpressureException("Interrupted while waiting"));
+    }
+    long start = System.nanoTime();
+    backpressureWait.record(start - waitStart, TimeUnit.NANOSECONDS);
+
+    try {
+      return kafkaTemplate.send(topic, key, value)
+          .whenComplete((result, error) -> {
+            window.release();
+            sendLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (error != null) {
+              failed.increment();
+              log.debug("Kafka send to {} (key {}) failed: {}", topic, key, error.getMessage());
+            } else {
+              succeeded.increment();
+            }
+          })
+          .thenApply(result -> (Void) null);
+    } catch (RuntimeException e) {
+      // send() sinxron xato berdi (serializer, max.block.ms) - callback chaqirilmaydi
+      window.release();
+      failed.increment();
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  public int inFlight() {
+    return properties.getMaxInFlight() - window.availablePermits();
+  }
+
+  public static class BackpressureException extends RuntimeException {
+
+    public BackpressureException(String message) {
+      super(message);
+    }
+  }
+}
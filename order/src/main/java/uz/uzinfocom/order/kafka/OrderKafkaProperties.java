@@ -0,0 +1,58 @@
+package uz.uzinfocom.order.kafka;
+
+import java.time.Duration;
+import lombok.Data;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "order.kafka")
+public class OrderKafkaProperties {
+
+  // orders topic formati. BINARY'ga faqat notification ikkala formatni o'qiydigan versiyaga
+  // yangilangandan keyin, alohida qadam sifatida o'tiladi
+  private WireFormat wireFormat = WireFormat.JSON;
+  // Yuborilgan, lekin broker hali tasdiqlamagan xabarlar chegarasi
+  private int maxInFlight = 1000;
+  // Oyna to'la bo'lsa (va producer buferi/metadata uchun) shuncha kutiladi, keyin send rad etiladi
+  private Duration maxBlock = Duration.ofSeconds(5);
+  // Batching/compression preset'i; quyidagi maydonlar berilsa preset ustidan yoziladi
+  private Profile profile = Profile.BALANCED;
+  private Integer lingerMs;
+  private Integer batchSize;
+  private String compression;
+
+  public int effectiveLingerMs() {
+    return lingerMs != null ? lingerMs : profile.getLingerMs();
+  }
+
+  public int effectiveBatchSize() {
+    return batchSize != null ? batchSize : profile.getBatchSize();
+  }
+
+  public String effectiveCompression() {
+    return compression != null ? compression : profile.getCompression();
+  }
+
+  public enum WireFormat {
+    BINARY,
+    JSON
+  }
+
+  @Getter
+  @RequiredArgsConstructor
+  public enum Profile {
+    // Har xabar darhol yuboriladi
+    LATENCY(0, 16 * 1024, "none"),
+    BALANCED(5, 64 * 1024, "lz4"),
+    // Katta batch'lar, yaxshiroq siqish - bir necha ms qo'shimcha kechikish evaziga
+    THROUGHPUT(20, 256 * 1024, "zstd");
+
+    private final int lingerMs;
+    private final int batchSize;
+    private final String compression;
+  }
+}
@@ -1,19 +1,41 @@
 package uz.uzinfocom.order.kafka;
 
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+import uz.uzinfocom.common.kafka.OrderEvent;
 import uz.uzinfocom.order.dto.OrdersResponseDto;
+import uz.uzinfocom.order.outbox.OrderOutbox;
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class OrderProducer {
-  private final KafkaTemplate<String, Object> kafkaTemplate;
+  private final OrderOutbox orderOutbox;
   private static final String TOPIC = "orders";
 
+  /**
+   * Buyurtma tranzaksiyasi ichida outbox'ga yoziladi; Kafka'ga OrderOutboxRelay yuboradi.
+   * Kalit - userId: bitta foydalanuvchi buyurtmalari bitta partition'ga tushadi va tartibi saqlanadi.
+   */
   public void sendOrder(OrdersResponseDto order) {
-    kafkaTemplate.send(TOPIC, order);
-    log.info("✅ Order sent to Kafka: {}",order.toString());
+    orderOutbox.add(TOPIC, String.valueOf(order.getUserId()), toEvent(order));
+    log.info("✅ Order queued for Kafka: {}", order.getId());
+  }
+
+  /**
+   * Batch buyurtmalar: hammasi bitta tranzaksiyada outbox'ga yoziladi (JDBC batch) va
+   * relay ularni bitta raundda birga yuboradi.
+   */
+  public void sendOrders(List<OrdersResponseDto> orders) {
+    for (OrdersResponseDto order : orders) {
+      orderOutbox.add(TOPIC, String.valueOf(order.getUserId()), toEvent(order));
+    }
+    log.info("✅ {} orders queued for Kafka", orders.size());
+  }
+
+  private static OrderEvent toEvent(OrdersResponseDto order) {
+    return new OrderEvent(order.getId(), order.getUserId(), order.getProductId(),
+        order.getQuantity(), order.getTotalPrice(), order.getCreatedAt(), order.getUpdatedAt());
   }
 }
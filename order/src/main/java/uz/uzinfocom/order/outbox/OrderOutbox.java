@@ -0,0 +1,50 @@
+package uz.uzinfocom.order.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import jakarta.transaction.Transactional.TxType;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.springframework.stereotype.Component;
+import uz.uzinfocom.order.kafka.CommonKafkaProducerTypeMappingProvider;
+
+/**
+ * Kafka xabarini joriy tranzaksiya ichida outbox jadvaliga yozadi.
+ * Rollback bo'lsa xabar ham yo'qoladi; commit bo'lsa OrderOutboxRelay uni albatta yuboradi.
+ */
+@Component
+public class OrderOutbox {
+
+  private final OrderOutboxRepository outboxRepository;
+  private final ObjectMapper objectMapper;
+  // klass nomi -> type mapping kaliti
+  private final Map<String, String> messageTypes;
+
+  public OrderOutbox(OrderOutboxRepository outboxRepository, ObjectMapper objectMapper,
+      CommonKafkaProducerTypeMappingProvider typeMappingProvider) {
+    this.outboxRepository = outboxRepository;
+    this.objectMapper = objectMapper;
+    this.messageTypes = typeMappingProvider.getTypeMappings().entrySet().stream()
+        .collect(Collectors.toMap(Map.Entry::getValue, Map.Entry::getKey));
+  }
+
+  @Transactional(TxType.MANDATORY)
+  public void add(String topic, String key, Object message) {
+    String messageType = messageTypes.get(message.getClass().getName());
+    if (messageType == null) {
+      throw new IllegalArgumentException("No Kafka type mapping for " + message.getClass().getName());
+    }
+
+    OrderOutboxEntity entry = new OrderOutboxEntity();
+    entry.setTopic(topic);
+    entry.setMessageKey(key);
+    entry.setMessageType(messageType);
+    try {
+      entry.setPayload(objectMapper.writeValueAsString(message));
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Could not serialize outbox message", e);
+    }
+    outboxRepository.save(entry);
+  }
+}
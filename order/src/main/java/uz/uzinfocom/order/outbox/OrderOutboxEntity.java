@@ -0,0 +1,54 @@
+package uz.uzinfocom.order.outbox;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "order_outbox")
+public class OrderOutboxEntity {
+  private static final String SEQUENCE_NAME = "order_outbox_seq";
+  private static final String GENERATOR_NAME = "order_outbox_gen";
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = GENERATOR_NAME)
+  // order_outbox_seq INCREMENT BY 50 bilan mos
+  @SequenceGenerator(name = GENERATOR_NAME, sequenceName = SEQUENCE_NAME, allocationSize = 50)
+  private Long id;
+
+  @Column(nullable = false)
+  private String topic;
+
+  @Column(nullable = false)
+  private String messageKey;
+
+  // KafkaProducerConfig type mapping kaliti (masalan, OrderMessage)
+  @Column(nullable = false)
+  private String messageType;
+
+  @Column(nullable = false, columnDefinition = "TEXT")
+  private String payload;
+
+  @Column(nullable = false)
+  private int attempts;
+
+  @Column(length = 1000)
+  private String lastError;
+
+  // maxAttempts'dan keyin relay bu yozuvni boshqa yubormaydi
+  private LocalDateTime deadAt;
+
+  @CreationTimestamp
+  @Column(nullable = false, updatable = false)
+  private LocalDateTime createdAt;
+}
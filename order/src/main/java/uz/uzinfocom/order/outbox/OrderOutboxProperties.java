@@ -0,0 +1,20 @@
+package uz.uzinfocom.order.outbox;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "order.outbox")
+public class OrderOutboxProperties {
+
+  private int batchSize = 500;
+  // Outbox bo'sh bo'lganda tekshirish oralig'i
+  private Duration pollInterval = Duration.ofMillis(200);
+  // Batch'dagi barcha yuborishlar uchun kutish chegarasi
+  private Duration sendTimeout = Duration.ofSeconds(10);
+  // Shundan keyin yozuv "dead" deb belgilanadi va qayta yuborilmaydi
+  private int maxAttempts = 10;
+}
@@ -0,0 +1,238 @@
+package uz.uzinfocom.order.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import uz.uzinfocom.order.kafka.CommonKafkaProducerTypeMappingProvider;
+import uz.uzinfocom.order.kafka.OrderEventPublisher;
+import uz.uzinfocom.order.kafka.OrderEventPublisher.BackpressureException;
+
+/**
+ * Outbox jadvalini batch'lab Kafka'ga yuboradi va yuborilganlarini o'chiradi.
+ * Bir kalitdagi xabarlar ketma-ket yuboriladi (oldingisi tasdiqlangandan keyin),
+ * turli kalitlar parallel. Xato bo'lgan xabardan keyingi shu kalitdagi xabarlar keyingi
+ * urinishgacha kutadi. Yetkazish - at-least-once: timeout'dan keyin qayta yuborilgan xabar
+ * ikki marta kelishi mumkin.
+ * Publisher oynasi to'lsa batch'ning qolgani shu raundda yuborilmaydi, keyingi raundda qayta olinadi.
+ */
+@Slf4j
+@Component
+public class OrderOutboxRelay {
+
+  // pg_try_advisory_xact_lock kaliti
+  private static final long RELAY_LOCK_ID = 0x6F7574626F78L;
+  private static final long GAUGE_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private final OrderOutboxRepository outboxRepository;
+  private final OrderEventPublisher publisher;
+  private final TransactionTemplate transactionTemplate;
+  private final ObjectMapper objectMapper;
+  private final OrderOutboxProperties properties;
+  private final Map<String, Class<?>> messageClasses = new ConcurrentHashMap<>();
+  private final Map<String, String> typeMappings;
+  // Zanjirning keyingi xabari shu thread'da yuboriladi: Kafka I/O thread'ida oyna kutilmasin
+  private final ExecutorService sendExecutor = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "order-outbox-send");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private final AtomicLong depth = new AtomicLong();
+  private final AtomicLong lagMillis = new AtomicLong();
+  private long gaugesRefreshedAt = System.nanoTime() - GAUGE_REFRESH_NANOS;
+  private final Counter relayed;
+  private final Counter failures;
+  private final Counter dead;
+  private final Timer batchTimer;
+
+  public OrderOutboxRelay(OrderOutboxRepository outboxRepository,
+      OrderEventPublisher publisher, TransactionTemplate transactionTemplate,
+      ObjectMapper objectMapper, OrderOutboxProperties properties,
+      CommonKafkaProducerTypeMappingProvider typeMappingProvider, MeterRegistry meterRegistry) {
+    this.outboxRepository = outboxRepository;
+    this.publisher = publisher;
+    this.transactionTemplate = transactionTemplate;
+    this.objectMapper = objectMapper;
+    this.properties = properties;
+    this.typeMappings = typeMappingProvider.getTypeMappings();
+
+    Gauge.builder("order.outbox.depth", depth, AtomicLong::get)
+        .description("Outbox messages not yet published")
+        .register(meterRegistry);
+    Gauge.builder("order.outbox.lag", lagMillis, AtomicLong::get)
+        .description("Age of the oldest unpublished outbox message")
+        .baseUnit("milliseconds")
+        .register(meterRegistry);
+    this.relayed = meterRegistry.counter("order.outbox.relayed");
+    this.failures = meterRegistry.counter("order.outbox.failures");
+    this.dead = meterRegistry.counter("order.outbox.dead");
+    this.batchTimer = meterRegistry.timer("order.outbox.relay.batch");
+  }
+
+  @Scheduled(fixedDelayString = "${order.outbox.poll-interval:PT0.2S}")
+  public void relay() {
+    try {
+      Integer sent;
+      do {
+        sent = transactionTemplate.execute(status -> relayBatch());
+      } while (sent != null && sent >= properties.getBatchSize());
+    } catch (RuntimeException e) {
+      log.warn("Outbox relay failed", e);
+    }
+    refreshGauges();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    sendExecutor.shutdownNow();
+  }
+
+  /**
+   * @return o'chirilgan (yuborilgan) yozuvlar soni
+   */
+  private int relayBatch() {
+    if (!outboxRepository.tryRelayLock(RELAY_LOCK_ID)) {
+      return 0;
+    }
+    List<OrderOutboxEntity> batch = outboxRepository.findPending(properties.getBatchSize());
+    if (batch.isEmpty()) {
+      return 0;
+    }
+
+    long start = System.nanoTime();
+    Map<String, CompletableFuture<Void>> chains = new HashMap<>();
+    Map<Long, CompletableFuture<Void>> results = new HashMap<>();
+    Map<Long, Throwable> errors = new ConcurrentHashMap<>();
+    AtomicBoolean backedOff = new AtomicBoolean();
+    for (OrderOutboxEntity entry : batch) {
+      CompletableFuture<Void> previous = chains.get(entry.getMessageKey());
+      // Zanjir boshi relay thread'ida yuboriladi - oyna to'lsa relay o'zi sekinlashadi
+      CompletableFuture<Void> sent = previous == null
+          ? send(entry, errors, backedOff)
+          : previous.thenComposeAsync(ignored -> send(entry, errors, backedOff), sendExecutor);
+      chains.put(entry.getMessageKey(), sent);
+      results.put(entry.getId(), sent);
+    }
+    await(chains.values(), properties.getSendTimeout());
+
+    List<Long> sentIds = new ArrayList<>();
+    for (OrderOutboxEntity entry : batch) {
+      CompletableFuture<Void> result = results.get(entry.getId());
+      Throwable error = errors.get(entry.getId());
+      if (result.isDone() && !result.isCompletedExceptionally()) {
+        sentIds.add(entry.getId());
+      } else if (error != null) {
+        markFailed(entry, error);
+      }
+      // Aks holda - oldingi xabar xato bergan yoki timeout: keyingi urinishda
+    }
+    outboxRepository.deleteAllByIdInBatch(sentIds);
+    relayed.increment(sentIds.size());
+    batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    return sentIds.size();
+  }
+
+  private CompletableFuture<Void> send(OrderOutboxEntity entry, Map<Long, Throwable> errors,
+      AtomicBoolean backedOff) {
+    if (backedOff.get()) {
+      return CompletableFuture.failedFuture(new BackpressureException("Relay backed off"));
+    }
+    CompletableFuture<Void> sent;
+    try {
+      Object message = objectMapper.readValue(entry.getPayload(), messageClass(entry.getMessageType()));
+      sent = publisher.send(entry.getTopic(), entry.getMessageKey(), message);
+    } catch (Exception e) {
+      sent = CompletableFuture.failedFuture(e);
+    }
+    return sent.whenComplete((ignored, e) -> {
+      Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+      if (cause instanceof BackpressureException) {
+        // Yuborilmadi - urinish hisoblanmaydi, keyingi raundda qayta olinadi
+        backedOff.set(true);
+      } else if (cause != null) {
+        errors.put(entry.getId(), cause);
+      }
+    });
+  }
+
+  private void markFailed(OrderOutboxEntity entry, Throwable error) {
+    failures.increment();
+    entry.setAttempts(entry.getAttempts() + 1);
+    String message = String.valueOf(error.getMessage());
+    entry.setLastError(message.length() > 1000 ? message.substring(0, 1000) : message);
+    if (entry.getAttempts() >= properties.getMaxAttempts()) {
+      entry.setDeadAt(LocalDateTime.now());
+      dead.increment();
+      log.error("Outbox message {} (key {}) gave up after {} attempts", entry.getId(),
+          entry.getMessageKey(), entry.getAttempts(), error);
+    } else {
+      log.warn("Outbox message {} (key {}) failed, attempt {}: {}", entry.getId(),
+          entry.getMessageKey(), entry.getAttempts(), message);
+    }
+  }
+
+  private Class<?> messageClass(String messageType) {
+    return messageClasses.computeIfAbsent(messageType, type -> {
+      String className = typeMappings.get(type);
+      if (className == null) {
+        throw new IllegalArgumentException("Unknown outbox message type: " + type);
+      }
+      try {
+        return Class.forName(className);
+      } catch (ClassNotFoundException e) {
+        throw new IllegalArgumentException("Unknown outbox message class: " + className, e);
+      }
+    });
+  }
+
+  private void refreshGauges() {
+    long now = System.nanoTime();
+    if (now - gaugesRefreshedAt < GAUGE_REFRESH_NANOS) {
+      return;
+    }
+    gaugesRefreshedAt = now;
+    try {
+      depth.set(outboxRepository.countPending());
+      LocalDateTime oldest = outboxRepository.findOldestPendingCreatedAt();
+      lagMillis.set(oldest != null ? Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis()) : 0);
+    } catch (RuntimeException e) {
+      log.debug("Could not refresh outbox gauges", e);
+    }
+  }
+
+  private static void await(Iterable<CompletableFuture<Void>> futures, Duration timeout) {
+    List<CompletableFuture<Void>> all = new ArrayList<>();
+    futures.forEach(all::add);
+    try {
+      CompletableFuture.allOf(all.toArray(CompletableFuture[]::new))
+          .get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (ExecutionException | TimeoutException e) {
+      // Natijalar har bir yozuv bo'yicha alohida tekshiriladi
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
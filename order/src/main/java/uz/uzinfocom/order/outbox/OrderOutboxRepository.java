@@ -0,0 +1,26 @@
+package uz.uzinfocom.order.outbox;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OrderOutboxRepository extends JpaRepository<OrderOutboxEntity, Long> {
+
+  @Query(value = "SELECT * FROM order_outbox WHERE dead_at IS NULL ORDER BY id LIMIT :limit",
+      nativeQuery = true)
+  List<OrderOutboxEntity> findPending(@Param("limit") int limit);
+
+  // Tranzaksiya oxirigacha ushlanadi - bir vaqtda faqat bitta instance relay qiladi (kalit tartibi uchun)
+  @Query(value = "SELECT pg_try_advisory_xact_lock(:lockId)", nativeQuery = true)
+  boolean tryRelayLock(@Param("lockId") long lockId);
+
+  @Query("SELECT COUNT(o) FROM OrderOutboxEntity o WHERE o.deadAt IS NULL")
+  long countPending();
+
+  @Query("SELECT MIN(o.createdAt) FROM OrderOutboxEntity o WHERE o.deadAt IS NULL")
+  LocalDateTime findOldestPendingCreatedAt();
+}
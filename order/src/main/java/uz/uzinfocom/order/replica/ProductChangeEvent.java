@@ -0,0 +1,28 @@
+package uz.uzinfocom.order.replica;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Product servisining "product-changes" topic'idagi xabari.
+ */
+@Setter
+@Getter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ProductChangeEvent {
+
+  private String type;
+  private Long id;
+  private String name;
+  private BigDecimal price;
+  private String category;
+  private long version;
+}
@@ -0,0 +1,94 @@
+package uz.uzinfocom.order.replica;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+
+/**
+ * "product-changes" compacted topic'idan yig'iladigan product'lar nusxasi (kalit - product id).
+ * Buyurtma yaratishda Feign'dan oldin tekshiriladi; topilmasa Feign orqali so'raladi.
+ */
+@Component
+public class ProductReplica {
+
+  private final Map<Long, ProductChangeEvent> products = new ConcurrentHashMap<>();
+  // partition -> iste'mol qilinmagan yozuvlar soni
+  private final Map<Integer, Long> partitionLag = new ConcurrentHashMap<>();
+  private volatile boolean caughtUp;
+
+  private final Counter hits;
+  private final Counter misses;
+
+  public ProductReplica(MeterRegistry meterRegistry) {
+    this.hits = meterRegistry.counter("product.replica.lookups", "result", "hit");
+    this.misses = meterRegistry.counter("product.replica.lookups", "result", "miss");
+    Gauge.builder("product.replica.size", products, Map::size)
+        .register(meterRegistry);
+    Gauge.builder("product.replica.lag", this, ProductReplica::getLag)
+        .description("Records not yet applied to the replica")
+        .register(meterRegistry);
+    Gauge.builder("product.replica.ready", this, replica -> replica.isCaughtUp() ? 1 : 0)
+        .register(meterRegistry);
+    Gauge.builder("product.replica.hit.ratio", this, ProductReplica::hitRatio)
+        .register(meterRegistry);
+  }
+
+  public Optional<ProductChangeEvent> find(Long productId) {
+    ProductChangeEvent product = products.get(productId);
+    if (product == null) {
+      misses.increment();
+      return Optional.empty();
+    }
+    hits.increment();
+    return Optional.of(product);
+  }
+
+  /**
+   * Eski versiya yangisining ustiga yozilmaydi (ikki instance'dan kelgan xabarlar tartibi aralashishi mumkin).
+   */
+  public void apply(ProductChangeEvent event) {
+    products.merge(event.getId(), event,
+        (current, incoming) -> incoming.getVersion() >= current.getVersion() ? incoming : current);
+  }
+
+  public void remove(Long productId) {
+    products.remove(productId);
+  }
+
+  void updateLag(int partition, long lag) {
+    partitionLag.put(partition, lag);
+    if (!caughtUp && getLag() == 0) {
+      caughtUp = true;
+    }
+  }
+
+  void resetLag() {
+    partitionLag.clear();
+  }
+
+  public long getLag() {
+    long lag = 0;
+    for (long value : partitionLag.values()) {
+      lag += value;
+    }
+    return lag;
+  }
+
+  public boolean isCaughtUp() {
+    return caughtUp;
+  }
+
+  public int size() {
+    return products.size();
+  }
+
+  private double hitRatio() {
+    double total = hits.count() + misses.count();
+    return total == 0 ? 0 : hits.count() / total;
+  }
+}
@@ -0,0 +1,74 @@
+package uz.uzinfocom.order.replica;
+
+import java.util.Collection;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.AbstractConsumerSeekAware;
+import org.springframework.stereotype.Service;
+
+/**
+ * Replikani topic boshidan o'qib yig'adi va keyin o'zgarishlarni kuzatib boradi.
+ * Null qiymat (tombstone) - product o'chirilgan.
+ * Topic'ning barcha partition'lari qo'lda biriktiriladi (consumer group yo'q), har instance hammasini o'qiydi.
+ * Boshlang'ich lag partition'lar end offset'idan olinadi: bo'sh topic'da replika darhol tayyor.
+ */
+@Slf4j
+@Service
+public class ProductReplicaListener extends AbstractConsumerSeekAware {
+
+  private final ProductReplica productReplica;
+  private final ConsumerFactory<String, ProductChangeEvent> consumerFactory;
+
+  public ProductReplicaListener(ProductReplica productReplica,
+      ConsumerFactory<String, ProductChangeEvent> consumerFactory) {
+    this.productReplica = productReplica;
+    this.consumerFactory = consumerFactory;
+  }
+
+  @Override
+  public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+    super.onPartitionsAssigned(assignments, callback);
+    productReplica.resetLag();
+    callback.seekToBeginning(assignments.keySet());
+    // Listener consumer'i hali poll qilmagan - offset'lar alohida qisqa umrli consumer bilan o'qiladi
+    try (Consumer<String, ProductChangeEvent> consumer = consumerFactory.createConsumer()) {
+      initLag(consumer, assignments.keySet());
+    }
+    log.info("Product replica bootstrapping from partitions: {}", assignments.keySet());
+  }
+
+  /**
+   * Yozuv kelmaydigan (bo'sh) partition'lar ham lag = 0 bilan hisobga kiradi.
+   */
+  void initLag(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+    Map<TopicPartition, Long> beginning = consumer.beginningOffsets(partitions);
+    Map<TopicPartition, Long> end = consumer.endOffsets(partitions);
+    for (TopicPartition partition : partitions) {
+      long lag = end.getOrDefault(partition, 0L) - beginning.getOrDefault(partition, 0L);
+      productReplica.updateLag(partition.partition(), Math.max(lag, 0));
+    }
+  }
+
+  @KafkaListener(topicPartitions = @org.springframework.kafka.annotation.TopicPartition(
+      topic = "${product.replica.topic:product-changes}",
+      partitions = "#{@productChangePartitions}"),
+      containerFactory = "productChangeKafkaListenerContainerFactory")
+  public void onProductChange(ConsumerRecord<String, ProductChangeEvent> record, Consumer<?, ?> consumer) {
+    ProductChangeEvent event = record.value();
+    if (event != null) {
+      productReplica.apply(event);
+    } else {
+      productReplica.remove(Long.valueOf(record.key()));
+    }
+
+    TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+    consumer.currentLag(partition)
+        .ifPresent(lag -> productReplica.updateLag(record.partition(), lag));
+    log.debug("Product replica applied: {} -> {}", record.key(), event);
+  }
+}
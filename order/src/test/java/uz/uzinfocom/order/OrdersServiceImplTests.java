@@ -0,0 +1,144 @@
+package uz.uzinfocom.order;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import uz.uzinfocom.order.dto.OrdersBatchResultDto;
+import uz.uzinfocom.order.dto.OrdersBatchResultDto.OrderResult;
+import uz.uzinfocom.order.dto.OrdersBatchResultDto.Status;
+import uz.uzinfocom.order.dto.OrdersRequestDto;
+import uz.uzinfocom.order.dto.OrdersResponseDto;
+import uz.uzinfocom.order.extrenal.CoalescingProductClient;
+import uz.uzinfocom.order.extrenal.ProductBatchClient;
+import uz.uzinfocom.order.extrenal.ProductClientProperties;
+import uz.uzinfocom.order.extrenal.dto.ProductBatchDto;
+import uz.uzinfocom.order.extrenal.dto.ProductResponseDto;
+import uz.uzinfocom.order.kafka.OrderProducer;
+import uz.uzinfocom.order.replica.ProductChangeEvent;
+import uz.uzinfocom.order.replica.ProductReplica;
+
+class OrdersServiceImplTests {
+
+  private final List<List<Long>> batchCalls = new ArrayList<>();
+  private final List<OrdersEntity> saved = new ArrayList<>();
+  private final List<OrdersResponseDto> sent = new ArrayList<>();
+  private final ProductReplica replica = new ProductReplica(new SimpleMeterRegistry());
+  private CoalescingProductClient productClient;
+
+  @AfterEach
+  void tearDown() {
+    if (productClient != null) {
+      productClient.shutdown();
+    }
+  }
+
+  @Test
+  void createsValidOrdersAndRejectsTheRestByIndex() {
+    replica.apply(new ProductChangeEvent("UPDATED", 1L, "phone", BigDecimal.TEN, "ELECTRONICS", 1));
+    // 404 - product servisida yo'q
+    OrdersServiceImpl service = service(ids -> {
+      batchCalls.add(List.copyOf(ids));
+      List<ProductResponseDto> products = ids.stream()
+          .filter(id -> id != 404L)
+          .map(ProductResponseDto::new)
+          .toList();
+      return ResponseEntity.ok(new ProductBatchDto(products, List.of(404L)));
+    });
+
+    OrdersBatchResultDto result = service.createOrders(List.of(
+        order(10L, 1L, 1),
+        order(11L, 2L, 0),
+        order(12L, 2L, 3),
+        order(13L, 404L, 1),
+        order(null, 1L, 1)));
+
+    assertEquals(2, result.getCreated());
+    assertEquals(3, result.getRejected());
+    List<OrderResult> results = result.getResults();
+    assertEquals(5, results.size());
+    assertCreated(results.get(0), 0, 10L);
+    assertRejected(results.get(1), 1, "quantity must be positive");
+    assertCreated(results.get(2), 2, 12L);
+    assertRejected(results.get(3), 3, "product not found: 404");
+    assertRejected(results.get(4), 4, "userId is required");
+
+    // Replikada bor product /batch'ga bormaydi, noto'g'ri so'rovdagi id ham
+    assertEquals(List.of(List.of(2L, 404L)), batchCalls);
+    assertEquals(2, saved.size());
+    assertEquals(List.of(results.get(0).getOrder(), results.get(2).getOrder()), sent);
+  }
+
+  @Test
+  void productServiceFailureFailsWholeBatch() {
+    OrdersServiceImpl service = service(ids -> {
+      throw new IllegalStateException("product service is down");
+    });
+
+    assertThrows(RuntimeException.class,
+        () -> service.createOrders(List.of(order(10L, 1L, 1), order(11L, 2L, 1))));
+    assertTrue(saved.isEmpty());
+    assertTrue(sent.isEmpty());
+  }
+
+  private OrdersServiceImpl service(ProductBatchClient batchClient) {
+    productClient = new CoalescingProductClient(
+        id -> {
+          throw new IllegalStateException("batch order must not use single lookups");
+        },
+        batchClient, new ProductClientProperties(), new SimpleMeterRegistry());
+    OrderProducer producer = new OrderProducer(null) {
+      @Override
+      public void sendOrders(List<OrdersResponseDto> orders) {
+        sent.addAll(orders);
+      }
+    };
+    return new OrdersServiceImpl(repository(), productClient, producer, replica);
+  }
+
+  @SuppressWarnings("unchecked")
+  private OrdersRepository repository() {
+    AtomicLong ids = new AtomicLong(100);
+    return (OrdersRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+        new Class<?>[] {OrdersRepository.class}, (proxy, method, args) -> {
+          if (!method.getName().equals("saveAll")) {
+            throw new UnsupportedOperationException(method.getName());
+          }
+          List<OrdersEntity> orders = new ArrayList<>();
+          for (OrdersEntity order : (Iterable<OrdersEntity>) args[0]) {
+            order.setId(ids.incrementAndGet());
+            orders.add(order);
+          }
+          saved.addAll(orders);
+          return orders;
+        });
+  }
+
+  private static void assertCreated(OrderResult result, int index, Long userId) {
+    assertEquals(index, result.getIndex());
+    assertEquals(Status.CREATED, result.getStatus());
+    assertEquals(userId, result.getOrder().getUserId());
+    assertNull(result.getError());
+  }
+
+  private static void assertRejected(OrderResult result, int index, String error) {
+    assertEquals(index, result.getIndex());
+    assertEquals(Status.REJECTED, result.getStatus());
+    assertNull(result.getOrder());
+    assertEquals(error, result.getError());
+  }
+
+  private static OrdersRequestDto order(Long userId, Long productId, int quantity) {
+    return new OrdersRequestDto(userId, productId, quantity, new BigDecimal("19.99"));
+  }
+}
@@ -0,0 +1,177 @@
+package uz.uzinfocom.order.extrenal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import feign.FeignException;
+import feign.Request;
+import feign.Request.HttpMethod;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import uz.uzinfocom.order.extrenal.dto.ProductBatchDto;
+import uz.uzinfocom.order.extrenal.dto.ProductResponseDto;
+
+class CoalescingProductClientTests {
+
+  private static final ProductBatchClient NO_BATCH = ids -> ResponseEntity.ok(null);
+
+  @Test
+  void concurrentRequestsShareOneCall() throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+    ProductClient productClient = id -> {
+      calls.incrementAndGet();
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return ResponseEntity.ok(new ProductResponseDto(id));
+    };
+    CoalescingProductClient client = new CoalescingProductClient(productClient, NO_BATCH,
+        new ProductClientProperties(), new SimpleMeterRegistry());
+
+    ExecutorService executor = Executors.newFixedThreadPool(16);
+    try {
+      List<Future<ProductResponseDto>> results = new ArrayList<>();
+      for (int i = 0; i < 16; i++) {
+        results.add(executor.submit(() -> client.getProductById(7L)));
+      }
+      Thread.sleep(200);
+      release.countDown();
+      for (Future<ProductResponseDto> result : results) {
+        assertEquals(7L, result.get(5, TimeUnit.SECONDS).getId());
+      }
+    } finally {
+      executor.shutdownNow();
+      client.shutdown();
+    }
+    assertEquals(1, calls.get());
+
+    // ttl ichida kesh
+    client.getProductById(7L);
+    assertEquals(1, calls.get());
+  }
+
+  @Test
+  void staleEntryIsServedAndRefreshedInBackground() throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+    ProductClient productClient = id -> {
+      calls.incrementAndGet();
+      return ResponseEntity.ok(new ProductResponseDto(id));
+    };
+    ProductClientProperties properties = new ProductClientProperties();
+    properties.setTtl(Duration.ZERO);
+    CoalescingProductClient client = new CoalescingProductClient(productClient, NO_BATCH,
+        properties, new SimpleMeterRegistry());
+    try {
+      client.getProductById(1L);
+      assertEquals(1L, client.getProductById(1L).getId());
+
+      long deadline = System.currentTimeMillis() + 5_000;
+      while (calls.get() < 2 && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+      assertEquals(2, calls.get());
+    } finally {
+      client.shutdown();
+    }
+  }
+
+  @Test
+  void batchLookupFetchesOnlyUncachedIdsOnce() {
+    List<List<Long>> batchCalls = new ArrayList<>();
+    ProductBatchClient batchClient = ids -> {
+      batchCalls.add(List.copyOf(ids));
+      List<ProductResponseDto> products = ids.stream()
+          .filter(id -> id != 404L)
+          .map(ProductResponseDto::new)
+          .toList();
+      return ResponseEntity.ok(new ProductBatchDto(products, List.of(404L)));
+    };
+    CoalescingProductClient client = new CoalescingProductClient(
+        id -> ResponseEntity.ok(new ProductResponseDto(id)), batchClient,
+        new ProductClientProperties(), new SimpleMeterRegistry());
+    try {
+      client.getProductById(1L);
+
+      Map<Long, ProductResponseDto> found = client.getProductsByIds(List.of(1L, 2L, 2L, 3L, 404L));
+
+      assertEquals(List.of(List.of(2L, 3L, 404L)), batchCalls);
+      assertEquals(Set.of(1L, 2L, 3L), found.keySet());
+      // Batch natijasi keshga tushadi
+      client.getProductsByIds(List.of(2L, 3L));
+      assertEquals(1, batchCalls.size());
+    } finally {
+      client.shutdown();
+    }
+  }
+
+  @Test
+  void notFoundEvictsStaleEntryInsteadOfServingIt() throws Exception {
+    AtomicBoolean deleted = new AtomicBoolean();
+    ProductClient productClient = id -> {
+      if (deleted.get()) {
+        Request request = Request.create(HttpMethod.GET, "/api/v1/products/" + id, Map.of(), null,
+            StandardCharsets.UTF_8, null);
+        throw new FeignException.NotFound("Product not found", request, null, Map.of());
+      }
+      return ResponseEntity.ok(new ProductResponseDto(id));
+    };
+    ProductClientProperties properties = new ProductClientProperties();
+    properties.setTtl(Duration.ZERO);
+    CoalescingProductClient client = new CoalescingProductClient(productClient, NO_BATCH,
+        properties, new SimpleMeterRegistry());
+    try {
+      client.getProductById(1L);
+      deleted.set(true);
+      // Eski javob qaytadi, fondagi yangilash 404 oladi
+      assertEquals(1L, client.getProductById(1L).getId());
+
+      // Eviction'gacha kutamiz: keshda qolgan bo'lsa eski javob qaytadi, o'chirilgach 404
+      assertTrue(awaitNotFound(client, 1L));
+      assertEquals(Map.of(), client.getProductsByIds(List.of(1L)));
+    } finally {
+      client.shutdown();
+    }
+  }
+
+  @Test
+  void emptyResponseBodyIsAFailure() {
+    CoalescingProductClient client = new CoalescingProductClient(id -> ResponseEntity.ok(null),
+        NO_BATCH, new ProductClientProperties(), new SimpleMeterRegistry());
+    try {
+      assertThrows(IllegalStateException.class, () -> client.getProductById(1L));
+    } finally {
+      client.shutdown();
+    }
+  }
+
+  private static boolean awaitNotFound(CoalescingProductClient client, Long id) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5_000;
+    while (System.currentTimeMillis() < deadline) {
+      try {
+        client.getProductById(id);
+      } catch (FeignException.NotFound e) {
+        return true;
+      }
+      Thread.sleep(10);
+    }
+    return false;
+  }
+}
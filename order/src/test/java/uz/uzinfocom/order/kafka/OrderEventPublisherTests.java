@@ -0,0 +1,68 @@
+package uz.uzinfocom.order.kafka;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+class OrderEventPublisherTests {
+
+  @Test
+  void sendsBeyondWindowAreRejectedUntilAcknowledged() throws Exception {
+    FakeKafkaTemplate template = new FakeKafkaTemplate();
+    OrderKafkaProperties properties = new OrderKafkaProperties();
+    properties.setMaxInFlight(2);
+    properties.setMaxBlock(Duration.ofMillis(20));
+    OrderEventPublisher publisher = new OrderEventPublisher(template, properties, new SimpleMeterRegistry());
+
+    CompletableFuture<Void> first = publisher.send("orders", "1", "a");
+    CompletableFuture<Void> second = publisher.send("orders", "1", "b");
+    CompletableFuture<Void> third = publisher.send("orders", "2", "c");
+
+    assertEquals(2, template.pending.size());
+    assertEquals(2, publisher.inFlight());
+    ExecutionException rejected = assertThrows(ExecutionException.class, third::get);
+    assertInstanceOf(OrderEventPublisher.BackpressureException.class, rejected.getCause());
+
+    // Broker tasdig'i oynani bo'shatadi
+    template.pending.get(0).complete(null);
+    assertTrue(first.isDone());
+    assertEquals(1, publisher.inFlight());
+    publisher.send("orders", "2", "c");
+    assertEquals(3, template.pending.size());
+
+    template.pending.get(1).completeExceptionally(new IllegalStateException("broker down"));
+    assertTrue(second.isCompletedExceptionally());
+    assertFalse(template.pending.get(2).isDone());
+    assertEquals(1, publisher.inFlight());
+  }
+
+  private static class FakeKafkaTemplate extends KafkaTemplate<String, Object> {
+
+    private final List<CompletableFuture<SendResult<String, Object>>> pending = new ArrayList<>();
+
+    FakeKafkaTemplate() {
+      super(new DefaultKafkaProducerFactory<>(Map.of()));
+    }
+
+    @Override
+    public CompletableFuture<SendResult<String, Object>> send(String topic, String key, Object data) {
+      CompletableFuture<SendResult<String, Object>> future = new CompletableFuture<>();
+      pending.add(future);
+      return future;
+    }
+  }
+}
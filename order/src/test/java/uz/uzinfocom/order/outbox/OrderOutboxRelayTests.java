@@ -0,0 +1,168 @@
+package uz.uzinfocom.order.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import uz.uzinfocom.common.kafka.OrderEvent;
+import uz.uzinfocom.order.kafka.CommonKafkaProducerTypeMappingProvider;
+import uz.uzinfocom.order.kafka.OrderEventPublisher;
+import uz.uzinfocom.order.kafka.OrderEventPublisher.BackpressureException;
+import uz.uzinfocom.order.kafka.OrderKafkaProperties;
+
+class OrderOutboxRelayTests {
+
+  private final List<OrderOutboxEntity> rows = new CopyOnWriteArrayList<>();
+  private final List<Long> deleted = new ArrayList<>();
+  // Yuborilgan xabarlar tartibi: "kalit:id"
+  private final List<String> sends = new CopyOnWriteArrayList<>();
+  private final OrderOutboxProperties properties = new OrderOutboxProperties();
+  private OrderOutboxRelay relay;
+
+  @AfterEach
+  void tearDown() {
+    if (relay != null) {
+      relay.shutdown();
+    }
+  }
+
+  @Test
+  void sendsSameKeyMessagesOneAfterAnother() {
+    Set<String> inFlightKeys = ConcurrentHashMap.newKeySet();
+    List<String> overlaps = new CopyOnWriteArrayList<>();
+    row(1, "a");
+    row(2, "a");
+    row(3, "b");
+    relay = relay((key, id) -> {
+      if (!inFlightKeys.add(key)) {
+        overlaps.add(key + ":" + id);
+      }
+      // Broker tasdig'i boshqa thread'da keyinroq keladi
+      return CompletableFuture.runAsync(() -> inFlightKeys.remove(key),
+          CompletableFuture.delayedExecutor(20, TimeUnit.MILLISECONDS));
+    });
+
+    relay.relay();
+
+    assertEquals(List.of(), overlaps);
+    assertEquals(List.of("a:1", "a:2"), sends.stream().filter(s -> s.startsWith("a:")).toList());
+    assertEquals(List.of(1L, 2L, 3L), deleted.stream().sorted().toList());
+  }
+
+  @Test
+  void failedHeadBlocksRestOfItsKeyOnly() {
+    OrderOutboxEntity failed = row(1, "a");
+    OrderOutboxEntity blocked = row(2, "a");
+    row(3, "b");
+    relay = relay((key, id) -> id == 1
+        ? CompletableFuture.failedFuture(new IllegalStateException("broker down"))
+        : CompletableFuture.completedFuture(null));
+
+    relay.relay();
+
+    assertEquals(List.of("a:1", "b:3"), sends);
+    assertEquals(List.of(3L), deleted);
+    assertEquals(1, failed.getAttempts());
+    assertEquals("broker down", failed.getLastError());
+    // Yuborilmagan - urinish hisoblanmaydi
+    assertEquals(0, blocked.getAttempts());
+    assertNull(failed.getDeadAt());
+  }
+
+  @Test
+  void backpressureStopsRoundWithoutCountingAttempts() {
+    OrderOutboxEntity first = row(1, "a");
+    OrderOutboxEntity second = row(2, "b");
+    relay = relay((key, id) -> CompletableFuture.failedFuture(new BackpressureException("window full")));
+
+    relay.relay();
+
+    assertEquals(List.of("a:1"), sends);
+    assertEquals(List.of(), deleted);
+    assertEquals(0, first.getAttempts());
+    assertEquals(0, second.getAttempts());
+  }
+
+  @Test
+  void marksRowDeadAfterMaxAttempts() {
+    properties.setMaxAttempts(2);
+    OrderOutboxEntity entry = row(1, "a");
+    entry.setAttempts(1);
+    relay = relay((key, id) -> CompletableFuture.failedFuture(new IllegalStateException("rejected")));
+
+    relay.relay();
+
+    assertEquals(2, entry.getAttempts());
+    assertNotNull(entry.getDeadAt());
+    assertTrue(deleted.isEmpty());
+  }
+
+  private OrderOutboxEntity row(long id, String key) {
+    OrderOutboxEntity entry = new OrderOutboxEntity();
+    entry.setId(id);
+    entry.setTopic("orders");
+    entry.setMessageKey(key);
+    entry.setMessageType("OrderMessage");
+    entry.setPayload("{\"id\":" + id + "}");
+    rows.add(entry);
+    return entry;
+  }
+
+  private OrderOutboxRelay relay(BiFunction<String, Long, CompletableFuture<Void>> outcome) {
+    OrderEventPublisher publisher = new OrderEventPublisher(null, new OrderKafkaProperties(),
+        new SimpleMeterRegistry()) {
+      @Override
+      public CompletableFuture<Void> send(String topic, String key, Object value) {
+        Long id = ((OrderEvent) value).getId();
+        sends.add(key + ":" + id);
+        return outcome.apply(key, id);
+      }
+    };
+    TransactionTemplate transactionTemplate = new TransactionTemplate() {
+      @Override
+      public <T> T execute(TransactionCallback<T> action) {
+        return action.doInTransaction(null);
+      }
+    };
+    return new OrderOutboxRelay(repository(), publisher, transactionTemplate, new ObjectMapper(),
+        properties, new CommonKafkaProducerTypeMappingProvider(), new SimpleMeterRegistry());
+  }
+
+  @SuppressWarnings("unchecked")
+  private OrderOutboxRepository repository() {
+    return (OrderOutboxRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+        new Class<?>[] {OrderOutboxRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+          case "tryRelayLock" -> true;
+          case "findPending" -> rows.stream()
+              .filter(row -> row.getDeadAt() == null)
+              .limit((Integer) args[0])
+              .toList();
+          case "deleteAllByIdInBatch" -> {
+            for (Long id : (Iterable<Long>) args[0]) {
+              deleted.add(id);
+              rows.removeIf(row -> row.getId().equals(id));
+            }
+            yield null;
+          }
+          case "countPending" -> (long) rows.size();
+          case "findOldestPendingCreatedAt" -> null;
+          default -> throw new UnsupportedOperationException(method.getName());
+        });
+  }
+}
@@ -0,0 +1,63 @@
+package uz.uzinfocom.order.replica;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+
+class ProductReplicaTests {
+
+  private final ProductReplica replica = new ProductReplica(new SimpleMeterRegistry());
+
+  @Test
+  void olderVersionDoesNotOverwriteNewer() {
+    replica.apply(event(1L, "new", 200));
+    replica.apply(event(1L, "old", 100));
+
+    assertEquals("new", replica.find(1L).orElseThrow().getName());
+  }
+
+  @Test
+  void tombstoneRemovesProduct() {
+    replica.apply(event(1L, "phone", 100));
+    replica.remove(1L);
+
+    assertTrue(replica.find(1L).isEmpty());
+    assertEquals(0, replica.size());
+  }
+
+  @Test
+  void becomesReadyWhenAllPartitionsCaughtUp() {
+    replica.updateLag(0, 5);
+    replica.updateLag(1, 0);
+    assertFalse(replica.isCaughtUp());
+
+    replica.updateLag(0, 0);
+    assertTrue(replica.isCaughtUp());
+  }
+
+  @Test
+  void emptyTopicIsCaughtUpOnAssignment() {
+    TopicPartition first = new TopicPartition("product-changes", 0);
+    TopicPartition second = new TopicPartition("product-changes", 1);
+    MockConsumer<String, ProductChangeEvent> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+    consumer.updateBeginningOffsets(Map.of(first, 0L, second, 0L));
+    consumer.updateEndOffsets(Map.of(first, 0L, second, 0L));
+
+    new ProductReplicaListener(replica, null).initLag(consumer, List.of(first, second));
+
+    assertTrue(replica.isCaughtUp());
+  }
+
+  private static ProductChangeEvent event(Long id, String name, long version) {
+    return new ProductChangeEvent("UPDATED", id, name, BigDecimal.TEN, "BOOKS", version);
+  }
+}
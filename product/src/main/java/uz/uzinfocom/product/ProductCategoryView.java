@@ -0,0 +1,11 @@
+package uz.uzinfocom.product;
+
+/**
+ * id -> category xaritasi uchun projection (partition pruning).
+ */
+public interface ProductCategoryView {
+
+  Long getId();
+
+  String getCategory();
+}
@@ -1,9 +1,10 @@
 package uz.uzinfocom.product;
 
 import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.io.IOUtils;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
@@ -11,7 +12,9 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -20,12 +23,25 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import uz.uzinfocom.product.bulk.ProductImportService;
+import uz.uzinfocom.product.dto.CursorPageDto;
+import uz.uzinfocom.product.dto.ProductBatchDto;
+import uz.uzinfocom.product.dto.ProductFacetsDto;
+import uz.uzinfocom.product.dto.ProductImageDto;
+import uz.uzinfocom.product.dto.ProductImportResultDto;
 import uz.uzinfocom.product.dto.ProductRequestDto;
 import uz.uzinfocom.product.dto.ProductResponseDto;
+import uz.uzinfocom.product.hotkey.HotKeyTracker;
+import uz.uzinfocom.product.image.ImageVariant;
+import uz.uzinfocom.product.minio.ObjectContent;
+import uz.uzinfocom.product.warmup.ProductAccessTracker;
 
 @RestController
 @RequestMapping("/api/products")
@@ -33,7 +49,13 @@ import uz.uzinfocom.product.dto.ProductResponseDto;
 @Slf4j
 public class ProductController {
 
+  private static final int MAX_BATCH_SIZE = 500;
+  private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
   private final ProductService productService;
+  private final ProductImportService productImportService;
+  private final ProductAccessTracker productAccessTracker;
+  private final HotKeyTracker hotKeyTracker;
 
   @PostMapping
   public ResponseEntity<ProductResponseDto> createProduct(@RequestBody ProductRequestDto requestDto) {
@@ -42,9 +64,39 @@ public class ProductController {
     return new ResponseEntity<>(response, HttpStatus.CREATED);
   }
 
+  @PostMapping(value = "/import", consumes = {ProductImportService.NDJSON, ProductImportService.CSV})
+  public ResponseEntity<ProductImportResultDto> importProducts(
+      @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+      InputStream body) {
+    log.info("REST request to import Products, content type: {}", contentType);
+    try {
+      return ResponseEntity.ok(productImportService.importProducts(body, MediaType.parseMediaType(contentType)));
+    } catch (IllegalArgumentException e) {
+      log.warn("Rejected product import: {}", e.getMessage());
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  @GetMapping("/facets")
+  public ResponseEntity<ProductFacetsDto> getFacets(@RequestParam(required = false) String category) {
+    log.info("REST request to get Product facets, category: {}", category);
+    return ResponseEntity.ok(productService.getFacets(category));
+  }
+
+  @GetMapping("/batch")
+  public ResponseEntity<ProductBatchDto> getProductsByIds(@RequestParam List<Long> ids) {
+    log.info("REST request to get {} Products by IDs", ids.size());
+    if (ids.size() > MAX_BATCH_SIZE) {
+      return ResponseEntity.badRequest().build();
+    }
+    ids.forEach(hotKeyTracker::record);
+    return ResponseEntity.ok(productService.getProductsByIds(ids));
+  }
+
   @GetMapping("/{id}")
   public ResponseEntity<ProductResponseDto> getProductById(@PathVariable Long id) {
     log.info("REST request to get Product by ID: {}", id);
+    hotKeyTracker.record(id);
     ProductResponseDto response = productService.getProductById(id);
     return ResponseEntity.ok(response);
   }
@@ -61,6 +113,7 @@ public class ProductController {
 
     Sort.Direction sortDirection = Sort.Direction.fromString(direction);
     Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sortBy));
+    productAccessTracker.recordPage(null, pageable);
 
     Page<ProductResponseDto> response = productService.getAllProducts(pageable);
     return ResponseEntity.ok(response);
@@ -75,10 +128,61 @@ public class ProductController {
     log.info("REST request to get Products by category: {}", category);
 
     Pageable pageable = PageRequest.of(page, size);
+    productAccessTracker.recordPage(category, pageable);
     Page<ProductResponseDto> response = productService.getProductsByCategory(category, pageable);
     return ResponseEntity.ok(response);
   }
 
+  @GetMapping("/search")
+  public ResponseEntity<Page<ProductResponseDto>> searchProducts(
+      @RequestParam String q,
+      @RequestParam(defaultValue = "0") int page,
+      @RequestParam(defaultValue = "10") int size) {
+
+    log.info("REST request to search Products: {}", q);
+
+    Page<ProductResponseDto> response = productService.searchProducts(q, PageRequest.of(page, size));
+    return ResponseEntity.ok(response);
+  }
+
+  @GetMapping("/cursor")
+  public ResponseEntity<CursorPageDto<ProductResponseDto>> getAllProductsByCursor(
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") int size,
+      @RequestParam(defaultValue = "id") String sortBy,
+      @RequestParam(defaultValue = "ASC") String direction) {
+
+    log.info("REST request to get all Products by cursor - size: {}, sortBy: {}", size, sortBy);
+    return getCursorPage(null, cursor, sortBy, direction, size);
+  }
+
+  @GetMapping("/category/{category}/cursor")
+  public ResponseEntity<CursorPageDto<ProductResponseDto>> getProductsByCategoryAndCursor(
+      @PathVariable String category,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") int size,
+      @RequestParam(defaultValue = "id") String sortBy,
+      @RequestParam(defaultValue = "ASC") String direction) {
+
+    log.info("REST request to get Products by category: {} by cursor", category);
+    return getCursorPage(category, cursor, sortBy, direction, size);
+  }
+
+  private ResponseEntity<CursorPageDto<ProductResponseDto>> getCursorPage(String category,
+      String cursor, String sortBy, String direction, int size) {
+    if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+      return ResponseEntity.badRequest().build();
+    }
+    try {
+      return ResponseEntity.ok(
+          productService.getProductsByCursor(category, cursor, sortBy, direction, size));
+    } catch (IllegalArgumentException e) {
+      // Buzilgan/eskirgan cursor yoki qo'llab-quvvatlanmagan sort - klient xatosi
+      log.warn("Invalid cursor request: {}", e.getMessage());
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
   @PutMapping("/{id}")
   public ResponseEntity<ProductResponseDto> updateProduct(
       @PathVariable Long id,
@@ -107,22 +211,97 @@ public class ProductController {
   }
 
   @GetMapping("/{id}/image")
-  public ResponseEntity<byte[]> getProductImage(@PathVariable Long id) {
-    log.info("REST request to get image for Product ID: {}", id);
+  public ResponseEntity<StreamingResponseBody> getProductImage(
+      @PathVariable Long id,
+      @RequestParam(defaultValue = "full") String variant,
+      @RequestParam(defaultValue = "false") boolean redirect,
+      @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+      @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+      WebRequest webRequest) {
+    log.info("REST request to get image for Product ID: {}, variant: {}", id, variant);
 
+    ImageVariant imageVariant;
     try {
-      InputStream imageStream = productService.getProductImage(id);
-      byte[] imageBytes = IOUtils.toByteArray(imageStream);
+      imageVariant = ImageVariant.fromParam(variant);
+    } catch (IllegalArgumentException e) {
+      log.warn("Invalid image variant for product ID: {}: {}", id, variant);
+      return ResponseEntity.badRequest().build();
+    }
 
-      HttpHeaders headers = new HttpHeaders();
-      headers.setContentType(MediaType.IMAGE_JPEG); // Yoki dynamic ravishda
-      headers.setContentLength(imageBytes.length);
+    // Redirect rejimi: baytlar servis orqali o'tmaydi, klient to'g'ridan-to'g'ri MinIO'dan oladi
+    if (redirect) {
+      try {
+        String url = productService.getProductImageUrl(id, imageVariant);
+        return ResponseEntity.status(HttpStatus.FOUND).location(URI.create(url)).build();
+      } catch (Exception e) {
+        log.error("Error resolving image URL for product ID: {}", id, e);
+        return ResponseEntity.notFound().build();
+      }
+    }
 
-      return new ResponseEntity<>(imageBytes, headers, HttpStatus.OK);
+    ProductImageDto image;
+    try {
+      image = productService.getProductImageInfo(id, imageVariant);
     } catch (Exception e) {
       log.error("Error retrieving image for product ID: {}", id, e);
       return ResponseEntity.notFound().build();
     }
+
+    // If-None-Match / If-Modified-Since - 304, MinIO'dan hech narsa o'qilmaydi
+    if (webRequest.checkNotModified(image.getEtag(), image.getLastModified())) {
+      return null;
+    }
+
+    long size = image.getSize();
+    long start = 0;
+    long end = size - 1;
+    HttpStatus status = HttpStatus.OK;
+    if (range != null && (ifRange == null || ifRange.contains(image.getEtag()))) {
+      List<HttpRange> ranges;
+      try {
+        ranges = HttpRange.parseRanges(range);
+      } catch (IllegalArgumentException e) {
+        ranges = List.of();
+      }
+      // Faqat bitta range qo'llab-quvvatlanadi, aks holda to'liq javob
+      if (ranges.size() == 1) {
+        try {
+          start = ranges.get(0).getRangeStart(size);
+          end = ranges.get(0).getRangeEnd(size);
+          status = HttpStatus.PARTIAL_CONTENT;
+        } catch (IllegalArgumentException e) {
+          return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+              .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size)
+              .build();
+        }
+      }
+    }
+
+    long length = end - start + 1;
+    ObjectContent imageContent;
+    try {
+      imageContent = productService.openProductImage(image, start, length);
+    } catch (Exception e) {
+      log.error("Error opening image for product ID: {}", id, e);
+      return ResponseEntity.notFound().build();
+    }
+
+    ResponseEntity.BodyBuilder response = ResponseEntity.status(status)
+        .contentType(resolveMediaType(image.getContentType()))
+        .contentLength(length)
+        .eTag(image.getEtag())
+        .lastModified(image.getLastModified())
+        .header(HttpHeaders.ACCEPT_RANGES, "bytes");
+    if (status == HttpStatus.PARTIAL_CONTENT) {
+      response.header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+    }
+
+    // Fayl heap'ga yuklanmaydi - lokal keshdan FileChannel orqali, aks holda MinIO oqimidan uzatiladi
+    return response.body(out -> {
+      try (ObjectContent content = imageContent) {
+        content.transferTo(out);
+      }
+    });
   }
 
   @DeleteMapping("/{id}/image")
@@ -131,4 +310,14 @@ public class ProductController {
     productService.deleteProductImage(id);
     return ResponseEntity.noContent().build();
   }
+
+  private static MediaType resolveMediaType(String contentType) {
+    try {
+      return contentType != null
+          ? MediaType.parseMediaType(contentType)
+          : MediaType.APPLICATION_OCTET_STREAM;
+    } catch (InvalidMediaTypeException e) {
+      return MediaType.APPLICATION_OCTET_STREAM;
+    }
+  }
 }
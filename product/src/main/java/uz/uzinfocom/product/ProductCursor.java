@@ -0,0 +1,143 @@
+package uz.uzinfocom.product;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import uz.uzinfocom.product.dto.ProductResponseDto;
+
+/**
+ * Keyset pagination uchun opaque token: (sortKey, id) juftligi va sort yo'nalishi.
+ * Format (base64url ichida): v1|sortBy|direction|id|sortValue
+ */
+public class ProductCursor {
+
+  private static final String VERSION = "v1";
+  private static final String ID = "id";
+  private static final List<String> SORT_KEYS = List.of(ID, "name", "price", "createdAt");
+
+  private final String sortBy;
+  private final Sort.Direction direction;
+  private final Long lastId;
+  private final Object lastValue;
+
+  private ProductCursor(String sortBy, Sort.Direction direction, Long lastId, Object lastValue) {
+    this.sortBy = sortBy;
+    this.direction = direction;
+    this.lastId = lastId;
+    this.lastValue = lastValue;
+  }
+
+  public static ProductCursor first(String sortBy, String direction) {
+    if (!SORT_KEYS.contains(sortBy)) {
+      throw new IllegalArgumentException("Unsupported sort key for cursor pagination: " + sortBy
+          + ". Allowed: " + SORT_KEYS);
+    }
+    return new ProductCursor(sortBy, Sort.Direction.fromString(direction), null, null);
+  }
+
+  public static ProductCursor decode(String token) {
+    String[] parts;
+    try {
+      parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", 5);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid cursor", e);
+    }
+    if (parts.length < 4 || !VERSION.equals(parts[0]) || !SORT_KEYS.contains(parts[1])) {
+      throw new IllegalArgumentException("Invalid cursor");
+    }
+
+    String sortBy = parts[1];
+    try {
+      Sort.Direction direction = Sort.Direction.valueOf(parts[2]);
+      Long lastId = Long.valueOf(parts[3]);
+      Object lastValue = ID.equals(sortBy) ? null : parseValue(sortBy, parts[4]);
+      return new ProductCursor(sortBy, direction, lastId, lastValue);
+    } catch (RuntimeException e) {
+      throw new IllegalArgumentException("Invalid cursor", e);
+    }
+  }
+
+  /**
+   * Oxirgi qaytarilgan element asosida keyingi sahifa tokeni.
+   */
+  public String next(ProductResponseDto last) {
+    return after(last).encode();
+  }
+
+  /**
+   * Berilgan elementdan keyingi pozitsiya.
+   */
+  ProductCursor after(ProductResponseDto last) {
+    return new ProductCursor(sortBy, direction, last.getId(), ID.equals(sortBy) ? null : sortValue(last));
+  }
+
+  String sortBy() {
+    return sortBy;
+  }
+
+  Sort.Direction direction() {
+    return direction;
+  }
+
+  Long lastId() {
+    return lastId;
+  }
+
+  Object lastValue() {
+    return lastValue;
+  }
+
+  public Sort sort() {
+    return ID.equals(sortBy)
+        ? Sort.by(direction, ID)
+        : Sort.by(direction, sortBy, ID);
+  }
+
+  public ScrollPosition position() {
+    if (lastId == null) {
+      return ScrollPosition.keyset();
+    }
+    Map<String, Object> keys = new LinkedHashMap<>();
+    if (lastValue != null) {
+      keys.put(sortBy, lastValue);
+    }
+    keys.put(ID, lastId);
+    return ScrollPosition.forward(keys);
+  }
+
+  private String encode() {
+    StringBuilder raw = new StringBuilder()
+        .append(VERSION).append('|')
+        .append(sortBy).append('|')
+        .append(direction.name()).append('|')
+        .append(lastId);
+    if (lastValue != null) {
+      raw.append('|').append(lastValue instanceof BigDecimal price ? price.toPlainString() : lastValue);
+    }
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  private Object sortValue(ProductResponseDto product) {
+    return switch (sortBy) {
+      case "name" -> product.getName();
+      case "price" -> product.getPrice();
+      case "createdAt" -> product.getCreatedAt();
+      default -> product.getId();
+    };
+  }
+
+  private static Object parseValue(String sortBy, String value) {
+    return switch (sortBy) {
+      case "price" -> new BigDecimal(value);
+      case "createdAt" -> LocalDateTime.parse(value);
+      default -> value;
+    };
+  }
+}
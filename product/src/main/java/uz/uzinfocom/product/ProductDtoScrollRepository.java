@@ -0,0 +1,12 @@
+package uz.uzinfocom.product;
+
+import org.springframework.data.domain.Window;
+import uz.uzinfocom.product.dto.ProductResponseDto;
+
+/**
+ * Keyset (cursor) pagination DTO projection bilan - COUNT so'rovisiz va entity yuklamasdan.
+ */
+public interface ProductDtoScrollRepository {
+
+  Window<ProductResponseDto> scrollActiveDtos(String category, ProductCursor cursor, int limit);
+}
@@ -0,0 +1,65 @@
+package uz.uzinfocom.product;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import java.util.List;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.transaction.annotation.Transactional;
+import uz.uzinfocom.product.dto.ProductResponseDto;
+
+/**
+ * Spring Data keyset scroll'ni faqat derived so'rovlarga qo'llaydi (entity qaytaradi), shuning uchun
+ * RESPONSE_DTO constructor expression'iga keyset sharti va tartib shu yerda qo'shiladi.
+ * Sort maydoni ProductCursor'dagi ruxsat etilgan ro'yxatdan keladi - so'rovga parametr bo'lmasdan qo'shilishi xavfsiz.
+ */
+public class ProductDtoScrollRepositoryImpl implements ProductDtoScrollRepository {
+
+  private final EntityManager entityManager;
+
+  public ProductDtoScrollRepositoryImpl(EntityManager entityManager) {
+    this.entityManager = entityManager;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Window<ProductResponseDto> scrollActiveDtos(String category, ProductCursor cursor, int limit) {
+    StringBuilder jpql = new StringBuilder(ProductRepository.RESPONSE_DTO).append(" WHERE p.isActive = true");
+    if (category != null) {
+      jpql.append(" AND p.category = :category");
+    }
+    if (cursor.lastId() != null) {
+      String operator = cursor.direction().isAscending() ? ">" : "<";
+      if (cursor.lastValue() == null) {
+        jpql.append(" AND p.id ").append(operator).append(" :lastId");
+      } else {
+        String key = "p." + cursor.sortBy();
+        jpql.append(" AND (").append(key).append(' ').append(operator).append(" :lastValue OR (")
+            .append(key).append(" = :lastValue AND p.id ").append(operator).append(" :lastId))");
+      }
+    }
+    String separator = " ORDER BY ";
+    for (Sort.Order order : cursor.sort()) {
+      jpql.append(separator).append("p.").append(order.getProperty()).append(' ').append(order.getDirection());
+      separator = ", ";
+    }
+
+    // Bitta ortiqcha qator - keyingi sahifa borligini bilish uchun
+    TypedQuery<ProductResponseDto> query = entityManager.createQuery(jpql.toString(), ProductResponseDto.class)
+        .setMaxResults(limit + 1);
+    if (category != null) {
+      query.setParameter("category", category);
+    }
+    if (cursor.lastId() != null) {
+      query.setParameter("lastId", cursor.lastId());
+      if (cursor.lastValue() != null) {
+        query.setParameter("lastValue", cursor.lastValue());
+      }
+    }
+
+    List<ProductResponseDto> rows = query.getResultList();
+    boolean hasNext = rows.size() > limit;
+    List<ProductResponseDto> content = hasNext ? rows.subList(0, limit) : rows;
+    return Window.from(content, index -> cursor.after(content.get(index)).position(), hasNext);
+  }
+}
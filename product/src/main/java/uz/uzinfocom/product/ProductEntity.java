@@ -24,12 +24,14 @@ import org.hibernate.annotations.UpdateTimestamp;
 @Table(name = "products")
 public class ProductEntity {
 
-  private static final String SEQUENCE_NAME = "products_seq";
+  // products_seq eski (allocationSize = 1) instance'lar uchun qoladi, 202610181300-products-seq-pooled.xml
+  private static final String SEQUENCE_NAME = "products_pooled_seq";
   private static final String GENERATOR_NAME = "products_gen";
 
   @Id
   @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = GENERATOR_NAME)
-  @SequenceGenerator(name = GENERATOR_NAME, sequenceName = SEQUENCE_NAME, allocationSize = 1)
+  // products_pooled_seq INCREMENT BY 50 bilan mos: bitta nextval 50 ta id beradi, insert'lar batch qilinadi
+  @SequenceGenerator(name = GENERATOR_NAME, sequenceName = SEQUENCE_NAME, allocationSize = 50)
   private Long id;
 
   @Column(name = "name", nullable = false, length = 255)
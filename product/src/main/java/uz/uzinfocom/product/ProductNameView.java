@@ -0,0 +1,11 @@
+package uz.uzinfocom.product;
+
+/**
+ * Search index uchun yengil projection - entity yuklanmaydi.
+ */
+public interface ProductNameView {
+
+  Long getId();
+
+  String getName();
+}
@@ -0,0 +1,15 @@
+package uz.uzinfocom.product;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Product yo'q yoki o'chirilgan (isActive = false). Controller'dan 404 bo'lib qaytadi.
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ProductNotFoundException extends RuntimeException {
+
+  public ProductNotFoundException(Long id) {
+    super("Product not found with ID: " + id);
+  }
+}
@@ -1,17 +1,34 @@
 package uz.uzinfocom.product;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import uz.uzinfocom.product.dto.ProductResponseDto;
 
 @Repository
-public interface ProductRepository extends JpaRepository<ProductEntity, Long> {
+public interface ProductRepository extends JpaRepository<ProductEntity, Long>,
+    ProductDtoScrollRepository {
+
+  // O'qish yo'llari uchun: entity, persistence context va dirty-checking snapshot'larisiz
+  String RESPONSE_DTO = "SELECT new uz.uzinfocom.product.dto.ProductResponseDto(p.id, p.name, p.price,"
+      + " p.category, p.description, p.createdAt, p.updatedAt, p.isActive, p.imageName,"
+      + " p.imageContentType) FROM ProductEntity p";
 
   Page<ProductEntity> findByCategory(String category, Pageable pageable);
 
@@ -35,11 +52,58 @@ public interface ProductRepository extends JpaRepository<ProductEntity, Long> {
   @Query("SELECT p FROM ProductEntity p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%')) AND p.isActive = true")
   Page<ProductEntity> searchByName(@Param("name") String name, Pageable pageable);
 
+  // Rasm variantlari backfill uchun
+  Window<ProductEntity> findByIsActiveTrueAndImageNameIsNotNull(ScrollPosition position, Sort sort,
+      Limit limit);
+
+  // Search index uchun streaming scan
+  @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+  @Query("SELECT p.id AS id, p.name AS name FROM ProductEntity p WHERE p.isActive = true")
+  Stream<ProductNameView> streamActiveNames();
+
+  // id -> category xaritasi uchun streaming scan (soft delete qilinganlar ham)
+  @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+  @Query("SELECT p.id AS id, p.category AS category FROM ProductEntity p")
+  Stream<ProductCategoryView> streamCategories();
+
   // Count by category
   @Query("SELECT COUNT(p) FROM ProductEntity p WHERE p.category = :category AND p.isActive = true")
   Long countByCategory(@Param("category") String category);
 
+  // Rasm obyekti bir nechta product orasida bo'lishilishi mumkin (kontent xeshi bo'yicha)
+  boolean existsByImageName(String imageName);
+
   // Find by ID and active
   @Query("SELECT p FROM ProductEntity p WHERE p.id = :id AND p.isActive = true")
   Optional<ProductEntity> findByIdAndActive(@Param("id") Long id);
+
+  // Partition kaliti bilan - so'rov faqat bitta partition'ga boradi
+  @Query("SELECT p FROM ProductEntity p WHERE p.id = :id AND p.category = :category AND p.isActive = true")
+  Optional<ProductEntity> findByIdAndCategoryAndActive(@Param("id") Long id,
+      @Param("category") String category);
+
+  // DTO projection'lar - faqat o'qish uchun
+
+  @Transactional(readOnly = true)
+  @Query(RESPONSE_DTO + " WHERE p.id = :id AND p.isActive = true")
+  Optional<ProductResponseDto> findDtoByIdAndActive(@Param("id") Long id);
+
+  @Transactional(readOnly = true)
+  @Query(RESPONSE_DTO + " WHERE p.id = :id AND p.category = :category AND p.isActive = true")
+  Optional<ProductResponseDto> findDtoByIdAndCategoryAndActive(@Param("id") Long id,
+      @Param("category") String category);
+
+  @Transactional(readOnly = true)
+  @Query(value = RESPONSE_DTO + " WHERE p.isActive = true",
+      countQuery = "SELECT COUNT(p) FROM ProductEntity p WHERE p.isActive = true")
+  Page<ProductResponseDto> findAllActiveDtos(Pageable pageable);
+
+  @Transactional(readOnly = true)
+  @Query(value = RESPONSE_DTO + " WHERE p.category = :category AND p.isActive = true",
+      countQuery = "SELECT COUNT(p) FROM ProductEntity p WHERE p.category = :category AND p.isActive = true")
+  Page<ProductResponseDto> findActiveDtosByCategory(@Param("category") String category, Pageable pageable);
+
+  @Transactional(readOnly = true)
+  @Query(RESPONSE_DTO + " WHERE p.id IN :ids AND p.isActive = true")
+  List<ProductResponseDto> findAllActiveDtosByIdIn(@Param("ids") Collection<Long> ids);
 }
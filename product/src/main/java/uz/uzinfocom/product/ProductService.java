@@ -1,12 +1,19 @@
 package uz.uzinfocom.product;
 
 import java.io.InputStream;
+import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import org.springframework.web.multipart.MultipartFile;
+import uz.uzinfocom.product.dto.CursorPageDto;
+import uz.uzinfocom.product.dto.ProductBatchDto;
+import uz.uzinfocom.product.dto.ProductFacetsDto;
+import uz.uzinfocom.product.dto.ProductImageDto;
 import uz.uzinfocom.product.dto.ProductRequestDto;
 import uz.uzinfocom.product.dto.ProductResponseDto;
+import uz.uzinfocom.product.image.ImageVariant;
+import uz.uzinfocom.product.minio.ObjectContent;
 
 public interface ProductService {
 
@@ -14,10 +21,19 @@ public interface ProductService {
 
   ProductResponseDto getProductById(Long id);
 
+  ProductBatchDto getProductsByIds(List<Long> ids);
+
+  ProductFacetsDto getFacets(String category);
+
   Page<ProductResponseDto> getAllProducts(Pageable pageable);
 
   Page<ProductResponseDto> getProductsByCategory(String category, Pageable pageable);
 
+  CursorPageDto<ProductResponseDto> getProductsByCursor(String category, String cursor,
+      String sortBy, String direction, int size);
+
+  Page<ProductResponseDto> searchProducts(String query, Pageable pageable);
+
   ProductResponseDto updateProduct(Long id, ProductRequestDto requestDto);
 
   void deleteProduct(Long id);
@@ -26,5 +42,11 @@ public interface ProductService {
 
   InputStream getProductImage(Long productId);
 
+  ProductImageDto getProductImageInfo(Long productId, ImageVariant variant);
+
+  String getProductImageUrl(Long productId, ImageVariant variant);
+
+  ObjectContent openProductImage(ProductImageDto image, long offset, long length);
+
   void deleteProductImage(Long productId);
 }
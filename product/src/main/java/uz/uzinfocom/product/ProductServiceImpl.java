@@ -1,21 +1,51 @@
 package uz.uzinfocom.product;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.transaction.Transactional;
 import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
+import uz.uzinfocom.product.cache.ProductNegativeCache;
+import uz.uzinfocom.product.cache.ProductPageCache;
+import uz.uzinfocom.product.cache.TwoTierCache;
+import uz.uzinfocom.product.cache.TwoTierCacheManager;
+import uz.uzinfocom.product.dto.CursorPageDto;
+import uz.uzinfocom.product.dto.ProductBatchDto;
+import uz.uzinfocom.product.dto.ProductFacetsDto;
+import uz.uzinfocom.product.dto.ProductImageDto;
 import uz.uzinfocom.product.dto.ProductRequestDto;
 import uz.uzinfocom.product.dto.ProductResponseDto;
+import uz.uzinfocom.product.facet.ProductFacets;
+import uz.uzinfocom.product.image.ImageVariant;
+import uz.uzinfocom.product.image.ProductImageStore;
+import uz.uzinfocom.product.kafka.ProductEventProducer;
+import uz.uzinfocom.product.minio.MinioObjectInfo;
 import uz.uzinfocom.product.minio.MinioService;
+import uz.uzinfocom.product.minio.ObjectContent;
+import uz.uzinfocom.product.minio.PresignedUrlService;
+import uz.uzinfocom.product.partition.ProductCategoryIndex;
+import uz.uzinfocom.product.search.ProductSearchIndex;
+import uz.uzinfocom.product.search.ProductSearchIndexSync;
+import uz.uzinfocom.product.support.AfterCommit;
 
 @Service
 @Slf4j
@@ -24,7 +54,20 @@ public class ProductServiceImpl implements ProductService{
 
   private final ProductRepository productRepository;
   private final MinioService minioService;
-
+  private final ProductPageCache productPageCache;
+  private final ProductSearchIndex productSearchIndex;
+  private final ProductSearchIndexSync productSearchIndexSync;
+  private final ProductImageStore productImageStore;
+  private final TransactionTemplate transactionTemplate;
+  private final MeterRegistry meterRegistry;
+  private final PresignedUrlService presignedUrlService;
+  private final TwoTierCacheManager cacheManager;
+  private final ProductCategoryIndex productCategoryIndex;
+  private final ProductFacets productFacets;
+  private final ProductNegativeCache productNegativeCache;
+  private final ProductEventProducer productEventProducer;
+
+  private static final String PRODUCTS_CACHE = "products";
   private static final long MAX_FILE_SIZE = 5 * 1024 * 1024; // 5MB
   private static final List<String> ALLOWED_IMAGE_TYPES = Arrays.asList(
       "image/jpeg", "image/jpg", "image/png", "image/gif", "image/webp"
@@ -43,47 +86,160 @@ public class ProductServiceImpl implements ProductService{
     product.setIsActive(true);
 
     ProductEntity savedProduct = productRepository.save(product);
+    productPageCache.invalidate(savedProduct.getCategory());
+    productNegativeCache.invalidate(savedProduct.getId());
+    productEventProducer.sendCreated(savedProduct);
+    AfterCommit.run(() -> {
+      productSearchIndexSync.put(savedProduct.getId(), savedProduct.getName());
+      productCategoryIndex.put(savedProduct.getId(), savedProduct.getCategory());
+      productFacets.add(savedProduct.getId(), savedProduct.getUpdatedAt(),
+          savedProduct.getCategory(), savedProduct.getPrice());
+    });
     log.info("Product created successfully with ID: {}", savedProduct.getId());
 
     return mapToResponseDto(savedProduct);
   }
 
-  @Cacheable(value = "products", key = "#id")
+  // sync: miss'da kalitni bitta thread (va lease orqali bitta instance) yuklaydi
+  @Cacheable(value = "products", key = "#id", sync = true)
   @Override
   public ProductResponseDto getProductById(Long id) {
     log.info("Fetching product with ID: {}", id);
-    ProductEntity product = productRepository.findByIdAndActive(id)
-        .orElseThrow(() -> new RuntimeException("Product not found with ID: " + id));
+    // "products" keshida yo'q - avval topilmaganlar keshini tekshiramiz
+    if (productNegativeCache.isMissing(id)) {
+      throw new ProductNotFoundException(id);
+    }
+    Optional<ProductResponseDto> product = findActiveProductDto(id);
+    if (product.isEmpty()) {
+      productNegativeCache.markMissing(id);
+      throw new ProductNotFoundException(id);
+    }
+
+    return product.get();
+  }
+
+  @Override
+  public ProductBatchDto getProductsByIds(List<Long> ids) {
+    log.info("Fetching {} products by IDs", ids.size());
+
+    Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+    uniqueIds.remove(null);
+    Map<Long, ProductResponseDto> products = findProducts(uniqueIds);
+    List<ProductResponseDto> found = new ArrayList<>(products.size());
+    List<Long> missing = new ArrayList<>();
+    for (Long id : uniqueIds) {
+      ProductResponseDto product = products.get(id);
+      if (product != null) {
+        found.add(product);
+      } else {
+        missing.add(id);
+      }
+    }
+    return new ProductBatchDto(found, missing);
+  }
+
+  /**
+   * "products" keshidan bitta MGET, qolganlari bitta IN so'rov bilan,
+   * topilganlari keshga pipeline orqali yoziladi. Round-trip soni id'lar soniga bog'liq emas.
+   */
+  private Map<Long, ProductResponseDto> findProducts(Collection<Long> ids) {
+    Map<Long, ProductResponseDto> products = new HashMap<>();
+    if (ids.isEmpty()) {
+      return products;
+    }
+    TwoTierCache cache = cacheManager.getCache(PRODUCTS_CACHE);
+    cache.getAll(ids).forEach((key, value) -> products.put((Long) key, (ProductResponseDto) value));
+
+    List<Long> misses = ids.stream().filter(id -> !products.containsKey(id)).toList();
+    if (misses.isEmpty()) {
+      return products;
+    }
+    Set<Long> knownMissing = productNegativeCache.findMissing(misses);
+    misses = misses.stream().filter(id -> !knownMissing.contains(id)).toList();
+    if (misses.isEmpty()) {
+      return products;
+    }
+    Map<Long, ProductResponseDto> loaded = new HashMap<>();
+    for (ProductResponseDto product : productRepository.findAllActiveDtosByIdIn(misses)) {
+      loaded.put(product.getId(), product);
+    }
+    cache.putAll(loaded);
+    productNegativeCache.markMissing(misses.stream().filter(id -> !loaded.containsKey(id)).toList());
+    products.putAll(loaded);
+    return products;
+  }
 
-    return mapToResponseDto(product);
+  @Override
+  public ProductFacetsDto getFacets(String category) {
+    return productFacets.snapshot(category);
   }
 
   @Override
   public Page<ProductResponseDto> getAllProducts(Pageable pageable) {
     log.info("Fetching all active products with pagination: {}", pageable);
 
-    Page<ProductEntity> products = productRepository.findAllActiveProducts(pageable);
-
-    return products.map(this::mapToResponseDto);
+    return productPageCache.get(null, pageable, () ->
+        productRepository.findAllActiveDtos(pageable));
   }
 
   @Override
   public Page<ProductResponseDto> getProductsByCategory(String category, Pageable pageable) {
     log.info("Fetching products by category: {} with pagination: {}", category, pageable);
 
-    Page<ProductEntity> products = productRepository.findActiveByCategoryProducts(category, pageable);
+    return productPageCache.get(category, pageable, () ->
+        productRepository.findActiveDtosByCategory(category, pageable));
+  }
+
+  @Override
+  public CursorPageDto<ProductResponseDto> getProductsByCursor(String category, String cursor,
+      String sortBy, String direction, int size) {
+    log.info("Fetching products by cursor - category: {}, sortBy: {}, size: {}", category, sortBy, size);
+
+    ProductCursor position = cursor != null
+        ? ProductCursor.decode(cursor)
+        : ProductCursor.first(sortBy, direction);
+
+    Window<ProductResponseDto> window = productRepository.scrollActiveDtos(category, position, size);
+
+    List<ProductResponseDto> content = window.getContent();
+    String nextCursor = window.hasNext() && !window.isEmpty()
+        ? position.next(content.get(content.size() - 1))
+        : null;
 
-    return products.map(this::mapToResponseDto);
+    return new CursorPageDto<>(content, content.size(), nextCursor != null, nextCursor);
   }
 
-  @CacheEvict(value = "products", key = "#id")
+  @Override
+  public Page<ProductResponseDto> searchProducts(String query, Pageable pageable) {
+    log.info("Searching products: '{}' with pagination: {}", query, pageable);
+
+    List<Long> ids = productSearchIndex.search(query);
+    int from = (int) Math.min(pageable.getOffset(), ids.size());
+    int to = Math.min(from + pageable.getPageSize(), ids.size());
+    List<Long> pageIds = ids.subList(from, to);
+
+    // Index tartibini saqlash
+    Map<Long, ProductResponseDto> products = findProducts(pageIds);
+    List<ProductResponseDto> content = new ArrayList<>(pageIds.size());
+    for (Long id : pageIds) {
+      ProductResponseDto product = products.get(id);
+      if (product != null) {
+        content.add(product);
+      }
+    }
+    return new PageImpl<>(content, pageable, ids.size());
+  }
+
+  @CacheEvict(value = {"products", ProductNegativeCache.CACHE_NAME}, key = "#id")
   @Override
   @Transactional
   public ProductResponseDto updateProduct(Long id, ProductRequestDto requestDto) {
     log.info("Updating product with ID: {}", id);
 
-    ProductEntity product = productRepository.findByIdAndActive(id)
-        .orElseThrow(() -> new RuntimeException("Product not found with ID: " + id));
+    ProductEntity product = findActiveProduct(id)
+        .orElseThrow(() -> new ProductNotFoundException(id));
+    String oldCategory = product.getCategory();
+    BigDecimal oldPrice = product.getPrice();
 
     product.setName(requestDto.getName());
     product.setPrice(requestDto.getPrice());
@@ -91,6 +247,14 @@ public class ProductServiceImpl implements ProductService{
     product.setDescription(requestDto.getDescription());
 
     ProductEntity updatedProduct = productRepository.save(product);
+    productPageCache.invalidate(oldCategory, updatedProduct.getCategory());
+    productEventProducer.sendUpdated(updatedProduct);
+    AfterCommit.run(() -> {
+      productSearchIndexSync.put(updatedProduct.getId(), updatedProduct.getName());
+      productCategoryIndex.put(updatedProduct.getId(), updatedProduct.getCategory());
+      productFacets.update(updatedProduct.getId(), updatedProduct.getUpdatedAt(), oldCategory, oldPrice,
+          updatedProduct.getCategory(), updatedProduct.getPrice());
+    });
     log.info("Product updated successfully with ID: {}", updatedProduct.getId());
 
     return mapToResponseDto(updatedProduct);
@@ -102,64 +266,81 @@ public class ProductServiceImpl implements ProductService{
   public void deleteProduct(Long id) {
     log.info("Deleting product with ID: {}", id);
 
-    ProductEntity product = productRepository.findByIdAndActive(id)
-        .orElseThrow(() -> new RuntimeException("Product not found with ID: " + id));
+    ProductEntity product = findActiveProduct(id)
+        .orElseThrow(() -> new ProductNotFoundException(id));
 
     // Soft delete
     product.setIsActive(false);
     productRepository.save(product);
+    productPageCache.invalidate(product.getCategory());
+    productEventProducer.sendDeleted(id);
+    AfterCommit.run(() -> {
+      productSearchIndexSync.remove(id);
+      productFacets.remove(id, product.getUpdatedAt(), product.getCategory(), product.getPrice());
+    });
 
     log.info("Product deleted successfully with ID: {}", id);
   }
 
   @CacheEvict(value = "products", key = "#productId")
   @Override
-  @Transactional
   public ProductResponseDto uploadProductImage(Long productId, MultipartFile file) {
     log.info("Uploading image for product ID: {}", productId);
 
-    // Product mavjudligini tekshirish
-    ProductEntity productEntity = productRepository.findByIdAndActive(productId)
-        .orElseThrow(() -> new RuntimeException("Product not found with ID: " + productId));
-
     // Fayl validatsiyasi
     validateImageFile(file);
 
-    // Eski rasmni o'chirish (agar mavjud bo'lsa)
-    if (productEntity.getImageName() != null) {
-      try {
-        minioService.deleteFile(productEntity.getImageName());
-      } catch (Exception e) {
-        log.warn("Could not delete old image: {}", productEntity.getImageName(), e);
-      }
+    // Product mavjudligini tekshirish - yo'q product uchun MinIO'ga yozmaymiz
+    if (findActiveProduct(productId).isEmpty()) {
+      throw new ProductNotFoundException(productId);
     }
 
-    // Yangi fayl nomini generatsiya qilish
-    String originalFilename = file.getOriginalFilename();
-    String fileExtension = originalFilename != null ?
-        originalFilename.substring(originalFilename.lastIndexOf(".")) : ".jpg";
-    String objectName = "products/" + productId + "/" + UUID.randomUUID() + fileExtension;
+    // MinIO'ga yozish tranzaksiyadan tashqarida: baytlar uzatilayotganda DB ulanishi band qilinmaydi
+    String objectName = meterRegistry.timer("product.image.upload", "phase", "store")
+        .record(() -> productImageStore.store(file));
+    String contentType = file.getContentType();
 
-    // MinIO'ga yuklash
-    minioService.uploadFile(file, objectName);
+    try {
+      ProductEntity updatedProduct = meterRegistry.timer("product.image.upload", "phase", "db")
+          .record(() -> transactionTemplate.execute(status -> attachImage(productId, objectName, contentType)));
+      log.info("Image uploaded successfully for product ID: {}", productId);
+      return mapToResponseDto(updatedProduct);
+    } catch (RuntimeException e) {
+      // Hech kim murojaat qilmasa, yangi obyekt ham tozalanadi
+      productImageStore.releaseAfterCommit(objectName, contentType);
+      throw e;
+    } finally {
+      // Tranzaksiya tugadi - endi obyektni DB'dagi murojaat (yoki uning yo'qligi) himoya qiladi
+      productImageStore.unpin(objectName);
+    }
+  }
+
+  private ProductEntity attachImage(Long productId, String objectName, String contentType) {
+    ProductEntity productEntity = findActiveProduct(productId)
+        .orElseThrow(() -> new ProductNotFoundException(productId));
+    String oldImageName = productEntity.getImageName();
+    String oldContentType = productEntity.getImageContentType();
 
-    // Product'ni yangilash
     productEntity.setImageName(objectName);
-    productEntity.setImageUrl(minioService.getFileUrl(objectName));
-    productEntity.setImageContentType(file.getContentType());
+    productEntity.setImageUrl(ProductResponseDto.imageUrl(productId));
+    productEntity.setImageContentType(contentType);
 
     ProductEntity updatedProduct = productRepository.save(productEntity);
-    log.info("Image uploaded successfully for product ID: {}", productId);
+    productPageCache.invalidate(updatedProduct.getCategory());
 
-    return mapToResponseDto(updatedProduct);
+    // Eski rasm commit'dan keyin fonda o'chiriladi
+    if (!objectName.equals(oldImageName)) {
+      productImageStore.releaseAfterCommit(oldImageName, oldContentType);
+    }
+    return updatedProduct;
   }
 
   @Override
   public InputStream getProductImage(Long productId) {
     log.info("Getting image for product ID: {}", productId);
 
-    ProductEntity productEntity = productRepository.findByIdAndActive(productId)
-        .orElseThrow(() -> new RuntimeException("Product not found with ID: " + productId));
+    ProductEntity productEntity = findActiveProduct(productId)
+        .orElseThrow(() -> new ProductNotFoundException(productId));
 
     if (productEntity.getImageName() == null) {
       throw new RuntimeException("Product has no image");
@@ -168,21 +349,70 @@ public class ProductServiceImpl implements ProductService{
     return minioService.getFile(productEntity.getImageName());
   }
 
+  @Override
+  public ProductImageDto getProductImageInfo(Long productId, ImageVariant variant) {
+    ProductEntity productEntity = findActiveProduct(productId)
+        .orElseThrow(() -> new ProductNotFoundException(productId));
+
+    if (productEntity.getImageName() == null) {
+      throw new RuntimeException("Product has no image");
+    }
+
+    // Variant hali yaratilmagan bo'lsa - to'liq rasm
+    if (variant != ImageVariant.FULL) {
+      String variantName = variant.objectName(productEntity.getImageName(),
+          productEntity.getImageContentType());
+      Optional<MinioObjectInfo> variantInfo = minioService.findFile(variantName);
+      if (variantInfo.isPresent()) {
+        return toImageDto(variantInfo.get(), variantInfo.get().getContentType());
+      }
+      log.debug("Image variant {} not ready for product ID: {}", variant, productId);
+    }
+
+    MinioObjectInfo info = minioService.statFile(productEntity.getImageName());
+    String contentType = productEntity.getImageContentType() != null
+        ? productEntity.getImageContentType()
+        : info.getContentType();
+    return toImageDto(info, contentType);
+  }
+
+  @Override
+  public String getProductImageUrl(Long productId, ImageVariant variant) {
+    String objectName;
+    if (variant == ImageVariant.FULL) {
+      ProductEntity productEntity = findActiveProduct(productId)
+          .orElseThrow(() -> new ProductNotFoundException(productId));
+      if (productEntity.getImageName() == null) {
+        throw new RuntimeException("Product has no image");
+      }
+      objectName = productEntity.getImageName();
+    } else {
+      objectName = getProductImageInfo(productId, variant).getObjectName();
+    }
+    meterRegistry.counter("product.image.redirects", "variant", variant.name().toLowerCase()).increment();
+    return presignedUrlService.getUrl(objectName);
+  }
+
+  @Override
+  public ObjectContent openProductImage(ProductImageDto image, long offset, long length) {
+    return minioService.openFile(image.getObjectName(), offset, length, image.getSize());
+  }
+
   @CacheEvict(value = "products", key = "#productId")
   @Override
   @Transactional
   public void deleteProductImage(Long productId) {
     log.info("Deleting image for product ID: {}", productId);
 
-    ProductEntity productEntity = productRepository.findByIdAndActive(productId)
-        .orElseThrow(() -> new RuntimeException("Product not found with ID: " + productId));
+    ProductEntity productEntity = findActiveProduct(productId)
+        .orElseThrow(() -> new ProductNotFoundException(productId));
 
     if (productEntity.getImageName() == null) {
       throw new RuntimeException("Product has no image to delete");
     }
 
-    // MinIO'dan o'chirish
-    minioService.deleteFile(productEntity.getImageName());
+    // Boshqa productlar ham ishlatmasa, MinIO'dan commit'dan keyin fonda o'chiriladi
+    productImageStore.releaseAfterCommit(productEntity.getImageName(), productEntity.getImageContentType());
 
     // Product'dan o'chirish
     productEntity.setImageName(null);
@@ -190,6 +420,7 @@ public class ProductServiceImpl implements ProductService{
     productEntity.setImageContentType(null);
 
     productRepository.save(productEntity);
+    productPageCache.invalidate(productEntity.getCategory());
     log.info("Image deleted successfully for product ID: {}", productId);
   }
 
@@ -214,6 +445,44 @@ public class ProductServiceImpl implements ProductService{
     }
   }
 
+  /**
+   * Category ma'lum bo'lsa so'rov partition kaliti bilan (bitta partition) bajariladi.
+   * Topilmasa (category boshqa node'da o'zgargan bo'lishi mumkin) - barcha partition'lar bo'yicha.
+   */
+  private Optional<ProductEntity> findActiveProduct(Long id) {
+    String category = productCategoryIndex.get(id);
+    if (category != null) {
+      Optional<ProductEntity> product = productRepository.findByIdAndCategoryAndActive(id, category);
+      if (product.isPresent()) {
+        return product;
+      }
+    }
+    Optional<ProductEntity> product = productRepository.findByIdAndActive(id);
+    product.ifPresent(p -> productCategoryIndex.put(p.getId(), p.getCategory()));
+    return product;
+  }
+
+  /**
+   * findActiveProduct'ning faqat o'qish uchun varianti: DTO to'g'ridan-to'g'ri so'rovdan olinadi.
+   */
+  private Optional<ProductResponseDto> findActiveProductDto(Long id) {
+    String category = productCategoryIndex.get(id);
+    if (category != null) {
+      Optional<ProductResponseDto> product = productRepository.findDtoByIdAndCategoryAndActive(id, category);
+      if (product.isPresent()) {
+        return product;
+      }
+    }
+    Optional<ProductResponseDto> product = productRepository.findDtoByIdAndActive(id);
+    product.ifPresent(p -> productCategoryIndex.put(p.getId(), p.getCategory()));
+    return product;
+  }
+
+  private ProductImageDto toImageDto(MinioObjectInfo info, String contentType) {
+    return new ProductImageDto(info.getObjectName(), contentType, info.getSize(),
+        info.getEtag(), info.getLastModified().toEpochMilli());
+  }
+
   // Helper method
   private ProductResponseDto mapToResponseDto(ProductEntity product) {
     ProductResponseDto dto = new ProductResponseDto();
@@ -223,7 +492,7 @@ public class ProductServiceImpl implements ProductService{
     dto.setCategory(product.getCategory());
     dto.setDescription(product.getDescription());
     dto.setImageName(product.getImageName());
-    dto.setImageUrl(product.getImageUrl());
+    dto.setImageUrl(product.getImageName() != null ? ProductResponseDto.imageUrl(product.getId()) : null);
     dto.setImageContentType(product.getImageContentType());
     dto.setCreatedAt(product.getCreatedAt());
     dto.setUpdatedAt(product.getUpdatedAt());
@@ -0,0 +1,143 @@
+package uz.uzinfocom.product.bulk;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import uz.uzinfocom.product.dto.ProductRequestDto;
+
+/**
+ * RFC 4180 CSV: birinchi qator - sarlavha (name, price, category, description, tartibi ixtiyoriy).
+ * Qo'shtirnoq ichidagi vergul, qator ko'chishi va "" qo'llab-quvvatlanadi.
+ */
+public class CsvProductRowReader extends ProductRowReader {
+
+  private static final String NAME = "name";
+  private static final String PRICE = "price";
+  private static final String CATEGORY = "category";
+  private static final String DESCRIPTION = "description";
+
+  private final List<String> fields = new ArrayList<>();
+  private final StringBuilder field = new StringBuilder();
+  private Map<String, Integer> columns;
+
+  public CsvProductRowReader(Reader reader, int maxRecordLength) {
+    super(reader, maxRecordLength);
+  }
+
+  @Override
+  public ProductRow next() throws IOException {
+    if (columns == null) {
+      readHeader();
+    }
+    while (true) {
+      long current = line;
+      String error = readRecord();
+      if (error != null) {
+        return ProductRow.error(current, error);
+      }
+      if (fields.isEmpty()) {
+        return null;
+      }
+      if (fields.size() == 1 && fields.get(0).isBlank()) {
+        continue;
+      }
+      return toRow(current);
+    }
+  }
+
+  private void readHeader() throws IOException {
+    if (readRecord() != null || fields.isEmpty()) {
+      throw new IllegalArgumentException("CSV header is missing or invalid");
+    }
+    columns = new HashMap<>();
+    for (int i = 0; i < fields.size(); i++) {
+      columns.put(fields.get(i).trim().toLowerCase(Locale.ROOT), i);
+    }
+    for (String required : List.of(NAME, PRICE, CATEGORY)) {
+      if (!columns.containsKey(required)) {
+        throw new IllegalArgumentException("CSV header must contain column: " + required);
+      }
+    }
+  }
+
+  private ProductRow toRow(long current) {
+    BigDecimal price;
+    try {
+      String value = column(PRICE);
+      price = value != null && !value.isBlank() ? new BigDecimal(value.trim()) : null;
+    } catch (NumberFormatException e) {
+      return ProductRow.error(current, "Invalid price: " + column(PRICE));
+    }
+    return ProductRow.of(current,
+        new ProductRequestDto(column(CATEGORY), column(NAME), column(DESCRIPTION), price));
+  }
+
+  private String column(String name) {
+    Integer index = columns.get(name);
+    return index != null && index < fields.size() ? fields.get(index) : null;
+  }
+
+  /**
+   * Bitta yozuvni fields'ga o'qiydi. Oqim tugagan bo'lsa fields bo'sh qoladi.
+   *
+   * @return xato matni yoki null
+   */
+  private String readRecord() throws IOException {
+    fields.clear();
+    field.setLength(0);
+    boolean quoted = false;
+    boolean any = false;
+    int length = 0;
+    int c;
+    while ((c = reader.read()) != -1) {
+      any = true;
+      if (++length > maxRecordLength) {
+        if (c != '\n') {
+          skipLine();
+        } else {
+          line++;
+        }
+        return "Record exceeds " + maxRecordLength + " characters";
+      }
+      if (quoted) {
+        if (c == '"') {
+          reader.mark(1);
+          int nextChar = reader.read();
+          if (nextChar == '"') {
+            field.append('"');
+          } else {
+            quoted = false;
+            reader.reset();
+          }
+        } else {
+          if (c == '\n') {
+            line++;
+          }
+          field.append((char) c);
+        }
+      } else if (c == '"' && field.length() == 0) {
+        quoted = true;
+      } else if (c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else if (c == '\n') {
+        line++;
+        break;
+      } else if (c != '\r') {
+        field.append((char) c);
+      }
+    }
+    if (quoted) {
+      return "Unterminated quoted field";
+    }
+    if (any) {
+      fields.add(field.toString());
+    }
+    return null;
+  }
+}
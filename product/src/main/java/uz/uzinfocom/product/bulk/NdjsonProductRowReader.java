@@ -0,0 +1,55 @@
+package uz.uzinfocom.product.bulk;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.IOException;
+import java.io.Reader;
+import uz.uzinfocom.product.dto.ProductRequestDto;
+
+/**
+ * Har bir qatorda bitta JSON obyekt (NDJSON). Bo'sh qatorlar o'tkazib yuboriladi.
+ */
+public class NdjsonProductRowReader extends ProductRowReader {
+
+  private final ObjectReader objectReader;
+  private final StringBuilder buffer = new StringBuilder();
+
+  public NdjsonProductRowReader(Reader reader, ObjectMapper objectMapper, int maxRecordLength) {
+    super(reader, maxRecordLength);
+    this.objectReader = objectMapper.readerFor(ProductRequestDto.class);
+  }
+
+  @Override
+  public ProductRow next() throws IOException {
+    while (true) {
+      buffer.setLength(0);
+      long current = line;
+      int c;
+      while ((c = reader.read()) != -1 && c != '\n') {
+        if (buffer.length() == maxRecordLength) {
+          skipLine();
+          return ProductRow.error(current, "Line exceeds " + maxRecordLength + " characters");
+        }
+        buffer.append((char) c);
+      }
+      if (c == -1 && buffer.length() == 0) {
+        return null;
+      }
+      line++;
+      if (buffer.toString().isBlank()) {
+        continue;
+      }
+      try {
+        ProductRequestDto product = objectReader.readValue(buffer.toString());
+        // "null" qatori xatosiz null beradi
+        if (product == null) {
+          return ProductRow.error(current, "row must be a JSON object");
+        }
+        return ProductRow.of(current, product);
+      } catch (JsonProcessingException e) {
+        return ProductRow.error(current, "Invalid JSON: " + e.getOriginalMessage());
+      }
+    }
+  }
+}
@@ -0,0 +1,20 @@
+package uz.uzinfocom.product.bulk;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "product.import")
+public class ProductImportProperties {
+
+  // Bitta tranzaksiyada yoziladigan qatorlar soni
+  private int chunkSize = 500;
+
+  // Javobda qaytariladigan xatolar soni chegarasi
+  private int maxErrors = 1000;
+
+  // Bitta NDJSON qatori / CSV yozuvining maksimal uzunligi (belgi)
+  private int maxRecordLength = 64 * 1024;
+}
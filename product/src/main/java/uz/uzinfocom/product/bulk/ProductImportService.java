@@ -0,0 +1,224 @@
+package uz.uzinfocom.product.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import uz.uzinfocom.product.ProductEntity;
+import uz.uzinfocom.product.ProductRepository;
+import uz.uzinfocom.product.cache.ProductPageCache;
+import uz.uzinfocom.product.dto.ProductImportResultDto;
+import uz.uzinfocom.product.dto.ProductImportResultDto.RowError;
+import uz.uzinfocom.product.dto.ProductRequestDto;
+import uz.uzinfocom.product.facet.ProductFacets;
+import uz.uzinfocom.product.kafka.ProductEventProducer;
+import uz.uzinfocom.product.partition.ProductCategoryIndex;
+import uz.uzinfocom.product.search.ProductSearchIndex;
+import uz.uzinfocom.product.search.ProductSearchIndexSync;
+
+/**
+ * NDJSON/CSV oqimidan productlarni ommaviy import qiladi.
+ * Oqim qatorma-qator o'qiladi, har chunk alohida tranzaksiyada JDBC batch insert bilan yoziladi
+ * (id'lar pooled sequence'dan olinadi). Xotirada bir vaqtda faqat bitta chunk turadi.
+ */
+@Slf4j
+@Service
+public class ProductImportService {
+
+  public static final String NDJSON = "application/x-ndjson";
+  public static final String CSV = "text/csv";
+
+  // products jadvali faqat shu category'lar bo'yicha LIST-partition qilingan
+  private static final Set<String> CATEGORIES = Set.of("ELECTRONICS", "BOOKS", "FOOD", "OTHERS");
+
+  private final ProductRepository productRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final ProductSearchIndex productSearchIndex;
+  private final ProductSearchIndexSync productSearchIndexSync;
+  private final ProductCategoryIndex productCategoryIndex;
+  private final ProductFacets productFacets;
+  private final ProductPageCache productPageCache;
+  private final ObjectMapper objectMapper;
+  private final ProductImportProperties properties;
+  private final ProductEventProducer productEventProducer;
+
+  private final Counter importedRows;
+  private final Counter failedRows;
+
+  public ProductImportService(ProductRepository productRepository,
+      TransactionTemplate transactionTemplate, ProductSearchIndex productSearchIndex,
+      ProductSearchIndexSync productSearchIndexSync,
+      ProductCategoryIndex productCategoryIndex, ProductFacets productFacets,
+      ProductPageCache productPageCache, ObjectMapper objectMapper,
+      ProductImportProperties properties, ProductEventProducer productEventProducer,
+      MeterRegistry meterRegistry) {
+    this.productRepository = productRepository;
+    this.transactionTemplate = transactionTemplate;
+    this.productSearchIndex = productSearchIndex;
+    this.productSearchIndexSync = productSearchIndexSync;
+    this.productCategoryIndex = productCategoryIndex;
+    this.productFacets = productFacets;
+    this.productPageCache = productPageCache;
+    this.objectMapper = objectMapper;
+    this.properties = properties;
+    this.productEventProducer = productEventProducer;
+    this.importedRows = meterRegistry.counter("product.import.rows", "result", "imported");
+    this.failedRows = meterRegistry.counter("product.import.rows", "result", "failed");
+  }
+
+  public ProductImportResultDto importProducts(InputStream body, MediaType contentType) {
+    long start = System.nanoTime();
+    Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+    Progress progress = new Progress();
+
+    try (ProductRowReader rows = openReader(new InputStreamReader(body, charset), contentType)) {
+      List<ProductRow> chunk = new ArrayList<>(properties.getChunkSize());
+      ProductRow row;
+      while ((row = rows.next()) != null) {
+        progress.total++;
+        String error = row.getError() != null ? row.getError() : validate(row.getProduct());
+        if (error != null) {
+          progress.fail(row.getLine(), error);
+          continue;
+        }
+        chunk.add(row);
+        if (chunk.size() == properties.getChunkSize()) {
+          write(chunk, progress);
+          chunk.clear();
+        }
+      }
+      if (!chunk.isEmpty()) {
+        write(chunk, progress);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Error reading import stream", e);
+    } finally {
+      // Oqim o'rtada uzilsa ham commit qilingan chunk'lar ko'rinishi kerak
+      if (!progress.categories.isEmpty()) {
+        productPageCache.invalidate(progress.categories.toArray(String[]::new));
+      }
+      // Qator-qator pub/sub o'rniga boshqa instance'lar index'ni bir marta qayta quradi
+      if (progress.imported > 0) {
+        productSearchIndexSync.requestReload();
+      }
+    }
+
+    long durationMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    log.info("Product import finished: {} rows, {} imported, {} failed in {} ms",
+        progress.total, progress.imported, progress.failed, durationMs);
+    return new ProductImportResultDto(progress.total, progress.imported, progress.failed,
+        durationMs, progress.imported * 1000 / durationMs, progress.errors,
+        progress.failed > progress.errors.size());
+  }
+
+  private ProductRowReader openReader(Reader reader, MediaType contentType) {
+    if (contentType.isCompatibleWith(MediaType.parseMediaType(CSV))) {
+      return new CsvProductRowReader(reader, properties.getMaxRecordLength());
+    }
+    if (contentType.isCompatibleWith(MediaType.parseMediaType(NDJSON))) {
+      return new NdjsonProductRowReader(reader, objectMapper, properties.getMaxRecordLength());
+    }
+    throw new IllegalArgumentException("Unsupported import content type: " + contentType);
+  }
+
+  private void write(List<ProductRow> chunk, Progress progress) {
+    try {
+      List<ProductEntity> saved = transactionTemplate.execute(status ->
+          productRepository.saveAll(chunk.stream().map(ProductRow::getProduct).map(this::toEntity).toList()));
+      progress.saved(saved);
+    } catch (DataAccessException | TransactionException e) {
+      // Chunk rad etildi - xatoli qatorlarni aniqlash uchun bittalab yoziladi
+      log.warn("Import chunk failed, retrying row by row: {}", e.getMostSpecificCause().getMessage());
+      for (ProductRow row : chunk) {
+        try {
+          ProductEntity saved = transactionTemplate.execute(status ->
+              productRepository.save(toEntity(row.getProduct())));
+          progress.saved(List.of(saved));
+        } catch (DataAccessException | TransactionException rowError) {
+          progress.fail(row.getLine(), rowError.getMostSpecificCause().getMessage());
+        }
+      }
+    }
+  }
+
+  private static String validate(ProductRequestDto product) {
+    if (product.getName() == null || product.getName().isBlank()) {
+      return "name is required";
+    }
+    if (product.getName().length() > 255) {
+      return "name exceeds 255 characters";
+    }
+    if (product.getPrice() == null) {
+      return "price is required";
+    }
+    if (product.getPrice().signum() < 0) {
+      return "price must not be negative";
+    }
+    if (product.getPrice().scale() > 2 || product.getPrice().precision() - product.getPrice().scale() > 17) {
+      return "price does not fit DECIMAL(19,2)";
+    }
+    if (!CATEGORIES.contains(product.getCategory())) {
+      return "category must be one of " + CATEGORIES;
+    }
+    if (product.getDescription() != null && product.getDescription().length() > 1000) {
+      return "description exceeds 1000 characters";
+    }
+    return null;
+  }
+
+  private ProductEntity toEntity(ProductRequestDto dto) {
+    ProductEntity product = new ProductEntity();
+    product.setName(dto.getName());
+    product.setPrice(dto.getPrice());
+    product.setCategory(dto.getCategory());
+    product.setDescription(dto.getDescription());
+    product.setIsActive(true);
+    return product;
+  }
+
+  private class Progress {
+
+    private long total;
+    private long imported;
+    private long failed;
+    private final List<RowError> errors = new ArrayList<>();
+    private final Set<String> categories = new HashSet<>();
+
+    void saved(List<ProductEntity> products) {
+      for (ProductEntity product : products) {
+        productSearchIndex.put(product.getId(), product.getName());
+        productCategoryIndex.put(product.getId(), product.getCategory());
+        productFacets.add(product.getId(), product.getUpdatedAt(), product.getCategory(), product.getPrice());
+        productEventProducer.sendCreated(product);
+        categories.add(product.getCategory());
+      }
+      imported += products.size();
+      importedRows.increment(products.size());
+    }
+
+    void fail(long line, String message) {
+      failed++;
+      failedRows.increment();
+      if (errors.size() < properties.getMaxErrors()) {
+        errors.add(new RowError(line, message));
+      }
+    }
+  }
+}
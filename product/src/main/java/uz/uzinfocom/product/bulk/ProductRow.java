@@ -0,0 +1,25 @@
+package uz.uzinfocom.product.bulk;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import uz.uzinfocom.product.dto.ProductRequestDto;
+
+/**
+ * Import oqimidagi bitta qator: o'qilgan product yoki parse xatosi.
+ */
+@Getter
+@AllArgsConstructor
+public class ProductRow {
+
+  private final long line;
+  private final ProductRequestDto product;
+  private final String error;
+
+  public static ProductRow of(long line, ProductRequestDto product) {
+    return new ProductRow(line, product, null);
+  }
+
+  public static ProductRow error(long line, String error) {
+    return new ProductRow(line, null, error);
+  }
+}
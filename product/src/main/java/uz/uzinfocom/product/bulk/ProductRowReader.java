@@ -0,0 +1,42 @@
+package uz.uzinfocom.product.bulk;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Import oqimini qatorma-qator o'qiydi; xotirada faqat joriy yozuv turadi.
+ */
+public abstract class ProductRowReader implements Closeable {
+
+  protected final Reader reader;
+  protected final int maxRecordLength;
+  protected long line = 1;
+
+  protected ProductRowReader(Reader reader, int maxRecordLength) {
+    this.reader = reader instanceof BufferedReader ? reader : new BufferedReader(reader);
+    this.maxRecordLength = maxRecordLength;
+  }
+
+  /**
+   * @return keyingi qator yoki oqim tugagan bo'lsa null
+   */
+  public abstract ProductRow next() throws IOException;
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+  /**
+   * Yozuv juda uzun bo'lsa, uning qolgan qismini keyingi qatorgacha tashlab yuboradi.
+   */
+  protected void skipLine() throws IOException {
+    int c;
+    while ((c = reader.read()) != -1 && c != '\n') {
+      // tashlab yuborish
+    }
+    line++;
+  }
+}
@@ -0,0 +1,49 @@
+package uz.uzinfocom.product.cache;
+
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * L1 invalidatsiyasini Redis pub/sub orqali barcha instance'larga tarqatadi.
+ * Xabar formati: {nodeId}|{cacheName}|{key}, key bo'lmasa butun kesh tozalanadi.
+ */
+@Slf4j
+public class CacheInvalidationPublisher {
+
+  static final String SEPARATOR = "|";
+
+  private final StringRedisTemplate redisTemplate;
+  private final String channel;
+  private final String nodeId = UUID.randomUUID().toString();
+
+  public CacheInvalidationPublisher(StringRedisTemplate redisTemplate, String channel) {
+    this.redisTemplate = redisTemplate;
+    this.channel = channel;
+  }
+
+  public void publishEvict(String cacheName, String key) {
+    publish(nodeId + SEPARATOR + cacheName + SEPARATOR + key);
+  }
+
+  public void publishClear(String cacheName) {
+    publish(nodeId + SEPARATOR + cacheName);
+  }
+
+  public String getNodeId() {
+    return nodeId;
+  }
+
+  public String getChannel() {
+    return channel;
+  }
+
+  private void publish(String message) {
+    try {
+      redisTemplate.convertAndSend(channel, message);
+    } catch (Exception e) {
+      // L1 TTL baribir eskirgan yozuvni o'chiradi
+      log.warn("Could not publish cache invalidation: {}", message, e);
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package uz.uzinfocom.product.cache;
+
+import java.time.Duration;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+/**
+ * Instance'lar orasida bitta kalitni faqat bittasi yuklashi uchun qisqa Redis lease (SET NX PX).
+ * Lease egasi yiqilsa, u timeout bilan o'zi bo'shaydi.
+ */
+@Slf4j
+public class CacheLoadLease {
+
+  private static final String KEY_PREFIX = "product-cache:lease:";
+
+  // Faqat o'z lease'imizni o'chiramiz - timeout'dan keyin boshqa node olgan bo'lishi mumkin
+  private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>(
+      "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+      Long.class);
+
+  private final StringRedisTemplate redisTemplate;
+  private final String nodeId;
+  private final Duration timeout;
+
+  public CacheLoadLease(StringRedisTemplate redisTemplate, String nodeId, Duration timeout) {
+    this.redisTemplate = redisTemplate;
+    this.nodeId = nodeId;
+    this.timeout = timeout;
+  }
+
+  /**
+   * Redis ishlamasa lease olingan deb hisoblanadi - yuklash to'xtab qolmasligi kerak.
+   */
+  public boolean tryAcquire(String cacheName, String key) {
+    try {
+      return Boolean.TRUE.equals(
+          redisTemplate.opsForValue().setIfAbsent(leaseKey(cacheName, key), nodeId, timeout));
+    } catch (Exception e) {
+      log.warn("Could not acquire cache load lease for {}::{}", cacheName, key, e);
+      return true;
+    }
+  }
+
+  public void release(String cacheName, String key) {
+    try {
+      redisTemplate.execute(RELEASE, List.of(leaseKey(cacheName, key)), nodeId);
+    } catch (Exception e) {
+      log.warn("Could not release cache load lease for {}::{}", cacheName, key, e);
+    }
+  }
+
+  /**
+   * Redis ishlamasa bo'sh deb hisoblanadi - kutayotganlar o'zi yuklaydi.
+   */
+  public boolean isHeld(String cacheName, String key) {
+    try {
+      return Boolean.TRUE.equals(redisTemplate.hasKey(leaseKey(cacheName, key)));
+    } catch (Exception e) {
+      log.warn("Could not check cache load lease for {}::{}", cacheName, key, e);
+      return false;
+    }
+  }
+
+  public Duration getTimeout() {
+    return timeout;
+  }
+
+  private static String leaseKey(String cacheName, String key) {
+    return KEY_PREFIX + cacheName + ":" + key;
+  }
+}
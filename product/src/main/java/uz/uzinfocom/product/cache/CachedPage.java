@@ -0,0 +1,21 @@
+package uz.uzinfocom.product.cache;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import uz.uzinfocom.product.dto.ProductResponseDto;
+
+/**
+ * Keshda saqlanadigan sahifa - PageImpl Jackson/codec uchun qulay emas.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CachedPage {
+
+  private List<ProductResponseDto> content;
+  private long totalElements;
+}
@@ -0,0 +1,43 @@
+package uz.uzinfocom.product.cache;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "product.cache")
+public class ProductCacheProperties {
+
+  // Redis (L2) yozuvlari uchun TTL
+  private Duration redisTtl = Duration.ofHours(1);
+
+  // true - binar codec bilan yozish, false - eski JSON formatda (o'qish ikkalasini ham qo'llaydi)
+  private boolean binaryValues = true;
+
+  // Listing/category sahifalari uchun TTL - eski generation yozuvlari shu muddatda o'chadi
+  private Duration pageTtl = Duration.ofMinutes(10);
+
+  // Topilmagan product id'lari uchun TTL. create/update yozuvni o'chiradi,
+  // TTL faqat poyga holatlarida eskirgan "yo'q" javobini chegaralaydi
+  private Duration negativeTtl = Duration.ofSeconds(30);
+
+  // JVM ichidagi (L1) kesh chegaralari
+  private long localMaximumSize = 10_000;
+  private Duration localTtl = Duration.ofSeconds(30);
+
+  // Kesh miss'da bitta kalitni instance'lar orasida faqat bittasi yuklaydi;
+  // qolganlari Redis'da qiymat paydo bo'lishini shu muddatgacha kutadi
+  private Duration loadLeaseTimeout = Duration.ofSeconds(2);
+  private Duration loadLeasePollInterval = Duration.ofMillis(25);
+
+  // Probabilistic early refresh (XFetch) koeffitsiyenti; 0 - o'chirilgan
+  private double earlyRefreshBeta = 1.0;
+  private int refreshWorkers = 2;
+  // Top-K issiq kalitlar Redis TTL tugashidan shuncha oldin fonda yangilanadi
+  private Duration hotKeyRefreshAhead = Duration.ofMinutes(1);
+
+  // Boshqa instance'larga L1 invalidatsiyasini yuborish kanali
+  private String invalidationChannel = "product-cache:invalidation";
+}
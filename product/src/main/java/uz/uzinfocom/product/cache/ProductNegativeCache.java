@@ -0,0 +1,106 @@
+package uz.uzinfocom.product.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import uz.uzinfocom.product.support.AfterCommit;
+
+/**
+ * Topilmagan (yo'q yoki o'chirilgan) product id'larini qisqa TTL bilan eslab qoladi,
+ * shunda mavjud bo'lmagan id bo'yicha har bir so'rov bazaga bormaydi.
+ * Yozuvlar "productMisses" keshida (L1 + Redis), product yaratilganda yoki o'zgarganda o'chiriladi.
+ */
+@Slf4j
+@Component
+public class ProductNegativeCache {
+
+  public static final String CACHE_NAME = "productMisses";
+  private static final Boolean MISSING = Boolean.TRUE;
+
+  private final TwoTierCacheManager cacheManager;
+  private final Counter hits;
+  private final Counter stores;
+
+  public ProductNegativeCache(TwoTierCacheManager cacheManager, MeterRegistry meterRegistry) {
+    this.cacheManager = cacheManager;
+    this.hits = meterRegistry.counter("product.cache.negative", "result", "hit");
+    this.stores = meterRegistry.counter("product.cache.negative", "result", "store");
+  }
+
+  public boolean isMissing(Long id) {
+    try {
+      if (cache().get(id) != null) {
+        hits.increment();
+        return true;
+      }
+    } catch (Exception e) {
+      log.warn("Could not read negative cache for product ID: {}", id, e);
+    }
+    return false;
+  }
+
+  /**
+   * @return berilgan id'lardan keshda "yo'q" deb belgilanganlari
+   */
+  public Set<Long> findMissing(Collection<Long> ids) {
+    if (ids.isEmpty()) {
+      return Set.of();
+    }
+    try {
+      Set<Long> missing = cache().getAll(ids).keySet().stream()
+          .map(Long.class::cast)
+          .collect(Collectors.toSet());
+      hits.increment(missing.size());
+      return missing;
+    } catch (Exception e) {
+      log.warn("Could not read negative cache for {} product IDs", ids.size(), e);
+      return Set.of();
+    }
+  }
+
+  public void markMissing(Long id) {
+    try {
+      cache().put(id, MISSING);
+      stores.increment();
+    } catch (Exception e) {
+      log.warn("Could not write negative cache for product ID: {}", id, e);
+    }
+  }
+
+  public void markMissing(Collection<Long> ids) {
+    if (ids.isEmpty()) {
+      return;
+    }
+    Map<Long, Boolean> values = new LinkedHashMap<>();
+    ids.forEach(id -> values.put(id, MISSING));
+    try {
+      cache().putAll(values);
+      stores.increment(values.size());
+    } catch (Exception e) {
+      log.warn("Could not write negative cache for {} product IDs", ids.size(), e);
+    }
+  }
+
+  /**
+   * Tranzaksiya ichida chaqirilsa, commit'dan keyin bajariladi.
+   */
+  public void invalidate(Long id) {
+    AfterCommit.run(() -> {
+      try {
+        cache().evict(id);
+      } catch (Exception e) {
+        log.warn("Could not evict negative cache for product ID: {}", id, e);
+      }
+    });
+  }
+
+  private TwoTierCache cache() {
+    return cacheManager.getCache(CACHE_NAME);
+  }
+}
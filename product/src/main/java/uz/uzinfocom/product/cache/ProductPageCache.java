@@ -0,0 +1,97 @@
+package uz.uzinfocom.product.cache;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import uz.uzinfocom.product.dto.ProductResponseDto;
+import uz.uzinfocom.product.support.AfterCommit;
+
+/**
+ * Listing va category sahifalarini keshlaydi.
+ * Kalit ichida category "generation" raqami bor: product yozilganda generation oshiriladi
+ * va eski sahifalar hech qachon o'qilmaydi (TTL bilan o'zi o'chadi). Key scan yoki bulk delete yo'q.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductPageCache {
+
+  public static final String CACHE_NAME = "productPages";
+  private static final String ALL = "_all";
+  private static final String GENERATION_KEY_PREFIX = "product-cache:generation:";
+
+  private final CacheManager cacheManager;
+  private final StringRedisTemplate redisTemplate;
+
+  /**
+   * @param category null bo'lsa - umumiy listing
+   */
+  public Page<ProductResponseDto> get(String category, Pageable pageable,
+      Supplier<Page<ProductResponseDto>> loader) {
+    String scope = category != null ? category : ALL;
+    String key;
+    try {
+      key = pageKey(scope, currentGeneration(scope), pageable);
+    } catch (Exception e) {
+      log.warn("Could not read page cache generation for {}, loading from database", scope, e);
+      return loader.get();
+    }
+
+    Cache cache = cacheManager.getCache(CACHE_NAME);
+    CachedPage cached = cache.get(key, CachedPage.class);
+    if (cached != null) {
+      return new PageImpl<>(cached.getContent(), pageable, cached.getTotalElements());
+    }
+
+    Page<ProductResponseDto> page = loader.get();
+    cache.put(key, new CachedPage(page.getContent(), page.getTotalElements()));
+    return page;
+  }
+
+  /**
+   * Berilgan category'lar va umumiy listing sahifalarini eskirgan qiladi.
+   * Tranzaksiya ichida chaqirilsa, commit'dan keyin bajariladi.
+   */
+  public void invalidate(String... categories) {
+    Set<String> scopes = new LinkedHashSet<>();
+    for (String category : categories) {
+      if (category != null) {
+        scopes.add(category);
+      }
+    }
+    scopes.add(ALL);
+
+    AfterCommit.run(() -> bump(scopes));
+  }
+
+  private void bump(Set<String> scopes) {
+    for (String scope : scopes) {
+      try {
+        redisTemplate.opsForValue().increment(GENERATION_KEY_PREFIX + scope);
+      } catch (Exception e) {
+        log.warn("Could not bump page cache generation for {}", scope, e);
+      }
+    }
+  }
+
+  private long currentGeneration(String scope) {
+    String value = redisTemplate.opsForValue().get(GENERATION_KEY_PREFIX + scope);
+    return value != null ? Long.parseLong(value) : 0L;
+  }
+
+  private static String pageKey(String scope, long generation, Pageable pageable) {
+    return scope + ":g" + generation
+        + ":p" + pageable.getPageNumber()
+        + ":s" + pageable.getPageSize()
+        + ":" + pageable.getSort().toString().replace(" ", "");
+  }
+}
@@ -0,0 +1,153 @@
+package uz.uzinfocom.product.cache;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.types.Expiration;
+
+/**
+ * RedisCache bilan bir xil kalit va qiymat formatida ko'p kalitli o'qish (MGET)
+ * va pipeline orqali yozish. RedisCacheWriter'da bunday operatsiyalar yo'q.
+ */
+class RedisCacheBatch {
+
+  private final String name;
+  private final RedisCacheConfiguration config;
+  private final RedisConnectionFactory connectionFactory;
+
+  RedisCacheBatch(RedisCache cache, RedisConnectionFactory connectionFactory) {
+    this.name = cache.getName();
+    this.config = cache.getCacheConfiguration();
+    this.connectionFactory = connectionFactory;
+  }
+
+  /**
+   * Bitta MGET. Topilmagan kalitlar natijaga kirmaydi.
+   */
+  Map<Object, Object> getAll(List<?> keys) {
+    byte[][] rawKeys = keys.stream().map(this::serializeKey).toArray(byte[][]::new);
+    List<byte[]> rawValues;
+    try (RedisConnection connection = connectionFactory.getConnection()) {
+      rawValues = connection.stringCommands().mGet(rawKeys);
+    }
+
+    Map<Object, Object> values = new HashMap<>();
+    if (rawValues == null) {
+      return values;
+    }
+    for (int i = 0; i < keys.size(); i++) {
+      byte[] raw = rawValues.get(i);
+      if (raw == null) {
+        continue;
+      }
+      Object value = config.getValueSerializationPair().read(ByteBuffer.wrap(raw));
+      // Codec eski yoki noma'lum yozuvni null (miss) sifatida qaytaradi
+      if (value != null && !(value instanceof NullValue)) {
+        values.put(keys.get(i), value);
+      }
+    }
+    return values;
+  }
+
+  /**
+   * GET va PTTL bitta pipeline'da: qiymat bilan birga uning Redis'dagi muddati.
+   *
+   * @return topilmasa null
+   */
+  ExpiringValue getWithExpiry(Object key) {
+    byte[] rawKey = serializeKey(key);
+    List<Object> results;
+    try (RedisConnection connection = connectionFactory.getConnection()) {
+      connection.openPipeline();
+      try {
+        connection.stringCommands().get(rawKey);
+        connection.keyCommands().pTtl(rawKey);
+      } finally {
+        results = connection.closePipeline();
+      }
+    }
+    byte[] raw = (byte[]) results.get(0);
+    if (raw == null) {
+      return null;
+    }
+    Object value = config.getValueSerializationPair().read(ByteBuffer.wrap(raw));
+    if (value == null || value instanceof NullValue) {
+      return null;
+    }
+    long ttl = results.get(1) instanceof Long pttl ? pttl : -1;
+    return new ExpiringValue(value, ttl > 0 ? System.currentTimeMillis() + ttl : 0);
+  }
+
+  /**
+   * Hozir yozilgan qiymat qachon eskiradi (muddatsiz bo'lsa 0).
+   */
+  long expiresAt(Object key, Object value) {
+    Duration ttl = config.getTtlFunction().getTimeToLive(key, value);
+    return ttl != null && !ttl.isZero() && !ttl.isNegative()
+        ? System.currentTimeMillis() + ttl.toMillis()
+        : 0;
+  }
+
+  /**
+   * Barcha SET buyruqlari bitta pipeline'da - bitta round-trip.
+   */
+  void putAll(Map<?, ?> values) {
+    if (values.isEmpty()) {
+      return;
+    }
+    try (RedisConnection connection = connectionFactory.getConnection()) {
+      connection.openPipeline();
+      try {
+        values.forEach((key, value) -> connection.stringCommands().set(
+            serializeKey(key), serializeValue(value), expiration(key, value), SetOption.upsert()));
+      } finally {
+        connection.closePipeline();
+      }
+    }
+  }
+
+  private Expiration expiration(Object key, Object value) {
+    Duration ttl = config.getTtlFunction().getTimeToLive(key, value);
+    return ttl != null && !ttl.isZero() && !ttl.isNegative()
+        ? Expiration.from(ttl)
+        : Expiration.persistent();
+  }
+
+  private byte[] serializeKey(Object key) {
+    String converted = config.getConversionService().canConvert(key.getClass(), String.class)
+        ? config.getConversionService().convert(key, String.class)
+        : key.toString();
+    String cacheKey = config.usePrefix() ? config.getKeyPrefixFor(name) + converted : converted;
+    return toBytes(config.getKeySerializationPair().write(cacheKey));
+  }
+
+  private byte[] serializeValue(Object value) {
+    return toBytes(config.getValueSerializationPair().write(value));
+  }
+
+  static class ExpiringValue {
+
+    final Object value;
+    // epoch millis, muddatsiz yoki noma'lum bo'lsa 0
+    final long expiresAt;
+
+    ExpiringValue(Object value, long expiresAt) {
+      this.value = value;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+  private static byte[] toBytes(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+    return bytes;
+  }
+}
@@ -0,0 +1,455 @@
+package uz.uzinfocom.product.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import uz.uzinfocom.product.cache.RedisCacheBatch.ExpiringValue;
+
+/**
+ * JVM ichidagi Caffeine (L1) kesh va uning ortidagi Redis (L2) kesh.
+ * L1 yozuvlari localTtl dan ortiq yashamaydi, shuning uchun pub/sub xabari
+ * yo'qolsa ham eskirgan qiymat shu muddatdan keyin o'chadi.
+ *
+ * <p>get(key, loader) (@Cacheable(sync = true)) stampede'dan himoyalangan: JVM ichida bitta kalitni
+ * bitta thread yuklaydi, instance'lar orasida esa {@link CacheLoadLease} egasi. Issiq kalitlar
+ * muddati tugashidan oldin fonda ehtimollik bilan yangilanadi (XFetch).
+ */
+@Slf4j
+public class TwoTierCache implements Cache {
+
+  // Yuklash vaqti hali o'lchanmagan bo'lsa XFetch uchun boshlang'ich qiymat
+  private static final double INITIAL_LOAD_MILLIS = 50;
+
+  private final String name;
+  private final Cache remote;
+  private final com.github.benmanes.caffeine.cache.Cache<String, LocalEntry> local;
+  private final CacheInvalidationPublisher publisher;
+  // remote RedisCache bo'lmasa null - getAll/putAll kalitma-kalit ishlaydi
+  private final RedisCacheBatch remoteBatch;
+  // null bo'lsa instance'lar orasida single-flight yo'q
+  private final CacheLoadLease lease;
+  private final Executor refreshExecutor;
+  private final Duration leasePollInterval;
+  private final double earlyRefreshBeta;
+  private final long hotKeyRefreshAheadMillis;
+  private volatile Predicate<Object> hotKeys = key -> false;
+
+  private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+  // Yuklash davomiyligining EWMA'si (ms) - XFetch formulasidagi delta
+  private volatile double loadMillis = INITIAL_LOAD_MILLIS;
+
+  private final LongAdder localHits = new LongAdder();
+  private final LongAdder localMisses = new LongAdder();
+  private final LongAdder remoteHits = new LongAdder();
+  private final LongAdder remoteMisses = new LongAdder();
+  private final LongAdder loads = new LongAdder();
+  private final LongAdder earlyRefreshes = new LongAdder();
+
+  public TwoTierCache(Cache remote, ProductCacheProperties properties,
+      CacheInvalidationPublisher publisher, RedisConnectionFactory connectionFactory,
+      CacheLoadLease lease, Executor refreshExecutor) {
+    this.name = remote.getName();
+    this.remote = remote;
+    this.publisher = publisher;
+    this.remoteBatch = remote instanceof RedisCache redisCache && connectionFactory != null
+        ? new RedisCacheBatch(redisCache, connectionFactory)
+        : null;
+    this.lease = lease;
+    this.refreshExecutor = refreshExecutor;
+    this.leasePollInterval = properties.getLoadLeasePollInterval();
+    this.earlyRefreshBeta = properties.getEarlyRefreshBeta();
+    this.hotKeyRefreshAheadMillis = properties.getHotKeyRefreshAhead().toMillis();
+    this.local = Caffeine.newBuilder()
+        .maximumSize(properties.getLocalMaximumSize())
+        .expireAfterWrite(properties.getLocalTtl())
+        .build();
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public Object getNativeCache() {
+    return this;
+  }
+
+  @Override
+  public ValueWrapper get(Object key) {
+    return lookup(key);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Class<T> type) {
+    ValueWrapper wrapper = get(key);
+    if (wrapper == null) {
+      return null;
+    }
+    Object value = wrapper.get();
+    if (value != null && type != null && !type.isInstance(value)) {
+      throw new IllegalStateException(
+          "Cached value is not of required type [" + type.getName() + "]: " + value);
+    }
+    return (T) value;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    LocalEntry entry = lookup(key);
+    if (entry != null) {
+      maybeRefreshEarly(key, entry, valueLoader);
+      return (T) entry.get();
+    }
+    return (T) loadSingleFlight(key, valueLoader);
+  }
+
+  @Override
+  public void put(Object key, Object value) {
+    remote.put(key, value);
+    long expiresAt = remoteBatch != null ? remoteBatch.expiresAt(key, value) : 0;
+    local.put(toLocalKey(key), new LocalEntry(value, expiresAt));
+  }
+
+  /**
+   * Ko'p kalitni o'qiydi: avval L1, qolganlari L2 dan bitta MGET bilan.
+   * Natijada faqat topilgan kalitlar bo'ladi.
+   */
+  public Map<Object, Object> getAll(Collection<?> keys) {
+    Map<Object, Object> found = new HashMap<>();
+    List<Object> remoteKeys = new ArrayList<>();
+    for (Object key : keys) {
+      LocalEntry entry = local.getIfPresent(toLocalKey(key));
+      if (entry != null) {
+        localHits.increment();
+        found.put(key, entry.get());
+      } else {
+        localMisses.increment();
+        remoteKeys.add(key);
+      }
+    }
+    if (remoteKeys.isEmpty()) {
+      return found;
+    }
+
+    Map<Object, Object> remoteValues;
+    if (remoteBatch != null) {
+      remoteValues = remoteBatch.getAll(remoteKeys);
+    } else {
+      remoteValues = new HashMap<>();
+      for (Object key : remoteKeys) {
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+          remoteValues.put(key, wrapper.get());
+        }
+      }
+    }
+    remoteHits.add(remoteValues.size());
+    remoteMisses.add(remoteKeys.size() - remoteValues.size());
+    // MGET muddatni qaytarmaydi - bu yozuvlar oldindan yangilanmaydi
+    remoteValues.forEach((key, value) -> local.put(toLocalKey(key), new LocalEntry(value, 0)));
+    found.putAll(remoteValues);
+    return found;
+  }
+
+  /**
+   * L2 ga pipeline orqali yozadi (remote RedisCache bo'lsa).
+   */
+  public void putAll(Map<?, ?> values) {
+    if (remoteBatch != null) {
+      remoteBatch.putAll(values);
+    } else {
+      values.forEach(remote::put);
+    }
+    values.forEach((key, value) -> local.put(toLocalKey(key),
+        new LocalEntry(value, remoteBatch != null ? remoteBatch.expiresAt(key, value) : 0)));
+  }
+
+  @Override
+  public void evict(Object key) {
+    remote.evict(key);
+    evictLocal(key);
+    publisher.publishEvict(name, toLocalKey(key));
+  }
+
+  @Override
+  public void clear() {
+    remote.clear();
+    clearLocal();
+    publisher.publishClear(name);
+  }
+
+  /**
+   * Issiq kalitlarni aniqlovchi predikat (masalan, HotKeyTracker top-K).
+   */
+  public void setHotKeys(Predicate<Object> hotKeys) {
+    this.hotKeys = hotKeys;
+  }
+
+  /**
+   * Boshqa instance'dan kelgan invalidatsiya uchun - faqat L1 tozalanadi.
+   */
+  public void evictLocal(Object key) {
+    local.invalidate(toLocalKey(key));
+  }
+
+  public void clearLocal() {
+    local.invalidateAll();
+  }
+
+  public long getLocalHits() {
+    return localHits.sum();
+  }
+
+  public long getLocalMisses() {
+    return localMisses.sum();
+  }
+
+  public long getRemoteHits() {
+    return remoteHits.sum();
+  }
+
+  public long getRemoteMisses() {
+    return remoteMisses.sum();
+  }
+
+  public long getLocalSize() {
+    return local.estimatedSize();
+  }
+
+  public long getLoads() {
+    return loads.sum();
+  }
+
+  public long getEarlyRefreshes() {
+    return earlyRefreshes.sum();
+  }
+
+  private LocalEntry lookup(Object key) {
+    String localKey = toLocalKey(key);
+    LocalEntry entry = local.getIfPresent(localKey);
+    if (entry != null) {
+      localHits.increment();
+      return entry;
+    }
+    localMisses.increment();
+
+    entry = fetchRemote(key);
+    if (entry != null) {
+      remoteHits.increment();
+      local.put(localKey, entry);
+    } else {
+      remoteMisses.increment();
+    }
+    return entry;
+  }
+
+  private LocalEntry fetchRemote(Object key) {
+    if (remoteBatch != null) {
+      ExpiringValue value = remoteBatch.getWithExpiry(key);
+      return value != null ? new LocalEntry(value.value, value.expiresAt) : null;
+    }
+    ValueWrapper wrapper = remote.get(key);
+    return wrapper != null ? new LocalEntry(wrapper.get(), 0) : null;
+  }
+
+  /**
+   * Kalitni shu JVM'da faqat bitta thread yuklaydi, qolganlari uning natijasini kutadi.
+   */
+  private Object loadSingleFlight(Object key, Callable<?> loader) {
+    String localKey = toLocalKey(key);
+    CompletableFuture<Object> flight = new CompletableFuture<>();
+    CompletableFuture<Object> existing = inFlight.putIfAbsent(localKey, flight);
+    if (existing != null) {
+      return await(key, loader, existing);
+    }
+    try {
+      Object value = loadWithLease(key, loader);
+      flight.complete(value);
+      return value;
+    } catch (RuntimeException e) {
+      flight.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(localKey, flight);
+    }
+  }
+
+  private Object await(Object key, Callable<?> loader, CompletableFuture<Object> flight) {
+    try {
+      return flight.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof ValueRetrievalException retrievalException) {
+        throw retrievalException;
+      }
+      throw new ValueRetrievalException(key, loader, e.getCause());
+    }
+  }
+
+  /**
+   * Lease egasi bazadan yuklaydi; qolgan instance'lar qiymat Redis'ga yozilishini kutadi.
+   * Lease muddati o'tib ham qiymat bo'lmasa (egasi yiqilgan) - o'zimiz yuklaymiz.
+   */
+  private Object loadWithLease(Object key, Callable<?> loader) {
+    String localKey = toLocalKey(key);
+    if (lease == null) {
+      return load(key, loader);
+    }
+    if (lease.tryAcquire(name, localKey)) {
+      try {
+        return load(key, loader);
+      } finally {
+        lease.release(name, localKey);
+      }
+    }
+
+    long deadline = System.nanoTime() + lease.getTimeout().toNanos();
+    while (System.nanoTime() < deadline) {
+      try {
+        Thread.sleep(leasePollInterval.toMillis());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+      // Lease holati remote'dan oldin o'qiladi: egasi qiymatni yozib bo'shatgan bo'lsa, u ko'rinadi
+      boolean held = lease.isHeld(name, localKey);
+      LocalEntry entry = fetchRemote(key);
+      if (entry != null) {
+        remoteHits.increment();
+        local.put(localKey, entry);
+        return entry.get();
+      }
+      if (!held) {
+        // Egasining loader'i xato berdi (masalan, product topilmadi) - timeout'gacha kutmaymiz
+        log.debug("Cache load lease for {}::{} released without a value, loading locally", name, localKey);
+        return load(key, loader);
+      }
+    }
+    log.debug("Cache load lease for {}::{} timed out, loading locally", name, localKey);
+    return load(key, loader);
+  }
+
+  private Object load(Object key, Callable<?> loader) {
+    long start = System.nanoTime();
+    Object value;
+    try {
+      value = loader.call();
+    } catch (Exception e) {
+      throw new ValueRetrievalException(key, loader, e);
+    }
+    loads.increment();
+    double millis = (System.nanoTime() - start) / 1_000_000.0;
+    loadMillis = loadMillis * 0.8 + millis * 0.2;
+    put(key, value);
+    return value;
+  }
+
+  /**
+   * XFetch: now - delta * beta * ln(rand) >= expiresAt bo'lsa fonda yangilanadi.
+   * Yuklash qancha uzoq va muddat tugashi qancha yaqin bo'lsa, ehtimollik shuncha yuqori.
+   */
+  private void maybeRefreshEarly(Object key, LocalEntry entry, Callable<?> loader) {
+    if (entry.expiresAt == 0 || refreshExecutor == null) {
+      return;
+    }
+    long now = System.currentTimeMillis();
+    // Issiq kalitlar ehtimolsiz, muddat tugashidan hotKeyRefreshAhead oldin yangilanadi
+    boolean hotDue = now + hotKeyRefreshAheadMillis >= entry.expiresAt && hotKeys.test(key);
+    if (!hotDue) {
+      if (earlyRefreshBeta <= 0) {
+        return;
+      }
+      double gap = -loadMillis * earlyRefreshBeta * Math.log(ThreadLocalRandom.current().nextDouble());
+      if (now + gap < entry.expiresAt) {
+        return;
+      }
+    }
+
+    String localKey = toLocalKey(key);
+    CompletableFuture<Object> flight = new CompletableFuture<>();
+    if (inFlight.putIfAbsent(localKey, flight) != null) {
+      return;
+    }
+    try {
+      refreshExecutor.execute(() -> refresh(key, loader, entry, flight));
+    } catch (RejectedExecutionException e) {
+      inFlight.remove(localKey, flight);
+      flight.complete(entry.get());
+    }
+  }
+
+  private void refresh(Object key, Callable<?> loader, LocalEntry stale, CompletableFuture<Object> flight) {
+    String localKey = toLocalKey(key);
+    try {
+      // Boshqa instance allaqachon yangilagan bo'lsa, faqat L1 ni yangilaymiz
+      LocalEntry current = fetchRemote(key);
+      Object value;
+      if (current != null && current.expiresAt > stale.expiresAt) {
+        local.put(localKey, current);
+        value = current.get();
+      } else if (lease == null || lease.tryAcquire(name, localKey)) {
+        try {
+          value = load(key, loader);
+          earlyRefreshes.increment();
+        } finally {
+          if (lease != null) {
+            lease.release(name, localKey);
+          }
+        }
+      } else if (current != null) {
+        // Boshqa instance yangilayapti
+        value = current.get();
+      } else {
+        value = loadWithLease(key, loader);
+      }
+      flight.complete(value);
+    } catch (RuntimeException e) {
+      log.warn("Early refresh failed for {}::{}", name, localKey, e);
+      flight.completeExceptionally(e);
+    } finally {
+      inFlight.remove(localKey, flight);
+    }
+  }
+
+  private static String toLocalKey(Object key) {
+    return String.valueOf(key);
+  }
+
+  /**
+   * L1 yozuvi: qiymat va uning Redis'dagi muddati (noma'lum bo'lsa 0).
+   */
+  private static final class LocalEntry implements ValueWrapper {
+
+    private final Object value;
+    private final long expiresAt;
+
+    LocalEntry(Object value, long expiresAt) {
+      this.value = value;
+      this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public Object get() {
+      return value;
+    }
+  }
+}
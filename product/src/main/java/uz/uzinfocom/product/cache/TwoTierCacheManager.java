@@ -0,0 +1,137 @@
+package uz.uzinfocom.product.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Redis CacheManager ustiga L1 qatlamini qo'yadi va boshqa instance'lardan
+ * kelgan invalidatsiya xabarlarini qabul qiladi.
+ */
+@Slf4j
+public class TwoTierCacheManager implements CacheManager, MessageListener {
+
+  private final CacheManager remoteCacheManager;
+  private final ProductCacheProperties properties;
+  private final CacheInvalidationPublisher publisher;
+  private final MeterRegistry meterRegistry;
+  private final RedisConnectionFactory connectionFactory;
+  private final CacheLoadLease lease;
+  // Early refresh uchun kichik pool; navbat to'lsa yangilash tashlab yuboriladi (qiymat baribir bor)
+  private final ThreadPoolExecutor refreshExecutor;
+  private final Map<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+  public TwoTierCacheManager(CacheManager remoteCacheManager, ProductCacheProperties properties,
+      CacheInvalidationPublisher publisher, MeterRegistry meterRegistry,
+      RedisConnectionFactory connectionFactory, CacheLoadLease lease) {
+    this.remoteCacheManager = remoteCacheManager;
+    this.properties = properties;
+    this.publisher = publisher;
+    this.meterRegistry = meterRegistry;
+    this.connectionFactory = connectionFactory;
+    this.lease = lease;
+    CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("cache-refresh-");
+    threadFactory.setDaemon(true);
+    this.refreshExecutor = new ThreadPoolExecutor(
+        properties.getRefreshWorkers(), properties.getRefreshWorkers(), 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(1000), threadFactory);
+  }
+
+  @Override
+  public TwoTierCache getCache(String name) {
+    TwoTierCache cache = caches.get(name);
+    if (cache != null) {
+      return cache;
+    }
+    Cache remote = remoteCacheManager.getCache(name);
+    if (remote == null) {
+      return null;
+    }
+    return caches.computeIfAbsent(name, n -> {
+      TwoTierCache created = new TwoTierCache(remote, properties, publisher, connectionFactory,
+          lease, refreshExecutor);
+      registerMetrics(created);
+      return created;
+    });
+  }
+
+  @Override
+  public Collection<String> getCacheNames() {
+    return Collections.unmodifiableSet(caches.keySet());
+  }
+
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    String body = new String(message.getBody(), StandardCharsets.UTF_8);
+    String[] parts = body.split("\\" + CacheInvalidationPublisher.SEPARATOR, 3);
+    if (parts.length < 2 || publisher.getNodeId().equals(parts[0])) {
+      return;
+    }
+
+    TwoTierCache cache = caches.get(parts[1]);
+    if (cache == null) {
+      return;
+    }
+    if (parts.length == 3) {
+      cache.evictLocal(parts[2]);
+    } else {
+      cache.clearLocal();
+    }
+    log.debug("Local cache invalidated by node {}: {}", parts[0], body);
+  }
+
+  public void shutdown() {
+    refreshExecutor.shutdown();
+  }
+
+  private void registerMetrics(TwoTierCache cache) {
+    String name = cache.getName();
+    registerTier(cache, "l1", TwoTierCache::getLocalHits, TwoTierCache::getLocalMisses);
+    registerTier(cache, "l2", TwoTierCache::getRemoteHits, TwoTierCache::getRemoteMisses);
+    Gauge.builder("cache.tier.size", cache, TwoTierCache::getLocalSize)
+        .tags("cache", name, "tier", "l1")
+        .register(meterRegistry);
+    // Bazaga boriladigan yuklashlar: miss va early refresh
+    FunctionCounter.builder("cache.loads", cache, TwoTierCache::getLoads)
+        .tags("cache", name)
+        .register(meterRegistry);
+    FunctionCounter.builder("cache.early.refreshes", cache, TwoTierCache::getEarlyRefreshes)
+        .tags("cache", name)
+        .register(meterRegistry);
+  }
+
+  private void registerTier(TwoTierCache cache, String tier,
+      ToDoubleFunction<TwoTierCache> hits, ToDoubleFunction<TwoTierCache> misses) {
+    String name = cache.getName();
+    FunctionCounter.builder("cache.tier.gets", cache, hits)
+        .tags("cache", name, "tier", tier, "result", "hit")
+        .register(meterRegistry);
+    FunctionCounter.builder("cache.tier.gets", cache, misses)
+        .tags("cache", name, "tier", tier, "result", "miss")
+        .register(meterRegistry);
+    Gauge.builder("cache.tier.hit.ratio", cache, c -> ratio(hits.applyAsDouble(c), misses.applyAsDouble(c)))
+        .tags("cache", name, "tier", tier)
+        .register(meterRegistry);
+  }
+
+  private static double ratio(double hits, double misses) {
+    double total = hits + misses;
+    return total == 0 ? 0 : hits / total;
+  }
+}
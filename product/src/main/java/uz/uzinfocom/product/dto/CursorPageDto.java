@@ -0,0 +1,19 @@
+package uz.uzinfocom.product.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPageDto<T> {
+  private List<T> content;
+  private int size;
+  private boolean hasNext;
+  // Keyingi sahifa uchun token, oxirgi sahifada null
+  private String nextCursor;
+}
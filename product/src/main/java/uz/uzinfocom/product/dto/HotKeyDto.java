@@ -0,0 +1,17 @@
+package uz.uzinfocom.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class HotKeyDto {
+  private Long id;
+  // Count-Min sketch bahosi (so'nish bilan) - haqiqiy sondan kam bo'lmaydi
+  private long estimatedCount;
+  private double ratePerSecond;
+}
@@ -0,0 +1,18 @@
+package uz.uzinfocom.product.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductBatchDto {
+  // So'rovdagi id'lar tartibida
+  private List<ProductResponseDto> products;
+  // Topilmagan yoki aktiv bo'lmagan id'lar
+  private List<Long> missingIds;
+}
@@ -0,0 +1,29 @@
+package uz.uzinfocom.product.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductFacetsDto {
+  // Aktiv productlar soni category bo'yicha
+  private Map<String, Long> categories;
+  private List<PriceBucket> priceBuckets;
+
+  @Getter
+  @AllArgsConstructor
+  @NoArgsConstructor
+  public static class PriceBucket {
+    private BigDecimal from;
+    // Oxirgi oraliq uchun null
+    private BigDecimal to;
+    private long count;
+  }
+}
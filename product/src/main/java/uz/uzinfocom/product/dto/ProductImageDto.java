@@ -0,0 +1,18 @@
+package uz.uzinfocom.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductImageDto {
+  private String objectName;
+  private String contentType;
+  private long size;
+  private String etag;
+  private long lastModified;
+}
@@ -0,0 +1,30 @@
+package uz.uzinfocom.product.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductImportResultDto {
+  private long totalRows;
+  private long imported;
+  private long failed;
+  private long durationMs;
+  private long rowsPerSecond;
+  private List<RowError> errors;
+  // maxErrors dan oshgan xatolar javobga kiritilmaydi
+  private boolean errorsTruncated;
+
+  @Getter
+  @AllArgsConstructor
+  @NoArgsConstructor
+  public static class RowError {
+    private long line;
+    private String message;
+  }
+}
@@ -26,4 +26,19 @@ public class ProductResponseDto {
   private String imageName;
   private String imageUrl;
   private String imageContentType;
+
+  /**
+   * JPQL constructor expression uchun: so'rov entity yaratmasdan to'g'ridan-to'g'ri DTO qaytaradi.
+   */
+  public ProductResponseDto(Long id, String name, BigDecimal price, String category,
+      String description, LocalDateTime createdAt, LocalDateTime updatedAt, Boolean isActive,
+      String imageName, String imageContentType) {
+    this(id, name, price, category, description, createdAt, updatedAt, isActive,
+        imageName, imageName != null ? imageUrl(id) : null, imageContentType);
+  }
+
+  // Saqlangan presigned URL eskiradi - doim amal qiladigan redirect endpoint beriladi
+  public static String imageUrl(Long productId) {
+    return "/api/products/" + productId + "/image?redirect=true";
+  }
 }
@@ -0,0 +1,18 @@
+package uz.uzinfocom.product.facet;
+
+import java.math.BigDecimal;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "product.facets")
+public class ProductFacetProperties {
+
+  // Narx oraliqlarining pastki chegaralari (o'sish tartibida); oxirgi oraliq yuqoridan ochiq
+  private List<BigDecimal> priceBuckets = List.of(
+      BigDecimal.ZERO, BigDecimal.valueOf(10), BigDecimal.valueOf(50), BigDecimal.valueOf(100),
+      BigDecimal.valueOf(500), BigDecimal.valueOf(1000), BigDecimal.valueOf(5000));
+}
@@ -0,0 +1,115 @@
+package uz.uzinfocom.product.facet;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Xotiradagi facetlarni bazadagi aggregat bilan solishtiradi va almashtiradi:
+ * ishga tushganda va har reconcile-interval'da. Boshqa instance'lardagi yozishlar
+ * va yo'qolgan after-commit yangilanishlari shu yerda tuzaladi.
+ */
+@Slf4j
+@Component
+public class ProductFacetReconciler {
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ProductFacets productFacets;
+  // Aggregat va jurnal versiyalari bitta snapshot'dan o'qiladi
+  private final TransactionTemplate snapshotTransaction;
+
+  public ProductFacetReconciler(JdbcTemplate jdbcTemplate, ProductFacets productFacets,
+      PlatformTransactionManager transactionManager) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.productFacets = productFacets;
+    this.snapshotTransaction = new TransactionTemplate(transactionManager);
+    this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    this.snapshotTransaction.setReadOnly(true);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmUp() {
+    reconcile();
+  }
+
+  @Scheduled(fixedDelayString = "${product.facets.reconcile-interval:PT10M}",
+      initialDelayString = "${product.facets.reconcile-interval:PT10M}")
+  public void reconcile() {
+    long start = System.currentTimeMillis();
+    productFacets.beginReconcile();
+    try {
+      snapshotTransaction.executeWithoutResult(status -> replaceSnapshot(start));
+    } catch (RuntimeException e) {
+      productFacets.abortReconcile();
+      log.error("Product facet reconciliation failed", e);
+    }
+  }
+
+  private void replaceSnapshot(long start) {
+    Map<String, long[]> snapshot = new HashMap<>();
+    // width_bucket: chegaralar massivi bo'yicha 1 dan boshlanadigan indeks, birinchi chegaradan kichiklar - 0
+    jdbcTemplate.query("SELECT category, width_bucket(price, " + boundsArray() + ") AS bucket, COUNT(*) AS cnt"
+            + " FROM products WHERE is_active = true GROUP BY category, bucket",
+        rs -> {
+          long[] histogram = snapshot.computeIfAbsent(rs.getString("category"),
+              c -> new long[productFacets.bucketCount()]);
+          histogram[Math.max(0, rs.getInt("bucket") - 1)] += rs.getLong("cnt");
+        });
+
+    long drift = drift(productFacets.snapshot(null).getCategories(), snapshot);
+    productFacets.completeReconcile(snapshot, this::snapshotVersions);
+    log.info("Product facets reconciled in {} ms, drift: {}", System.currentTimeMillis() - start, drift);
+  }
+
+  private Map<Long, LocalDateTime> snapshotVersions(Set<Long> productIds) {
+    Map<Long, LocalDateTime> versions = new HashMap<>();
+    jdbcTemplate.query("SELECT id, updated_at FROM products WHERE id = ANY(?)",
+        ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", productIds.toArray())),
+        rs -> {
+          if (rs.getTimestamp("updated_at") != null) {
+            versions.put(rs.getLong("id"), rs.getTimestamp("updated_at").toLocalDateTime());
+          }
+        });
+    return versions;
+  }
+
+  // Chegaralar konfiguratsiyadan olingan BigDecimal'lar, SQL ichiga son sifatida yoziladi
+  private String boundsArray() {
+    return productFacets.bounds().stream()
+        .map(BigDecimal::toPlainString)
+        .collect(Collectors.joining(",", "ARRAY[", "]::numeric[]"));
+  }
+
+  private static long drift(Map<String, Long> current, Map<String, long[]> snapshot) {
+    long drift = 0;
+    Map<String, Long> expected = new HashMap<>();
+    snapshot.forEach((category, histogram) -> {
+      long count = 0;
+      for (long value : histogram) {
+        count += value;
+      }
+      expected.put(category, count);
+    });
+    for (String category : expected.keySet()) {
+      drift += Math.abs(expected.get(category) - current.getOrDefault(category, 0L));
+    }
+    for (String category : current.keySet()) {
+      if (!expected.containsKey(category)) {
+        drift += current.get(category);
+      }
+    }
+    return drift;
+  }
+}
@@ -0,0 +1,175 @@
+package uz.uzinfocom.product.facet;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+import uz.uzinfocom.product.dto.ProductFacetsDto;
+import uz.uzinfocom.product.dto.ProductFacetsDto.PriceBucket;
+
+/**
+ * Aktiv productlar bo'yicha facetlar xotirada: har category uchun narx oraliqlari histogrammasi
+ * (category soni - histogramma yig'indisi). Yozishlarda inkremental yangilanadi,
+ * o'qishlar Postgres'ga bormaydi. Siljishni ProductFacetReconciler tuzatadi.
+ */
+@Component
+public class ProductFacets {
+
+  private final BigDecimal[] bounds;
+
+  private Map<String, long[]> histograms = new HashMap<>();
+  // Reconciliation paytida kelgan o'zgarishlar - yangi snapshot ustiga qayta qo'llanadi
+  private List<Delta> journal;
+
+  public ProductFacets(ProductFacetProperties properties) {
+    this.bounds = properties.getPriceBuckets().stream().sorted().toArray(BigDecimal[]::new);
+    if (bounds.length == 0) {
+      throw new IllegalStateException("product.facets.price-buckets must not be empty");
+    }
+  }
+
+  /**
+   * version - yozuvdan keyingi products.updated_at; reconciliation snapshot'ida shu o'zgarish
+   * allaqachon bor-yo'qligini aniqlash uchun.
+   */
+  public void add(Long productId, LocalDateTime version, String category, BigDecimal price) {
+    apply(productId, version, category, price, 1);
+  }
+
+  public void remove(Long productId, LocalDateTime version, String category, BigDecimal price) {
+    apply(productId, version, category, price, -1);
+  }
+
+  public synchronized void update(Long productId, LocalDateTime version, String oldCategory,
+      BigDecimal oldPrice, String newCategory, BigDecimal newPrice) {
+    remove(productId, version, oldCategory, oldPrice);
+    add(productId, version, newCategory, newPrice);
+  }
+
+  public synchronized ProductFacetsDto snapshot(String category) {
+    Map<String, Long> categories = new TreeMap<>();
+    long[] total = new long[bounds.length];
+    histograms.forEach((name, histogram) -> {
+      long count = 0;
+      for (int i = 0; i < histogram.length; i++) {
+        count += histogram[i];
+        if (category == null || category.equals(name)) {
+          total[i] += histogram[i];
+        }
+      }
+      if (count > 0) {
+        categories.put(name, count);
+      }
+    });
+
+    List<PriceBucket> buckets = new ArrayList<>(bounds.length);
+    for (int i = 0; i < bounds.length; i++) {
+      buckets.add(new PriceBucket(bounds[i], i + 1 < bounds.length ? bounds[i + 1] : null, total[i]));
+    }
+    return new ProductFacetsDto(categories, buckets);
+  }
+
+  public int bucketCount() {
+    return bounds.length;
+  }
+
+  public List<BigDecimal> bounds() {
+    return List.of(bounds);
+  }
+
+  /**
+   * Narx qaysi oraliqqa tushadi: [bounds[i], bounds[i + 1]); birinchi chegaradan kichiklar 0-oraliqqa.
+   */
+  public int bucketOf(BigDecimal price) {
+    int bucket = 0;
+    for (int i = 1; i < bounds.length; i++) {
+      if (price.compareTo(bounds[i]) >= 0) {
+        bucket = i;
+      } else {
+        break;
+      }
+    }
+    return bucket;
+  }
+
+  synchronized void beginReconcile() {
+    journal = new ArrayList<>();
+  }
+
+  /**
+   * Bazadan olingan snapshot'ni o'rnatadi va jurnaldagi, snapshot'da hali ko'rinmagan o'zgarishlarni
+   * uning ustiga qo'llaydi. Jurnal so'rovdan oldin ochiladi, shuning uchun so'rov snapshot'idan oldin
+   * commit bo'lgan yozuv ham jurnalga tushishi mumkin: snapshotVersions shu snapshot'dagi
+   * updated_at'ni qaytaradi va versiyasi snapshot'da bor o'zgarish qayta qo'llanmaydi.
+   * Yozuvlar (after-commit) shu metod tugashini kutadi - versiyalar so'rovi id bo'yicha, qisqa.
+   */
+  synchronized void completeReconcile(Map<String, long[]> snapshot,
+      Function<Set<Long>, Map<Long, LocalDateTime>> snapshotVersions) {
+    List<Delta> pending = journal;
+    journal = null;
+    histograms = snapshot;
+    if (pending == null || pending.isEmpty()) {
+      return;
+    }
+    Set<Long> productIds = pending.stream()
+        .map(delta -> delta.productId)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toSet());
+    Map<Long, LocalDateTime> versions = productIds.isEmpty() ? Map.of() : snapshotVersions.apply(productIds);
+    for (Delta delta : pending) {
+      if (!inSnapshot(delta, versions)) {
+        increment(delta.category, delta.bucket, delta.amount);
+      }
+    }
+  }
+
+  synchronized void abortReconcile() {
+    journal = null;
+  }
+
+  private synchronized void apply(Long productId, LocalDateTime version, String category,
+      BigDecimal price, int amount) {
+    if (category == null || price == null) {
+      return;
+    }
+    int bucket = bucketOf(price);
+    increment(category, bucket, amount);
+    if (journal != null) {
+      journal.add(new Delta(productId, version, category, bucket, amount));
+    }
+  }
+
+  // Postgres TIMESTAMP mikrosekundgacha yaxlitlaydi - taqqoslash mikrosekund aniqligida
+  private static boolean inSnapshot(Delta delta, Map<Long, LocalDateTime> versions) {
+    if (delta.productId == null || delta.version == null) {
+      return false;
+    }
+    LocalDateTime seen = versions.get(delta.productId);
+    return seen != null && !seen.isBefore(delta.version.truncatedTo(ChronoUnit.MICROS));
+  }
+
+  private void increment(String category, int bucket, int amount) {
+    long[] histogram = histograms.computeIfAbsent(category, c -> new long[bounds.length]);
+    histogram[bucket] = Math.max(0, histogram[bucket] + amount);
+  }
+
+  @AllArgsConstructor
+  private static class Delta {
+
+    private final Long productId;
+    private final LocalDateTime version;
+    private final String category;
+    private final int bucket;
+    private final int amount;
+  }
+}
@@ -0,0 +1,84 @@
+package uz.uzinfocom.product.hotkey;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * long kalitlar uchun Count-Min sketch. Xotira o'zgarmas (depth * width hisoblagich),
+ * add/estimate hech narsa ajratmaydi va lock ishlatmaydi. Baho hech qachon haqiqiy sondan kam bo'lmaydi.
+ */
+public class CountMinSketch {
+
+  private final int depth;
+  private final int width;
+  private final int mask;
+  private final long[] seeds;
+  private final AtomicLongArray counters;
+
+  public CountMinSketch(int width, int depth) {
+    if (width <= 0 || depth <= 0) {
+      throw new IllegalArgumentException("Sketch width and depth must be positive");
+    }
+    // Indeks bo'lish o'rniga mask bilan olinishi uchun 2 ning darajasiga yaxlitlanadi
+    int rounded = 1;
+    while (rounded < width) {
+      rounded <<= 1;
+    }
+    this.depth = depth;
+    this.width = rounded;
+    this.mask = rounded - 1;
+    this.seeds = new long[depth];
+    for (int row = 0; row < depth; row++) {
+      seeds[row] = mix(0x9E3779B97F4A7C15L * (row + 1));
+    }
+    this.counters = new AtomicLongArray(this.width * depth);
+  }
+
+  /**
+   * Kalit sonini bittaga oshiradi va yangi bahoni qaytaradi.
+   */
+  public long add(long key) {
+    long min = Long.MAX_VALUE;
+    for (int row = 0; row < depth; row++) {
+      min = Math.min(min, counters.incrementAndGet(index(row, key)));
+    }
+    return min;
+  }
+
+  public long estimate(long key) {
+    long min = Long.MAX_VALUE;
+    for (int row = 0; row < depth; row++) {
+      min = Math.min(min, counters.get(index(row, key)));
+    }
+    return min;
+  }
+
+  /**
+   * Barcha hisoblagichlarni ikkiga bo'ladi (eksponensial so'nish).
+   */
+  public void halve() {
+    for (int i = 0; i < counters.length(); i++) {
+      long value;
+      do {
+        value = counters.get(i);
+      } while (value != 0 && !counters.compareAndSet(i, value, value >>> 1));
+    }
+  }
+
+  public int width() {
+    return width;
+  }
+
+  private int index(int row, long key) {
+    return row * width + (int) (mix(key ^ seeds[row]) & mask);
+  }
+
+  // MurmurHash3 fmix64
+  private static long mix(long h) {
+    h ^= h >>> 33;
+    h *= 0xFF51AFD7ED558CCDL;
+    h ^= h >>> 33;
+    h *= 0xC4CEB93FE53E3B4FL;
+    h ^= h >>> 33;
+    return h;
+  }
+}
@@ -0,0 +1,23 @@
+package uz.uzinfocom.product.hotkey;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "product.hotkeys")
+public class HotKeyProperties {
+
+  private boolean enabled = true;
+  private int topK = 100;
+
+  // Count-Min sketch o'lchami: width * depth * 8 bayt (2048 * 4 - 64KB).
+  // Xato chegarasi ~ e / width * jami so'rovlar, ehtimoli 1 - e^-depth
+  private int sketchWidth = 2048;
+  private int sketchDepth = 4;
+
+  // Hisoblagichlar shu oraliqda ikkiga bo'linadi - eski trafik "unutiladi"
+  private Duration decayInterval = Duration.ofSeconds(30);
+}
@@ -0,0 +1,145 @@
+package uz.uzinfocom.product.hotkey;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uz.uzinfocom.product.dto.HotKeyDto;
+
+/**
+ * Product o'qishlari bo'yicha eng "issiq" id'lar: Count-Min sketch + top-K to'plami.
+ * Hot path (record, isHot) lock'siz va hech narsa ajratmaydi: a'zolik o'zgarmas massivda tekshiriladi,
+ * to'plam faqat yangi id top-K ga kirganda lock ostida qayta quriladi.
+ * Hisoblagichlar har decayInterval'da ikkiga bo'linadi, shuning uchun barqaror oqimda
+ * baho ~ 2 * tezlik * decayInterval.
+ */
+@Component
+public class HotKeyTracker {
+
+  private static final long EMPTY = 0L;
+
+  private final HotKeyProperties properties;
+  private final CountMinSketch sketch;
+  private final int capacity;
+
+  // top-K a'zolari (lock ostida o'zgaradi)
+  private final long[] members;
+  private int size;
+  // Lock'siz o'qish uchun a'zolar nusxasi: linear probing jadvali, 0 - bo'sh katak
+  private volatile long[] memberTable;
+  // Eng kichik a'zo bahosi - undan past kalitlar lock olmaydi
+  private volatile long threshold;
+
+  public HotKeyTracker(HotKeyProperties properties) {
+    this.properties = properties;
+    this.sketch = new CountMinSketch(properties.getSketchWidth(), properties.getSketchDepth());
+    this.capacity = properties.getTopK();
+    this.members = new long[capacity];
+    this.memberTable = new long[tableSize(capacity)];
+  }
+
+  public void record(Long id) {
+    if (id == null || id == EMPTY || !properties.isEnabled()) {
+      return;
+    }
+    long estimate = sketch.add(id);
+    if (estimate <= threshold || isHot(id)) {
+      return;
+    }
+    offer(id, estimate);
+  }
+
+  public boolean isHot(long id) {
+    long[] table = memberTable;
+    int mask = table.length - 1;
+    for (int i = slot(id, mask); ; i = (i + 1) & mask) {
+      long value = table[i];
+      if (value == id) {
+        return true;
+      }
+      if (value == EMPTY) {
+        return false;
+      }
+    }
+  }
+
+  /**
+   * Joriy top-K, bahosi bo'yicha kamayish tartibida.
+   */
+  public synchronized List<HotKeyDto> topK() {
+    double windowSeconds = 2.0 * properties.getDecayInterval().toMillis() / 1000.0;
+    List<HotKeyDto> result = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      long estimate = sketch.estimate(members[i]);
+      result.add(new HotKeyDto(members[i], estimate, estimate / windowSeconds));
+    }
+    result.sort(Comparator.comparingLong(HotKeyDto::getEstimatedCount).reversed());
+    return result;
+  }
+
+  @Scheduled(fixedRateString = "${product.hotkeys.decay-interval:PT30S}",
+      initialDelayString = "${product.hotkeys.decay-interval:PT30S}")
+  public synchronized void decay() {
+    sketch.halve();
+    threshold = size < capacity ? 0 : minMember()[1];
+  }
+
+  private synchronized void offer(long id, long estimate) {
+    if (isHot(id)) {
+      return;
+    }
+    if (size < capacity) {
+      members[size++] = id;
+    } else {
+      // A'zolar bahosi vaqt o'tishi bilan o'sadi - eng kichigini qayta hisoblaymiz
+      long[] min = minMember();
+      if (estimate <= min[1]) {
+        threshold = min[1];
+        return;
+      }
+      members[(int) min[0]] = id;
+    }
+    memberTable = buildTable();
+    threshold = size < capacity ? 0 : minMember()[1];
+  }
+
+  // {indeks, baho}
+  private long[] minMember() {
+    int minIndex = 0;
+    long minEstimate = Long.MAX_VALUE;
+    for (int i = 0; i < size; i++) {
+      long estimate = sketch.estimate(members[i]);
+      if (estimate < minEstimate) {
+        minEstimate = estimate;
+        minIndex = i;
+      }
+    }
+    return new long[] {minIndex, minEstimate};
+  }
+
+  private long[] buildTable() {
+    long[] table = new long[tableSize(capacity)];
+    int mask = table.length - 1;
+    for (int m = 0; m < size; m++) {
+      int i = slot(members[m], mask);
+      while (table[i] != EMPTY) {
+        i = (i + 1) & mask;
+      }
+      table[i] = members[m];
+    }
+    return table;
+  }
+
+  private static int tableSize(int capacity) {
+    int size = 4;
+    while (size < capacity * 2) {
+      size <<= 1;
+    }
+    return size;
+  }
+
+  private static int slot(long id, int mask) {
+    return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+  }
+}
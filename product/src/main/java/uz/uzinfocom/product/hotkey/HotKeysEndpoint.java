@@ -0,0 +1,26 @@
+package uz.uzinfocom.product.hotkey;
+
+import java.util.List;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+import uz.uzinfocom.product.dto.HotKeyDto;
+
+/**
+ * GET /actuator/hotkeys - eng ko'p o'qilayotgan product id'lari va taxminiy tezligi (so'rov/s).
+ */
+@Component
+@Endpoint(id = "hotkeys")
+public class HotKeysEndpoint {
+
+  private final HotKeyTracker hotKeyTracker;
+
+  public HotKeysEndpoint(HotKeyTracker hotKeyTracker) {
+    this.hotKeyTracker = hotKeyTracker;
+  }
+
+  @ReadOperation
+  public List<HotKeyDto> hotKeys() {
+    return hotKeyTracker.topK();
+  }
+}
@@ -0,0 +1,71 @@
+package uz.uzinfocom.product.image;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * Rasmni kichraytirish va JPEG/PNG ga kodlash (faqat JDK ImageIO).
+ */
+public final class ImageResizer {
+
+  private ImageResizer() {
+  }
+
+  /**
+   * Eng uzun tomoni maxSize dan oshmaydigan qilib kichraytiradi, kattalashtirmaydi.
+   * Katta farqda bosqichma-bosqich ikki barobar kichraytirish sifatni saqlaydi.
+   */
+  public static BufferedImage resize(BufferedImage source, int maxSize, boolean keepAlpha) {
+    int width = source.getWidth();
+    int height = source.getHeight();
+    double scale = Math.min(1.0, (double) maxSize / Math.max(width, height));
+    int targetWidth = Math.max(1, (int) Math.round(width * scale));
+    int targetHeight = Math.max(1, (int) Math.round(height * scale));
+    int type = keepAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+    BufferedImage current = source;
+    do {
+      width = Math.max(targetWidth, width / 2);
+      height = Math.max(targetHeight, height / 2);
+      BufferedImage next = new BufferedImage(width, height, type);
+      Graphics2D g = next.createGraphics();
+      try {
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.drawImage(current, 0, 0, width, height, null);
+      } finally {
+        g.dispose();
+      }
+      current = next;
+    } while (width != targetWidth || height != targetHeight);
+    return current;
+  }
+
+  public static byte[] encode(BufferedImage image, String format, float jpegQuality) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    if (!"jpg".equals(format)) {
+      ImageIO.write(image, format, bytes);
+      return bytes.toByteArray();
+    }
+
+    ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+    try (ImageOutputStream out = ImageIO.createImageOutputStream(bytes)) {
+      writer.setOutput(out);
+      ImageWriteParam param = writer.getDefaultWriteParam();
+      param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+      param.setCompressionQuality(jpegQuality);
+      writer.write(null, new IIOImage(image, null, null), param);
+    } finally {
+      writer.dispose();
+    }
+    return bytes.toByteArray();
+  }
+}
@@ -0,0 +1,50 @@
+package uz.uzinfocom.product.image;
+
+import java.util.Locale;
+
+/**
+ * Rasm variantlari. Variant obyekt nomi manba obyekt nomidan hosil qilinadi:
+ * products/{id}/{uuid}.png -> products/{id}/{uuid}_thumb.png
+ */
+public enum ImageVariant {
+  THUMB("thumb"),
+  MEDIUM("medium"),
+  FULL("full");
+
+  private final String suffix;
+
+  ImageVariant(String suffix) {
+    this.suffix = suffix;
+  }
+
+  public static ImageVariant fromParam(String value) {
+    try {
+      return value == null ? FULL : valueOf(value.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unknown image variant: " + value
+          + ". Allowed: thumb, medium, full");
+    }
+  }
+
+  /**
+   * PNG/GIF manbalar shaffoflikni saqlash uchun PNG, qolganlari JPEG.
+   */
+  public static String formatFor(String sourceContentType) {
+    return "image/png".equalsIgnoreCase(sourceContentType)
+        || "image/gif".equalsIgnoreCase(sourceContentType) ? "png" : "jpg";
+  }
+
+  public static String contentTypeFor(String format) {
+    return "png".equals(format) ? "image/png" : "image/jpeg";
+  }
+
+  public String objectName(String sourceObjectName, String sourceContentType) {
+    if (this == FULL) {
+      return sourceObjectName;
+    }
+    int dot = sourceObjectName.lastIndexOf('.');
+    int slash = sourceObjectName.lastIndexOf('/');
+    String base = dot > slash ? sourceObjectName.substring(0, dot) : sourceObjectName;
+    return base + "_" + suffix + "." + formatFor(sourceContentType);
+  }
+}
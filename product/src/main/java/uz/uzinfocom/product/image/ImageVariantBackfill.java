@@ -0,0 +1,68 @@
+package uz.uzinfocom.product.image;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+import uz.uzinfocom.product.ProductEntity;
+import uz.uzinfocom.product.ProductRepository;
+
+/**
+ * Variantlari yo'q mavjud rasmlar uchun ularni yaratadi (product.image.variants.backfill-on-startup).
+ * Alohida thread'da keyset bo'yicha yuradi va pool navbatiga sig'guncha kutadi.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ImageVariantBackfill {
+
+  private static final int BATCH_SIZE = 100;
+
+  private final ProductRepository productRepository;
+  private final ImageVariantService imageVariantService;
+  private final ImageVariantProperties properties;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onStartup() {
+    if (properties.isEnabled() && properties.isBackfillOnStartup()) {
+      Thread thread = new Thread(this::run, "image-variant-backfill");
+      thread.setDaemon(true);
+      thread.start();
+    }
+  }
+
+  public void run() {
+    log.info("Image variant backfill started");
+    int scheduled = 0;
+    ScrollPosition position = ScrollPosition.keyset();
+    try {
+      Window<ProductEntity> window;
+      do {
+        window = productRepository.findByIsActiveTrueAndImageNameIsNotNull(
+            position, Sort.by("id"), Limit.of(BATCH_SIZE));
+        for (ProductEntity product : window) {
+          if (!imageVariantService.hasVariants(product.getImageName(), product.getImageContentType())) {
+            imageVariantService.generateBlocking(product.getImageName(), product.getImageContentType());
+            scheduled++;
+          }
+        }
+        if (!window.isEmpty()) {
+          position = window.positionAt(window.size() - 1);
+        }
+      } while (window.hasNext());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      log.warn("Image variant backfill interrupted after {} images", scheduled);
+      return;
+    } catch (Exception e) {
+      log.error("Image variant backfill failed after {} images", scheduled, e);
+      return;
+    }
+    log.info("Image variant backfill finished, {} images scheduled", scheduled);
+  }
+}
@@ -0,0 +1,25 @@
+package uz.uzinfocom.product.image;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "product.image.variants")
+public class ImageVariantProperties {
+
+  private boolean enabled = true;
+
+  // Eng uzun tomon bo'yicha maksimal o'lcham (px)
+  private int thumbSize = 200;
+  private int mediumSize = 800;
+  private float jpegQuality = 0.8f;
+
+  // Generatsiya uchun chegaralangan pool
+  private int workers = 2;
+  private int queueCapacity = 100;
+
+  // Ishga tushganda mavjud rasmlar uchun variantlarni yaratish
+  private boolean backfillOnStartup = false;
+}
@@ -0,0 +1,133 @@
+package uz.uzinfocom.product.image;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import java.awt.image.BufferedImage;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import uz.uzinfocom.product.minio.MinioService;
+
+/**
+ * Yuklangan rasmdan thumb va medium variantlarni chegaralangan pool'da yaratadi.
+ * Variant hali tayyor bo'lmasa, image endpoint to'liq rasmni qaytaradi.
+ */
+@Slf4j
+@Service
+public class ImageVariantService {
+
+  private static final List<ImageVariant> GENERATED = List.of(ImageVariant.THUMB, ImageVariant.MEDIUM);
+
+  private final MinioService minioService;
+  private final ImageVariantProperties properties;
+  private final ExecutorService executor;
+
+  private final Counter generated;
+  private final Counter failed;
+  private final Counter rejected;
+
+  public ImageVariantService(MinioService minioService, ImageVariantProperties properties,
+      MeterRegistry meterRegistry) {
+    this.minioService = minioService;
+    this.properties = properties;
+    ThreadPoolExecutor pool = new ThreadPoolExecutor(
+        properties.getWorkers(), properties.getWorkers(), 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+        new CustomizableThreadFactory("image-variant-"));
+    this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "imageVariants");
+    this.generated = meterRegistry.counter("product.image.variants", "result", "generated");
+    this.failed = meterRegistry.counter("product.image.variants", "result", "failed");
+    this.rejected = meterRegistry.counter("product.image.variants", "result", "rejected");
+  }
+
+  /**
+   * Navbatga qo'yadi; navbat to'la bo'lsa tashlab yuboradi (keyin backfill yaratadi).
+   */
+  public void generateAsync(String objectName, String contentType) {
+    if (!properties.isEnabled()) {
+      return;
+    }
+    try {
+      executor.execute(() -> generate(objectName, contentType));
+    } catch (RejectedExecutionException e) {
+      rejected.increment();
+      log.warn("Image variant queue is full, skipping: {}", objectName);
+    }
+  }
+
+  /**
+   * Backfill uchun: navbatga sig'guncha kutadi.
+   */
+  public void generateBlocking(String objectName, String contentType) throws InterruptedException {
+    while (true) {
+      try {
+        executor.execute(() -> generate(objectName, contentType));
+        return;
+      } catch (RejectedExecutionException e) {
+        TimeUnit.MILLISECONDS.sleep(200);
+      }
+    }
+  }
+
+  public boolean hasVariants(String objectName, String contentType) {
+    return GENERATED.stream().allMatch(variant ->
+        minioService.findFile(variant.objectName(objectName, contentType)).isPresent());
+  }
+
+  public void generate(String objectName, String contentType) {
+    try {
+      BufferedImage source;
+      try (InputStream in = minioService.getFile(objectName)) {
+        source = ImageIO.read(in);
+      }
+      if (source == null) {
+        log.warn("Unsupported image format, no variants generated: {}", objectName);
+        failed.increment();
+        return;
+      }
+
+      String format = ImageVariant.formatFor(contentType);
+      boolean keepAlpha = "png".equals(format);
+      for (ImageVariant variant : GENERATED) {
+        BufferedImage resized = ImageResizer.resize(source, maxSize(variant), keepAlpha);
+        byte[] bytes = ImageResizer.encode(resized, format, properties.getJpegQuality());
+        minioService.uploadBytes(bytes, ImageVariant.contentTypeFor(format),
+            variant.objectName(objectName, contentType));
+      }
+      generated.increment();
+    } catch (Exception e) {
+      failed.increment();
+      log.error("Error generating image variants: {}", objectName, e);
+    }
+  }
+
+  public void deleteVariants(String objectName, String contentType) {
+    for (ImageVariant variant : GENERATED) {
+      String variantName = variant.objectName(objectName, contentType);
+      try {
+        minioService.deleteFile(variantName);
+      } catch (Exception e) {
+        log.warn("Could not delete image variant: {}", variantName);
+      }
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdown();
+  }
+
+  private int maxSize(ImageVariant variant) {
+    return variant == ImageVariant.THUMB ? properties.getThumbSize() : properties.getMediumSize();
+  }
+}
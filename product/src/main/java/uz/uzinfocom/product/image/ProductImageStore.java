@@ -0,0 +1,179 @@
+package uz.uzinfocom.product.image;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import uz.uzinfocom.product.ProductRepository;
+import uz.uzinfocom.product.minio.MinioService;
+import uz.uzinfocom.product.support.AfterCommit;
+
+/**
+ * Product rasmlarini kontent xeshi bo'yicha saqlaydi: bir xil rasm bir marta saqlanadi,
+ * qayta yuklashda MinIO'ga yozilmaydi. Bitta obyektga bir nechta product murojaat qilishi mumkin,
+ * shuning uchun eski obyekt commit'dan keyin, hech kim ishlatmasa, fonda o'chiriladi.
+ * store() obyektni chaqiruvchi unpin() qilguncha "pin"laydi: release() pin va DB tekshiruvini
+ * o'chirish bilan bitta lock ostida bajaradi, shuning uchun shu instance'dagi dedup qilingan,
+ * hali commit qilinmagan yuklash obyektini yo'qotmaydi. Boshqa instance'dagi bir vaqtdagi yuklash
+ * uchun himoya faqat grace period: o'chirish aynan shu paytga to'g'ri kelsa, product yo'q kalitga
+ * murojaat qilib qolishi mumkin (qayta yuklash tuzatadi).
+ */
+@Slf4j
+@Service
+public class ProductImageStore {
+
+  private static final String PREFIX = "products/sha256/";
+  private static final int LOCK_STRIPES = 64;
+
+  private final MinioService minioService;
+  private final ImageVariantService imageVariantService;
+  private final ProductRepository productRepository;
+  private final Duration orphanGracePeriod;
+  private final ScheduledExecutorService cleaner =
+      Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("image-cleanup-"));
+
+  // Obyekt nomi -> hali commit qilinmagan yuklashlar soni
+  private final Map<String, Integer> pins = new ConcurrentHashMap<>();
+  private final Object[] locks = new Object[LOCK_STRIPES];
+
+  private final Counter stored;
+  private final Counter deduplicated;
+  private final Counter released;
+
+  public ProductImageStore(MinioService minioService, ImageVariantService imageVariantService,
+      ProductRepository productRepository,
+      @Value("${product.image.orphan-grace-period:30s}") Duration orphanGracePeriod,
+      MeterRegistry meterRegistry) {
+    this.minioService = minioService;
+    this.imageVariantService = imageVariantService;
+    this.productRepository = productRepository;
+    this.orphanGracePeriod = orphanGracePeriod;
+    this.stored = meterRegistry.counter("product.image.store", "result", "stored");
+    this.deduplicated = meterRegistry.counter("product.image.store", "result", "deduplicated");
+    this.released = meterRegistry.counter("product.image.store", "result", "released");
+    for (int i = 0; i < LOCK_STRIPES; i++) {
+      locks[i] = new Object();
+    }
+  }
+
+  /**
+   * Faylni saqlaydi (yoki mavjud nusxani qayta ishlatadi) va obyekt nomini qaytaradi.
+   * Tranzaksiyadan tashqarida chaqiriladi - DB ulanishi band qilinmaydi.
+   * Obyekt pin qilinadi: chaqiruvchi product'ni yozib tranzaksiya tugagach unpin() chaqirishi kerak.
+   */
+  public String store(MultipartFile file) {
+    String objectName = PREFIX + hash(file) + extension(file.getOriginalFilename());
+    pin(objectName);
+    try {
+      if (minioService.findFile(objectName).isPresent()) {
+        deduplicated.increment();
+        log.info("Image already stored, skipping upload: {}", objectName);
+        return objectName;
+      }
+
+      minioService.uploadFile(file, objectName);
+      stored.increment();
+      // Variantlar ham kontentdan kelib chiqadi, shuning uchun faqat yangi obyekt uchun yaratiladi
+      String contentType = file.getContentType();
+      imageVariantService.generateAsync(objectName, contentType);
+      return objectName;
+    } catch (RuntimeException e) {
+      unpin(objectName);
+      throw e;
+    }
+  }
+
+  /**
+   * store() qo'ygan pin'ni olib tashlaydi (commit yoki rollback'dan keyin).
+   */
+  public void unpin(String objectName) {
+    synchronized (lockFor(objectName)) {
+      pins.computeIfPresent(objectName, (name, count) -> count == 1 ? null : count - 1);
+    }
+  }
+
+  /**
+   * Commit'dan keyin, grace period o'tgach, obyektga hech bir product murojaat qilmasa
+   * uni va variantlarini o'chiradi. Grace period bir vaqtda shu rasmni yuklayotgan,
+   * hali commit qilinmagan so'rovlarni himoya qiladi.
+   */
+  public void releaseAfterCommit(String objectName, String contentType) {
+    if (objectName == null) {
+      return;
+    }
+    AfterCommit.run(() -> cleaner.schedule(() -> release(objectName, contentType),
+        orphanGracePeriod.toMillis(), TimeUnit.MILLISECONDS));
+  }
+
+  void release(String objectName, String contentType) {
+    try {
+      // store() shu lock ostida pin qiladi: tekshiruv va o'chirish orasida dedup bo'lmaydi
+      synchronized (lockFor(objectName)) {
+        if (pins.containsKey(objectName) || productRepository.existsByImageName(objectName)) {
+          return;
+        }
+        minioService.deleteFile(objectName);
+      }
+      imageVariantService.deleteVariants(objectName, contentType);
+      released.increment();
+    } catch (Exception e) {
+      log.warn("Could not release image: {}", objectName, e);
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    cleaner.shutdown();
+  }
+
+  private void pin(String objectName) {
+    synchronized (lockFor(objectName)) {
+      pins.merge(objectName, 1, Integer::sum);
+    }
+  }
+
+  private Object lockFor(String objectName) {
+    return locks[Math.floorMod(objectName.hashCode(), LOCK_STRIPES)];
+  }
+
+  private static String hash(MultipartFile file) {
+    try (DigestInputStream in = new DigestInputStream(file.getInputStream(), sha256())) {
+      in.transferTo(OutputStream.nullOutputStream());
+      return HexFormat.of().formatHex(in.getMessageDigest().digest());
+    } catch (IOException e) {
+      throw new UncheckedIOException("Error reading uploaded file", e);
+    }
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static String extension(String originalFilename) {
+    if (originalFilename == null || originalFilename.lastIndexOf('.') < 0) {
+      return ".jpg";
+    }
+    return originalFilename.substring(originalFilename.lastIndexOf('.')).toLowerCase();
+  }
+}
@@ -0,0 +1,16 @@
+package uz.uzinfocom.product.kafka;
+
+import java.util.Map;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CommonKafkaProducerTypeMappingProvider {
+
+  private static final String PRODUCT_CHANGE_MESSAGE = "ProductChangeMessage";
+
+  public Map<String, String> getTypeMappings() {
+    return Map.of(
+        PRODUCT_CHANGE_MESSAGE, ProductChangeEvent.class.getName()
+    );
+  }
+}
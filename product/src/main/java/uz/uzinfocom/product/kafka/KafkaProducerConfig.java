@@ -0,0 +1,78 @@
+package uz.uzinfocom.product.kafka;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+@EnableKafka
+@Configuration
+public class KafkaProducerConfig {
+
+  private final CommonKafkaProducerTypeMappingProvider typeMappingProvider;
+  private final ProductEventProperties properties;
+
+  public KafkaProducerConfig(CommonKafkaProducerTypeMappingProvider typeMappingProvider,
+      ProductEventProperties properties) {
+    this.typeMappingProvider = typeMappingProvider;
+    this.properties = properties;
+  }
+
+  @Bean
+  public ProducerFactory<String, Object> producerFactory() {
+    Map<String, Object> config = new HashMap<>();
+    config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, properties.getBootstrapServers());
+    config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+    config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+    // Bitta product uchun xabarlar tartibi retry'da ham buzilmasin
+    config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+    config.put(ProducerConfig.ACKS_CONFIG, "all");
+
+    var typeMappings = new StringBuilder();
+    typeMappingProvider.getTypeMappings().forEach((key, value) ->
+        typeMappings.append(key).append(":").append(value).append(","));
+
+    if (!typeMappings.isEmpty()) {
+      typeMappings.deleteCharAt(typeMappings.length() - 1);
+      config.put(JsonSerializer.TYPE_MAPPINGS, typeMappings.toString());
+    }
+
+    // redisObjectMapper default typing yoqilgan, Kafka xabarlariga @class kerak emas - shuning uchun
+    // serializer o'z ObjectMapper'i bilan yaratiladi
+    return new DefaultKafkaProducerFactory<>(config);
+  }
+
+  @Bean
+  public KafkaTemplate<String, Object> kafkaTemplate() {
+    return new KafkaTemplate<>(producerFactory());
+  }
+
+  @Bean
+  public KafkaAdmin kafkaAdmin() {
+    KafkaAdmin admin = new KafkaAdmin(Map.of(
+        AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, properties.getBootstrapServers()));
+    // Kafka ishga tushmagan bo'lsa ham servis ko'tariladi
+    admin.setFatalIfBrokerNotAvailable(false);
+    return admin;
+  }
+
+  @Bean
+  public NewTopic productChangesTopic() {
+    return TopicBuilder.name(properties.getTopic())
+        .partitions(properties.getPartitions())
+        .replicas(properties.getReplicationFactor())
+        .compact()
+        .build();
+  }
+}
@@ -0,0 +1,28 @@
+package uz.uzinfocom.product.kafka;
+
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * "product-changes" topic'idagi xabar. Kalit - product id, shuning uchun compaction
+ * har bir product uchun faqat oxirgi holatni qoldiradi. O'chirish - tombstone (null qiymat).
+ */
+@Setter
+@Getter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductChangeEvent {
+
+  private ProductChangeType type;
+  private Long id;
+  private String name;
+  private BigDecimal price;
+  private String category;
+  // Product'ning updatedAt vaqti (epoch millis) - replika eski xabarni yangisining ustiga yozmasligi uchun
+  private long version;
+}
@@ -0,0 +1,6 @@
+package uz.uzinfocom.product.kafka;
+
+public enum ProductChangeType {
+  CREATED,
+  UPDATED
+}
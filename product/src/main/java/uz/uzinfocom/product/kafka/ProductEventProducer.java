@@ -0,0 +1,129 @@
+package uz.uzinfocom.product.kafka;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.ZoneId;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import uz.uzinfocom.product.ProductEntity;
+import uz.uzinfocom.product.ProductRepository;
+import uz.uzinfocom.product.support.AfterCommit;
+
+/**
+ * Product o'zgarishlarini compacted topic'ga yuboradi (kalit - product id).
+ * Xabarlar commit'dan keyin yuboriladi, shuning uchun rollback bo'lgan o'zgarish topic'ga tushmaydi.
+ *
+ * <p>Yuborib bo'lmagan xabar qayta yuborilmaydi: o'rniga product'ning joriy holati bazadan o'qilib
+ * (aktiv bo'lmasa - tombstone) backoff bilan qayta e'lon qilinadi. Shunda eski xabar keyingi tombstone
+ * ustiga tushib o'chirilgan product'ni "tiriltirmaydi". Urinishlar tugasa yoki servis shu orada to'xtasa
+ * xabar yo'qoladi - replika (ayniqsa o'chirishlar uchun) best-effort, keyingi o'zgarishgacha eskirgan
+ * bo'lib qoladi; bu holat {@code product.events.failures} metrikasida ko'rinadi.
+ */
+@Slf4j
+@Service
+public class ProductEventProducer {
+
+  private final KafkaTemplate<String, Object> kafkaTemplate;
+  private final ProductEventProperties properties;
+  private final ProductRepository productRepository;
+  private final ScheduledExecutorService retryScheduler;
+  private final Counter failures;
+  private final Counter retries;
+
+  public ProductEventProducer(KafkaTemplate<String, Object> kafkaTemplate,
+      ProductEventProperties properties, ProductRepository productRepository, MeterRegistry meterRegistry) {
+    this.kafkaTemplate = kafkaTemplate;
+    this.properties = properties;
+    this.productRepository = productRepository;
+    this.failures = meterRegistry.counter("product.events.failures");
+    this.retries = meterRegistry.counter("product.events.retries");
+
+    CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("product-events-retry-");
+    threadFactory.setDaemon(true);
+    this.retryScheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+  }
+
+  public void sendCreated(ProductEntity product) {
+    send(product.getId(), () -> toEvent(ProductChangeType.CREATED, product));
+  }
+
+  public void sendUpdated(ProductEntity product) {
+    send(product.getId(), () -> toEvent(ProductChangeType.UPDATED, product));
+  }
+
+  public void sendDeleted(Long productId) {
+    // tombstone
+    send(productId, () -> null);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    retryScheduler.shutdownNow();
+  }
+
+  // Xabar commit'dan keyin yig'iladi: updatedAt flush paytida qo'yiladi
+  private void send(Long productId, Supplier<ProductChangeEvent> event) {
+    AfterCommit.run(() -> publish(productId, event.get(), 0));
+  }
+
+  private void publish(Long productId, ProductChangeEvent value, int attempt) {
+    kafkaTemplate.send(properties.getTopic(), String.valueOf(productId), value)
+        .whenComplete((result, e) -> {
+          if (e == null) {
+            log.debug("Product change event sent: {} -> {}", productId, value);
+          } else if (attempt < properties.getRetryAttempts()) {
+            log.warn("Could not send product change event for ID: {}, attempt {}", productId, attempt + 1, e);
+            scheduleRepublish(productId, attempt + 1);
+          } else {
+            failures.increment();
+            log.error("Giving up on product change event for ID: {} after {} attempts",
+                productId, attempt + 1, e);
+          }
+        });
+  }
+
+  private void scheduleRepublish(Long productId, int attempt) {
+    long delay = properties.getRetryBackoff().toMillis() << Math.min(attempt - 1, 10);
+    try {
+      retryScheduler.schedule(() -> republish(productId, attempt), delay, TimeUnit.MILLISECONDS);
+    } catch (RejectedExecutionException e) {
+      failures.increment();
+      log.warn("Product change event for ID: {} dropped on shutdown", productId);
+    }
+  }
+
+  private void republish(Long productId, int attempt) {
+    retries.increment();
+    ProductChangeEvent current;
+    try {
+      current = productRepository.findByIdAndActive(productId)
+          .map(product -> toEvent(ProductChangeType.UPDATED, product))
+          .orElse(null);
+    } catch (RuntimeException e) {
+      log.warn("Could not load product ID: {} for republish", productId, e);
+      if (attempt < properties.getRetryAttempts()) {
+        scheduleRepublish(productId, attempt + 1);
+      } else {
+        failures.increment();
+      }
+      return;
+    }
+    publish(productId, current, attempt);
+  }
+
+  private static ProductChangeEvent toEvent(ProductChangeType type, ProductEntity product) {
+    long version = product.getUpdatedAt() != null
+        ? product.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+        : System.currentTimeMillis();
+    return new ProductChangeEvent(type, product.getId(), product.getName(), product.getPrice(),
+        product.getCategory(), version);
+  }
+}
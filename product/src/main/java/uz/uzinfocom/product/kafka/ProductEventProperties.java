@@ -0,0 +1,23 @@
+package uz.uzinfocom.product.kafka;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "product.events")
+public class ProductEventProperties {
+
+  private String bootstrapServers = "localhost:9094";
+
+  // Compacted topic: har bir product id uchun oxirgi holat saqlanadi
+  private String topic = "product-changes";
+  private int partitions = 3;
+  private short replicationFactor = 1;
+
+  // Yuborilmagan xabar o'rniga joriy holat qayta e'lon qilinadi; kechikish har urinishda ikki baravar
+  private int retryAttempts = 5;
+  private Duration retryBackoff = Duration.ofSeconds(1);
+}
@@ -0,0 +1,195 @@
+package uz.uzinfocom.product.minio;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * MinIO obyektlari uchun lokal diskdagi LRU kesh.
+ * Fayl nomi - obyekt nomining SHA-256 xeshi. Avval .tmp faylga yoziladi,
+ * keyin atomic move bilan joyiga qo'yiladi, shuning uchun o'quvchi chala faylni ko'rmaydi.
+ * Obyekt nomlari UUID asosida va qayta ishlatilmaydi, shuning uchun index restart'da diskdan tiklanadi.
+ */
+@Slf4j
+@Component
+public class LocalObjectCache {
+
+  private static final String TMP_SUFFIX = ".tmp";
+
+  private final LocalObjectCacheProperties properties;
+  private final Path directory;
+
+  // access-order: birinchi element - eng uzoq ishlatilmagan
+  private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private long currentSize;
+
+  private final Counter hits;
+  private final Counter misses;
+  private final Counter evictions;
+
+  public LocalObjectCache(LocalObjectCacheProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.directory = Paths.get(properties.getDirectory());
+    this.hits = meterRegistry.counter("minio.object.cache", "result", "hit");
+    this.misses = meterRegistry.counter("minio.object.cache", "result", "miss");
+    this.evictions = meterRegistry.counter("minio.object.cache.evictions");
+    Gauge.builder("minio.object.cache.size", this, LocalObjectCache::currentSize)
+        .baseUnit("bytes")
+        .register(meterRegistry);
+    Gauge.builder("minio.object.cache.entries", this, LocalObjectCache::entryCount)
+        .register(meterRegistry);
+
+    if (properties.isEnabled()) {
+      rebuild();
+    }
+  }
+
+  public Optional<Path> get(String objectName) {
+    if (!properties.isEnabled()) {
+      return Optional.empty();
+    }
+    String key = key(objectName);
+    synchronized (this) {
+      if (entries.get(key) == null) {
+        misses.increment();
+        return Optional.empty();
+      }
+    }
+    hits.increment();
+    return Optional.of(directory.resolve(key));
+  }
+
+  public boolean accepts(long size) {
+    return properties.isEnabled() && size <= properties.getMaxObjectSize();
+  }
+
+  /**
+   * Oqimni to'liq diskka yozadi va keshga qo'shadi. Oqim har holda o'qib bo'linadi.
+   */
+  public Optional<Path> put(String objectName, InputStream in) {
+    String key = key(objectName);
+    Path tmp = null;
+    try {
+      tmp = Files.createTempFile(directory, key, TMP_SUFFIX);
+      Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+      long size = Files.size(tmp);
+      Path target = directory.resolve(key);
+      Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+      synchronized (this) {
+        Long previous = entries.put(key, size);
+        currentSize += size - (previous != null ? previous : 0);
+        evictIfNeeded();
+      }
+      return Optional.of(target);
+    } catch (IOException e) {
+      log.warn("Could not cache object locally: {}", objectName, e);
+      deleteQuietly(tmp);
+      return Optional.empty();
+    }
+  }
+
+  public void invalidate(String objectName) {
+    if (!properties.isEnabled()) {
+      return;
+    }
+    String key = key(objectName);
+    synchronized (this) {
+      Long size = entries.remove(key);
+      if (size == null) {
+        return;
+      }
+      currentSize -= size;
+    }
+    deleteQuietly(directory.resolve(key));
+  }
+
+  public synchronized long currentSize() {
+    return currentSize;
+  }
+
+  public synchronized int entryCount() {
+    return entries.size();
+  }
+
+  private void evictIfNeeded() {
+    Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+    while (currentSize > properties.getMaxSize() && iterator.hasNext()) {
+      Map.Entry<String, Long> eldest = iterator.next();
+      iterator.remove();
+      currentSize -= eldest.getValue();
+      // Ochiq FileChannel'lar (Linux'da) o'chirilgan faylni o'qishda davom etadi
+      deleteQuietly(directory.resolve(eldest.getKey()));
+      evictions.increment();
+    }
+  }
+
+  private synchronized void rebuild() {
+    try {
+      Files.createDirectories(directory);
+      List<Path> files;
+      try (Stream<Path> stream = Files.list(directory)) {
+        files = stream.filter(Files::isRegularFile).toList();
+      }
+      files.stream()
+          .filter(file -> file.getFileName().toString().endsWith(TMP_SUFFIX))
+          .forEach(LocalObjectCache::deleteQuietly);
+      files.stream()
+          .filter(file -> !file.getFileName().toString().endsWith(TMP_SUFFIX))
+          .sorted(Comparator.comparingLong(LocalObjectCache::lastAccess))
+          .forEach(file -> {
+            long size = file.toFile().length();
+            entries.put(file.getFileName().toString(), size);
+            currentSize += size;
+          });
+      evictIfNeeded();
+      log.info("Local object cache at {}: {} entries, {} bytes", directory, entries.size(), currentSize);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not initialize local object cache: " + directory, e);
+    }
+  }
+
+  private static long lastAccess(Path file) {
+    return file.toFile().lastModified();
+  }
+
+  private static String key(String objectName) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(objectName.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static void deleteQuietly(Path file) {
+    if (file == null) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      log.warn("Could not delete cached object file: {}", file);
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package uz.uzinfocom.product.minio;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "minio.cache")
+public class LocalObjectCacheProperties {
+
+  private boolean enabled = true;
+  private String directory = System.getProperty("java.io.tmpdir") + "/product-object-cache";
+
+  // Umumiy hajm chegarasi va bitta obyektning maksimal hajmi (bayt)
+  private long maxSize = 512L * 1024 * 1024;
+  private long maxObjectSize = 10L * 1024 * 1024;
+}
@@ -0,0 +1,15 @@
+package uz.uzinfocom.product.minio;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class MinioObjectInfo {
+  private String objectName;
+  private long size;
+  private String etag;
+  private Instant lastModified;
+  private String contentType;
+}
@@ -1,6 +1,7 @@
 package uz.uzinfocom.product.minio;
 
 
+import java.time.Duration;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
@@ -14,4 +15,8 @@ public class MinioProperties {
   private String accessKey;
   private String secretKey;
   private String bucketName;
+
+  // Talab bo'yicha beriladigan presigned URL muddati va muddat tugashidan oldin qayta imzolash oralig'i
+  private Duration presignExpiry = Duration.ofMinutes(15);
+  private Duration presignRefreshMargin = Duration.ofMinutes(2);
 }
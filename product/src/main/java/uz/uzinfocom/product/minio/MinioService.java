@@ -2,6 +2,8 @@ package uz.uzinfocom.product.minio;
 
 import org.springframework.web.multipart.MultipartFile;
 import java.io.InputStream;
+import java.time.Duration;
+import java.util.Optional;
 
 public interface MinioService {
 
@@ -11,10 +13,26 @@ public interface MinioService {
 
   void uploadFile(MultipartFile file, String objectName);
 
+  void uploadBytes(byte[] data, String contentType, String objectName);
+
   InputStream getFile(String objectName);
 
+  InputStream getFile(String objectName, long offset, long length);
+
+  /**
+   * Lokal disk keshidan (bo'lsa) yoki MinIO'dan obyekt qismini ochadi.
+   * totalSize keshga sig'sa, miss paytida obyekt to'liq keshga yuklanadi.
+   */
+  ObjectContent openFile(String objectName, long offset, long length, long totalSize);
+
+  MinioObjectInfo statFile(String objectName);
+
+  Optional<MinioObjectInfo> findFile(String objectName);
+
   void deleteFile(String objectName);
 
   String getFileUrl(String objectName);
 
+  String getFileUrl(String objectName, Duration expiry);
+
 }
\ No newline at end of file
@@ -1,19 +1,37 @@
 package uz.uzinfocom.product.minio;
 
 import io.minio.BucketExistsArgs;
+import io.minio.errors.ErrorResponseException;
 import io.minio.GetObjectArgs;
 import io.minio.GetPresignedObjectUrlArgs;
 import io.minio.MakeBucketArgs;
 import io.minio.MinioClient;
 import io.minio.PutObjectArgs;
 import io.minio.RemoveObjectArgs;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
 import io.minio.http.Method;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 @Service
@@ -23,6 +41,21 @@ public class MinioServiceImpl implements MinioService {
 
   private final MinioClient minioClient;
   private final MinioProperties minioProperties;
+  private final LocalObjectCache localObjectCache;
+
+  private static final String NO_SUCH_KEY = "NoSuchKey";
+  private static final String NO_SUCH_BUCKET = "NoSuchBucket";
+  private static final int CACHE_FILL_WORKERS = 2;
+  private static final int CACHE_FILL_QUEUE = 100;
+
+  // Miss'da disk kesh fonda to'ldiriladi - so'rov to'liq yuklab olinishini kutmaydi
+  private final ExecutorService cacheFiller = new ThreadPoolExecutor(
+      CACHE_FILL_WORKERS, CACHE_FILL_WORKERS, 0L, TimeUnit.MILLISECONDS,
+      new ArrayBlockingQueue<>(CACHE_FILL_QUEUE), new CustomizableThreadFactory("object-cache-fill-"));
+  private final Set<String> filling = ConcurrentHashMap.newKeySet();
+
+  // Bucket bir marta tekshiriladi, har upload'da emas
+  private volatile boolean bucketReady;
 
   @Override
   public void createBucket(String bucketName) {
@@ -66,21 +99,18 @@ public class MinioServiceImpl implements MinioService {
   @Override
   public void uploadFile(MultipartFile file, String objectName) {
     try {
-      // Bucket mavjudligini tekshirish
-      String bucketName = minioProperties.getBucketName();
-      if (!bucketExists(bucketName)) {
-        createBucket(bucketName);
-      }
+      ensureBucket();
 
       // Faylni yuklash
       minioClient.putObject(
           PutObjectArgs.builder()
-              .bucket(bucketName)
+              .bucket(minioProperties.getBucketName())
               .object(objectName)
               .stream(file.getInputStream(), file.getSize(), -1)
               .contentType(file.getContentType())
               .build()
       );
+      localObjectCache.invalidate(objectName);
 
       log.info("File uploaded successfully: {}", objectName);
 
@@ -90,21 +120,133 @@ public class MinioServiceImpl implements MinioService {
     }
   }
 
+  @Override
+  public void uploadBytes(byte[] data, String contentType, String objectName) {
+    try {
+      ensureBucket();
+      minioClient.putObject(
+          PutObjectArgs.builder()
+              .bucket(minioProperties.getBucketName())
+              .object(objectName)
+              .stream(new ByteArrayInputStream(data), data.length, -1)
+              .contentType(contentType)
+              .build()
+      );
+      localObjectCache.invalidate(objectName);
+      log.info("File uploaded successfully: {}", objectName);
+    } catch (Exception e) {
+      log.error("Error uploading file: {}", objectName, e);
+      throw new RuntimeException("Error uploading file to MinIO", e);
+    }
+  }
+
   @Override
   public InputStream getFile(String objectName) {
+    Optional<Path> cached = localObjectCache.get(objectName);
+    if (cached.isPresent()) {
+      try {
+        return Files.newInputStream(cached.get());
+      } catch (IOException e) {
+        // fayl evict qilingan bo'lishi mumkin - MinIO'dan o'qiymiz
+        log.debug("Cached object file unavailable: {}", objectName);
+      }
+    }
+    return getFromMinio(objectName);
+  }
+
+  @Override
+  public InputStream getFile(String objectName, long offset, long length) {
     try {
       return minioClient.getObject(
           GetObjectArgs.builder()
               .bucket(minioProperties.getBucketName())
               .object(objectName)
+              .offset(offset)
+              .length(length)
               .build()
       );
     } catch (Exception e) {
-      log.error("Error getting file: {}", objectName, e);
+      log.error("Error getting file range: {} [{}+{}]", objectName, offset, length, e);
       throw new RuntimeException("Error getting file from MinIO", e);
     }
   }
 
+  @Override
+  public ObjectContent openFile(String objectName, long offset, long length, long totalSize) {
+    Optional<Path> cached = localObjectCache.get(objectName);
+    if (cached.isEmpty() && localObjectCache.accepts(totalSize)) {
+      // Kichik Range so'rovi ham butun obyekt yuklanishini kutmasligi uchun: so'ralgan qism
+      // to'g'ridan-to'g'ri MinIO'dan beriladi, kesh fonda to'ldiriladi
+      fillCacheAsync(objectName);
+    }
+    if (cached.isPresent()) {
+      try {
+        return ObjectContent.of(cached.get(), offset, length);
+      } catch (NoSuchFileException e) {
+        log.debug("Cached object file evicted before open: {}", objectName);
+      } catch (IOException e) {
+        log.warn("Error opening cached file: {}", objectName, e);
+      }
+    }
+    return ObjectContent.of(getFile(objectName, offset, length));
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    cacheFiller.shutdownNow();
+  }
+
+  private void fillCacheAsync(String objectName) {
+    if (!filling.add(objectName)) {
+      return;
+    }
+    try {
+      cacheFiller.execute(() -> {
+        try (InputStream in = getFromMinio(objectName)) {
+          localObjectCache.put(objectName, in);
+        } catch (Exception e) {
+          log.warn("Error reading file for local cache: {}", objectName, e);
+        } finally {
+          filling.remove(objectName);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      // Navbat to'la - keyingi miss yana urinadi
+      filling.remove(objectName);
+    }
+  }
+
+  @Override
+  public MinioObjectInfo statFile(String objectName) {
+    try {
+      return stat(objectName);
+    } catch (Exception e) {
+      log.error("Error getting file metadata: {}", objectName, e);
+      throw new RuntimeException("Error getting file metadata from MinIO", e);
+    }
+  }
+
+  @Override
+  public Optional<MinioObjectInfo> findFile(String objectName) {
+    try {
+      return Optional.of(stat(objectName));
+    } catch (ErrorResponseException e) {
+      if (NO_SUCH_KEY.equals(e.errorResponse().code())) {
+        return Optional.empty();
+      }
+      if (NO_SUCH_BUCKET.equals(e.errorResponse().code())) {
+        // Yangi MinIO: bucket hali yaratilmagan - obyekt yo'q, keyingi upload bucket'ni yaratadi
+        bucketReady = false;
+        return Optional.empty();
+      }
+      log.error("Error getting file metadata: {}", objectName, e);
+      throw new RuntimeException("Error getting file metadata from MinIO", e);
+    } catch (Exception e) {
+      log.error("Error getting file metadata: {}", objectName, e);
+      throw new RuntimeException("Error getting file metadata from MinIO", e);
+    }
+  }
+
   @Override
   public void deleteFile(String objectName) {
     try {
@@ -114,6 +256,7 @@ public class MinioServiceImpl implements MinioService {
               .object(objectName)
               .build()
       );
+      localObjectCache.invalidate(objectName);
       log.info("File deleted successfully: {}", objectName);
     } catch (Exception e) {
       log.error("Error deleting file: {}", objectName, e);
@@ -123,14 +266,19 @@ public class MinioServiceImpl implements MinioService {
 
   @Override
   public String getFileUrl(String objectName) {
+    // Presigned URL yaratish (7 kunlik)
+    return getFileUrl(objectName, Duration.ofDays(7));
+  }
+
+  @Override
+  public String getFileUrl(String objectName, Duration expiry) {
     try {
-      // Presigned URL yaratish (7 kunlik)
       return minioClient.getPresignedObjectUrl(
           GetPresignedObjectUrlArgs.builder()
               .bucket(minioProperties.getBucketName())
               .object(objectName)
               .method(Method.GET)
-              .expiry(7, TimeUnit.DAYS)
+              .expiry((int) expiry.toSeconds(), TimeUnit.SECONDS)
               .build()
       );
     } catch (Exception e) {
@@ -138,4 +286,41 @@ public class MinioServiceImpl implements MinioService {
       throw new RuntimeException("Error generating file URL", e);
     }
   }
-}
\ No newline at end of file
+
+  private void ensureBucket() {
+    if (bucketReady) {
+      return;
+    }
+    synchronized (this) {
+      if (!bucketReady) {
+        createBucket(minioProperties.getBucketName());
+        bucketReady = true;
+      }
+    }
+  }
+
+  private InputStream getFromMinio(String objectName) {
+    try {
+      return minioClient.getObject(
+          GetObjectArgs.builder()
+              .bucket(minioProperties.getBucketName())
+              .object(objectName)
+              .build()
+      );
+    } catch (Exception e) {
+      log.error("Error getting file: {}", objectName, e);
+      throw new RuntimeException("Error getting file from MinIO", e);
+    }
+  }
+
+  private MinioObjectInfo stat(String objectName) throws Exception {
+    StatObjectResponse stat = minioClient.statObject(
+        StatObjectArgs.builder()
+            .bucket(minioProperties.getBucketName())
+            .object(objectName)
+            .build()
+    );
+    return new MinioObjectInfo(objectName, stat.size(), stat.etag(),
+        stat.lastModified().toInstant(), stat.contentType());
+  }
+}
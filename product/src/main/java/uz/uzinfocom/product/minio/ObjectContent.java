@@ -0,0 +1,80 @@
+package uz.uzinfocom.product.minio;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Obyekt tarkibi: MinIO oqimi yoki lokal kesh fayli.
+ * Fayldan berishda FileChannel.transferTo ishlatiladi.
+ */
+public abstract class ObjectContent implements Closeable {
+
+  public abstract void transferTo(OutputStream out) throws IOException;
+
+  public static ObjectContent of(InputStream in) {
+    return new StreamContent(in);
+  }
+
+  public static ObjectContent of(Path file, long offset, long length) throws IOException {
+    return new FileContent(FileChannel.open(file, StandardOpenOption.READ), offset, length);
+  }
+
+  private static class StreamContent extends ObjectContent {
+
+    private final InputStream in;
+
+    StreamContent(InputStream in) {
+      this.in = in;
+    }
+
+    @Override
+    public void transferTo(OutputStream out) throws IOException {
+      in.transferTo(out);
+    }
+
+    @Override
+    public void close() throws IOException {
+      in.close();
+    }
+  }
+
+  private static class FileContent extends ObjectContent {
+
+    private final FileChannel channel;
+    private final long offset;
+    private final long length;
+
+    FileContent(FileChannel channel, long offset, long length) {
+      this.channel = channel;
+      this.offset = offset;
+      this.length = length;
+    }
+
+    @Override
+    public void transferTo(OutputStream out) throws IOException {
+      WritableByteChannel target = Channels.newChannel(out);
+      long position = offset;
+      long remaining = length;
+      while (remaining > 0) {
+        long written = channel.transferTo(position, remaining, target);
+        if (written <= 0) {
+          break;
+        }
+        position += written;
+        remaining -= written;
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      channel.close();
+    }
+  }
+}
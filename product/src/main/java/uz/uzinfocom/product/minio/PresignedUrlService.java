@@ -0,0 +1,45 @@
+package uz.uzinfocom.product.minio;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import org.springframework.stereotype.Service;
+
+/**
+ * Qisqa muddatli presigned URL'larni talab bo'yicha beradi.
+ * URL muddati tugashidan presignRefreshMargin oldin keshdan chiqadi,
+ * shuning uchun qaytarilgan URL kamida shu oraliq davomida amal qiladi.
+ */
+@Service
+public class PresignedUrlService {
+
+  private final MinioService minioService;
+  private final Duration expiry;
+  private final Duration refreshMargin;
+  private final Cache<String, String> urls;
+  private final Timer signing;
+
+  public PresignedUrlService(MinioService minioService, MinioProperties properties,
+      MeterRegistry meterRegistry) {
+    this.minioService = minioService;
+    this.expiry = properties.getPresignExpiry();
+    this.refreshMargin = properties.getPresignRefreshMargin();
+    if (refreshMargin.compareTo(expiry) >= 0) {
+      throw new IllegalStateException("minio.presign-refresh-margin must be shorter than minio.presign-expiry");
+    }
+    this.urls = Caffeine.newBuilder()
+        .maximumSize(10_000)
+        .expireAfterWrite(expiry.minus(refreshMargin))
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, urls, "presignedUrls");
+    this.signing = meterRegistry.timer("minio.presign");
+  }
+
+  public String getUrl(String objectName) {
+    return urls.get(objectName, name -> signing.record(() -> minioService.getFileUrl(name, expiry)));
+  }
+}
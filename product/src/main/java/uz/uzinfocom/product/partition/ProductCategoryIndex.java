@@ -0,0 +1,144 @@
+package uz.uzinfocom.product.partition;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * id -> category xaritasi. products jadvali LIST(category) bo'yicha partition qilingan,
+ * shuning uchun category ma'lum bo'lsa so'rov faqat bitta partition'ga boradi.
+ * Xotirani tejash uchun open addressing: long[] kalitlar va byte[] category kodlari
+ * (har bir yozuv ~9-15 bayt, boxing yo'q).
+ * 127 dan ortiq category sig'maydi: ortiqchasi log va product.category.index.overflow
+ * counter'iga yoziladi, bunday id'lar uchun get null qaytaradi (so'rov barcha partition'larga boradi).
+ */
+@Slf4j
+@Component
+public class ProductCategoryIndex {
+
+  private static final long EMPTY = 0L;
+  private static final float LOAD_FACTOR = 0.6f;
+  private static final int MAX_CATEGORIES = Byte.MAX_VALUE;
+  // Category'si sig'magan id - eski category'ga yo'naltirilmasligi uchun yozuv saqlanadi
+  private static final byte UNKNOWN = -1;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final List<String> categories = new ArrayList<>();
+  private final Map<String, Byte> categoryCodes = new HashMap<>();
+
+  private long[] keys = new long[1024];
+  private byte[] values = new byte[1024];
+  private int size;
+
+  private final Counter overflow;
+
+  public ProductCategoryIndex(MeterRegistry meterRegistry) {
+    this.overflow = meterRegistry.counter("product.category.index.overflow");
+    Gauge.builder("product.category.index.size", this, ProductCategoryIndex::size)
+        .register(meterRegistry);
+  }
+
+  /**
+   * @return category yoki ma'lum bo'lmasa null
+   */
+  public String get(Long id) {
+    if (id == null || id <= 0) {
+      return null;
+    }
+    lock.readLock().lock();
+    try {
+      int slot = find(keys, id);
+      return keys[slot] == id && values[slot] != UNKNOWN ? categories.get(values[slot]) : null;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public void put(Long id, String category) {
+    // id'lar sequence'dan 1 dan boshlanadi, 0 - bo'sh slot belgisi
+    if (id == null || id <= 0 || category == null) {
+      return;
+    }
+    lock.writeLock().lock();
+    try {
+      Byte code = categoryCodes.get(category);
+      if (code == null) {
+        if (categories.size() < MAX_CATEGORIES) {
+          code = (byte) categories.size();
+          categories.add(category);
+          categoryCodes.put(category, code);
+        } else {
+          code = UNKNOWN;
+          overflow.increment();
+          log.warn("Product category index is full ({} categories), product {} with category {} is not indexed",
+              MAX_CATEGORIES, id, category);
+        }
+      }
+      if (size + 1 > keys.length * LOAD_FACTOR) {
+        resize();
+      }
+      int slot = find(keys, id);
+      if (keys[slot] == EMPTY) {
+        keys[slot] = id;
+        size++;
+      }
+      values[slot] = code;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void clear() {
+    lock.writeLock().lock();
+    try {
+      Arrays.fill(keys, EMPTY);
+      size = 0;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return size;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private void resize() {
+    long[] oldKeys = keys;
+    byte[] oldValues = values;
+    keys = new long[oldKeys.length * 2];
+    values = new byte[oldKeys.length * 2];
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != EMPTY) {
+        int slot = find(keys, oldKeys[i]);
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  /**
+   * Kalit joylashgan yoki u yoziladigan bo'sh slot (linear probing).
+   */
+  private static int find(long[] table, long id) {
+    int mask = table.length - 1;
+    int slot = Long.hashCode(id * 0x9E3779B97F4A7C15L) & mask;
+    while (table[slot] != EMPTY && table[slot] != id) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+}
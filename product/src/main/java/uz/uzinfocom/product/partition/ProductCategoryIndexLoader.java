@@ -0,0 +1,35 @@
+package uz.uzinfocom.product.partition;
+
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import uz.uzinfocom.product.ProductCategoryView;
+import uz.uzinfocom.product.ProductRepository;
+
+/**
+ * Ilova ishga tushganda id -> category xaritasini to'ldiradi.
+ * To'ldirilguncha lookup'lar partition kalitisiz so'rovga tushadi va xaritani o'zi to'ldiradi.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductCategoryIndexLoader {
+
+  private final ProductRepository productRepository;
+  private final ProductCategoryIndex productCategoryIndex;
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(readOnly = true)
+  public void load() {
+    long start = System.currentTimeMillis();
+    try (Stream<ProductCategoryView> products = productRepository.streamCategories()) {
+      products.forEach(p -> productCategoryIndex.put(p.getId(), p.getCategory()));
+    }
+    log.info("Product category index built: {} products in {} ms",
+        productCategoryIndex.size(), System.currentTimeMillis() - start);
+  }
+}
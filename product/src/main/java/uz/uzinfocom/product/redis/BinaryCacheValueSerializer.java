@@ -0,0 +1,89 @@
+package uz.uzinfocom.product.redis;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Kesh qiymatlari uchun binar serializer.
+ * Format: [MAGIC][typeId varint][schemaVersion varint][payload].
+ * MAGIC bilan boshlanmagan qiymatlar (eski JSON yozuvlar) fallback orqali o'qiladi,
+ * codec'i yo'q turlar ham fallback bilan yoziladi.
+ */
+@Slf4j
+public class BinaryCacheValueSerializer implements RedisSerializer<Object> {
+
+  static final byte MAGIC = (byte) 0xB7;
+
+  private final Map<Class<?>, CacheValueCodec<?>> codecsByType = new HashMap<>();
+  private final Map<Integer, CacheValueCodec<?>> codecsById = new HashMap<>();
+  private final RedisSerializer<Object> fallback;
+  private final boolean writeBinary;
+
+  public BinaryCacheValueSerializer(List<CacheValueCodec<?>> codecs,
+      RedisSerializer<Object> fallback, boolean writeBinary) {
+    for (CacheValueCodec<?> codec : codecs) {
+      if (codecsById.put(codec.typeId(), codec) != null) {
+        throw new IllegalArgumentException("Duplicate cache codec type id: " + codec.typeId());
+      }
+      codecsByType.put(codec.type(), codec);
+    }
+    this.fallback = fallback;
+    this.writeBinary = writeBinary;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public byte[] serialize(Object value) throws SerializationException {
+    if (value == null) {
+      return new byte[0];
+    }
+    CacheValueCodec<Object> codec = (CacheValueCodec<Object>) codecsByType.get(value.getClass());
+    if (!writeBinary || codec == null) {
+      return fallback.serialize(value);
+    }
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeByte(MAGIC);
+      CodecSupport.writeVarInt(out, codec.typeId());
+      CodecSupport.writeVarInt(out, codec.schemaVersion());
+      codec.write(value, out);
+    } catch (IOException e) {
+      throw new SerializationException("Could not serialize cache value", e);
+    }
+    return bytes.toByteArray();
+  }
+
+  @Override
+  public Object deserialize(byte[] bytes) throws SerializationException {
+    if (bytes == null || bytes.length == 0) {
+      return null;
+    }
+    if (bytes[0] != MAGIC) {
+      return fallback.deserialize(bytes);
+    }
+
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 1, bytes.length - 1))) {
+      int typeId = CodecSupport.readVarInt(in);
+      int schemaVersion = CodecSupport.readVarInt(in);
+      CacheValueCodec<?> codec = codecsById.get(typeId);
+      if (codec == null) {
+        // Yangiroq instance yozgan tur - miss sifatida qaraymiz
+        log.debug("Unknown cache codec type id: {}", typeId);
+        return null;
+      }
+      return codec.read(in, schemaVersion);
+    } catch (IOException e) {
+      throw new SerializationException("Could not deserialize cache value", e);
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package uz.uzinfocom.product.redis;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Bitta kesh qiymati turi uchun binar codec.
+ * Har bir codec o'z typeId va schema versiyasiga ega; class nomi yozilmaydi.
+ * Yangi maydonlar oxiriga qo'shiladi, eski reader ortiqcha baytlarni e'tiborsiz qoldiradi.
+ */
+public interface CacheValueCodec<T> {
+
+  int typeId();
+
+  int schemaVersion();
+
+  Class<T> type();
+
+  void write(T value, DataOutputStream out) throws IOException;
+
+  /**
+   * @return null agar bu versiyani o'qib bo'lmasa (kesh miss sifatida qaraladi)
+   */
+  T read(DataInputStream in, int schemaVersion) throws IOException;
+}
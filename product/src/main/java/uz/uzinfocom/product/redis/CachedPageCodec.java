@@ -0,0 +1,85 @@
+package uz.uzinfocom.product.redis;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import uz.uzinfocom.product.cache.CachedPage;
+import uz.uzinfocom.product.dto.ProductResponseDto;
+
+/**
+ * CachedPage uchun codec.
+ * v1: totalElements, elementlar soni, keyin har bir product (uzunligi bilan) - product versiyasi yozilmagan (1).
+ * v2: totalElements, elementlar soni, product schema versiyasi, keyin har bir product (uzunligi bilan).
+ * Yangiroq versiyalar ham o'qiladi: elementlar o'zi yozilgan product versiyasi bilan o'qiladi.
+ */
+public class CachedPageCodec implements CacheValueCodec<CachedPage> {
+
+  public static final int TYPE_ID = 2;
+  private static final int SCHEMA_VERSION = 2;
+  // v1 sahifalarida elementlar shu versiyada yozilgan
+  private static final int V1_PRODUCT_VERSION = 1;
+
+  private final ProductResponseDtoCodec productCodec;
+
+  public CachedPageCodec(ProductResponseDtoCodec productCodec) {
+    this.productCodec = productCodec;
+  }
+
+  @Override
+  public int typeId() {
+    return TYPE_ID;
+  }
+
+  @Override
+  public int schemaVersion() {
+    return SCHEMA_VERSION;
+  }
+
+  @Override
+  public Class<CachedPage> type() {
+    return CachedPage.class;
+  }
+
+  @Override
+  public void write(CachedPage page, DataOutputStream out) throws IOException {
+    CodecSupport.writeVarLong(out, page.getTotalElements());
+    CodecSupport.writeVarInt(out, page.getContent().size());
+    CodecSupport.writeVarInt(out, productCodec.schemaVersion());
+    // Har bir element uzunlik bilan yoziladi - yangi maydonlarni eski reader o'tkazib yuboradi
+    ByteArrayOutputStream element = new ByteArrayOutputStream(256);
+    DataOutputStream elementOut = new DataOutputStream(element);
+    for (ProductResponseDto dto : page.getContent()) {
+      element.reset();
+      productCodec.write(dto, elementOut);
+      elementOut.flush();
+      CodecSupport.writeVarInt(out, element.size());
+      element.writeTo(out);
+    }
+  }
+
+  @Override
+  public CachedPage read(DataInputStream in, int schemaVersion) throws IOException {
+    if (schemaVersion < 1) {
+      return null;
+    }
+    long totalElements = CodecSupport.readVarLong(in);
+    int size = CodecSupport.readVarInt(in);
+    int productVersion = schemaVersion == 1 ? V1_PRODUCT_VERSION : CodecSupport.readVarInt(in);
+    List<ProductResponseDto> content = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      byte[] element = new byte[CodecSupport.readVarInt(in)];
+      in.readFully(element);
+      ProductResponseDto dto = productCodec.read(
+          new DataInputStream(new ByteArrayInputStream(element)), productVersion);
+      if (dto == null) {
+        return null;
+      }
+      content.add(dto);
+    }
+    return new CachedPage(content, totalElements);
+  }
+}
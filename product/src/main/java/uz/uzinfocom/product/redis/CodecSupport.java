@@ -0,0 +1,84 @@
+package uz.uzinfocom.product.redis;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Codec'lar uchun umumiy yozish/o'qish yordamchilari (varint, string, BigDecimal, vaqt).
+ */
+public final class CodecSupport {
+
+  private CodecSupport() {
+  }
+
+  public static void writeVarLong(DataOutputStream out, long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      out.writeByte((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.writeByte((int) value);
+  }
+
+  public static long readVarLong(DataInputStream in) throws IOException {
+    long result = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      int b = in.readUnsignedByte();
+      result |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return result;
+      }
+    }
+    throw new IOException("Malformed varint");
+  }
+
+  public static void writeVarInt(DataOutputStream out, int value) throws IOException {
+    writeVarLong(out, value & 0xFFFFFFFFL);
+  }
+
+  public static int readVarInt(DataInputStream in) throws IOException {
+    return (int) readVarLong(in);
+  }
+
+  public static void writeString(DataOutputStream out, String value) throws IOException {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    writeVarInt(out, bytes.length);
+    out.write(bytes);
+  }
+
+  public static String readString(DataInputStream in) throws IOException {
+    byte[] bytes = new byte[readVarInt(in)];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  public static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+    writeVarInt(out, value.scale());
+    byte[] unscaled = value.unscaledValue().toByteArray();
+    writeVarInt(out, unscaled.length);
+    out.write(unscaled);
+  }
+
+  public static BigDecimal readDecimal(DataInputStream in) throws IOException {
+    int scale = readVarInt(in);
+    byte[] unscaled = new byte[readVarInt(in)];
+    in.readFully(unscaled);
+    return new BigDecimal(new BigInteger(unscaled), scale);
+  }
+
+  public static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+    out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+    writeVarInt(out, value.getNano());
+  }
+
+  public static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+    long epochSecond = in.readLong();
+    int nano = readVarInt(in);
+    return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+  }
+}
@@ -0,0 +1,141 @@
+package uz.uzinfocom.product.redis;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import uz.uzinfocom.product.dto.ProductResponseDto;
+
+/**
+ * ProductResponseDto uchun binar codec.
+ * v1: null bo'lmagan maydonlar bitmaski, keyin maydonlar e'lon qilingan tartibda.
+ * Keyingi versiyalar faqat yangi bit va maydonni oxiriga qo'shadi: eski reader o'zi biladigan
+ * prefiksni o'qiydi, noma'lum bitlar va qolgan baytlar e'tiborsiz qoldiriladi.
+ * Maydonni o'chirish yoki tartibini o'zgartirish uchun yangi TYPE_ID kerak.
+ */
+public class ProductResponseDtoCodec implements CacheValueCodec<ProductResponseDto> {
+
+  public static final int TYPE_ID = 1;
+  private static final int SCHEMA_VERSION = 1;
+
+  private static final int ID = 1;
+  private static final int NAME = 1 << 1;
+  private static final int PRICE = 1 << 2;
+  private static final int CATEGORY = 1 << 3;
+  private static final int DESCRIPTION = 1 << 4;
+  private static final int CREATED_AT = 1 << 5;
+  private static final int UPDATED_AT = 1 << 6;
+  private static final int IS_ACTIVE = 1 << 7;
+  private static final int IMAGE_NAME = 1 << 8;
+  private static final int IMAGE_URL = 1 << 9;
+  private static final int IMAGE_CONTENT_TYPE = 1 << 10;
+
+  @Override
+  public int typeId() {
+    return TYPE_ID;
+  }
+
+  @Override
+  public int schemaVersion() {
+    return SCHEMA_VERSION;
+  }
+
+  @Override
+  public Class<ProductResponseDto> type() {
+    return ProductResponseDto.class;
+  }
+
+  @Override
+  public void write(ProductResponseDto dto, DataOutputStream out) throws IOException {
+    int mask = 0;
+    mask |= dto.getId() != null ? ID : 0;
+    mask |= dto.getName() != null ? NAME : 0;
+    mask |= dto.getPrice() != null ? PRICE : 0;
+    mask |= dto.getCategory() != null ? CATEGORY : 0;
+    mask |= dto.getDescription() != null ? DESCRIPTION : 0;
+    mask |= dto.getCreatedAt() != null ? CREATED_AT : 0;
+    mask |= dto.getUpdatedAt() != null ? UPDATED_AT : 0;
+    mask |= dto.getIsActive() != null ? IS_ACTIVE : 0;
+    mask |= dto.getImageName() != null ? IMAGE_NAME : 0;
+    mask |= dto.getImageUrl() != null ? IMAGE_URL : 0;
+    mask |= dto.getImageContentType() != null ? IMAGE_CONTENT_TYPE : 0;
+    CodecSupport.writeVarInt(out, mask);
+
+    if ((mask & ID) != 0) {
+      CodecSupport.writeVarLong(out, dto.getId());
+    }
+    if ((mask & NAME) != 0) {
+      CodecSupport.writeString(out, dto.getName());
+    }
+    if ((mask & PRICE) != 0) {
+      CodecSupport.writeDecimal(out, dto.getPrice());
+    }
+    if ((mask & CATEGORY) != 0) {
+      CodecSupport.writeString(out, dto.getCategory());
+    }
+    if ((mask & DESCRIPTION) != 0) {
+      CodecSupport.writeString(out, dto.getDescription());
+    }
+    if ((mask & CREATED_AT) != 0) {
+      CodecSupport.writeDateTime(out, dto.getCreatedAt());
+    }
+    if ((mask & UPDATED_AT) != 0) {
+      CodecSupport.writeDateTime(out, dto.getUpdatedAt());
+    }
+    if ((mask & IS_ACTIVE) != 0) {
+      out.writeBoolean(dto.getIsActive());
+    }
+    if ((mask & IMAGE_NAME) != 0) {
+      CodecSupport.writeString(out, dto.getImageName());
+    }
+    if ((mask & IMAGE_URL) != 0) {
+      CodecSupport.writeString(out, dto.getImageUrl());
+    }
+    if ((mask & IMAGE_CONTENT_TYPE) != 0) {
+      CodecSupport.writeString(out, dto.getImageContentType());
+    }
+  }
+
+  @Override
+  public ProductResponseDto read(DataInputStream in, int schemaVersion) throws IOException {
+    if (schemaVersion < 1) {
+      return null;
+    }
+    int mask = CodecSupport.readVarInt(in);
+
+    ProductResponseDto dto = new ProductResponseDto();
+    if ((mask & ID) != 0) {
+      dto.setId(CodecSupport.readVarLong(in));
+    }
+    if ((mask & NAME) != 0) {
+      dto.setName(CodecSupport.readString(in));
+    }
+    if ((mask & PRICE) != 0) {
+      dto.setPrice(CodecSupport.readDecimal(in));
+    }
+    if ((mask & CATEGORY) != 0) {
+      dto.setCategory(CodecSupport.readString(in));
+    }
+    if ((mask & DESCRIPTION) != 0) {
+      dto.setDescription(CodecSupport.readString(in));
+    }
+    if ((mask & CREATED_AT) != 0) {
+      dto.setCreatedAt(CodecSupport.readDateTime(in));
+    }
+    if ((mask & UPDATED_AT) != 0) {
+      dto.setUpdatedAt(CodecSupport.readDateTime(in));
+    }
+    if ((mask & IS_ACTIVE) != 0) {
+      dto.setIsActive(in.readBoolean());
+    }
+    if ((mask & IMAGE_NAME) != 0) {
+      dto.setImageName(CodecSupport.readString(in));
+    }
+    if ((mask & IMAGE_URL) != 0) {
+      dto.setImageUrl(CodecSupport.readString(in));
+    }
+    if ((mask & IMAGE_CONTENT_TYPE) != 0) {
+      dto.setImageContentType(CodecSupport.readString(in));
+    }
+    return dto;
+  }
+}
@@ -5,17 +5,29 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import java.time.Duration;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import uz.uzinfocom.product.cache.CacheInvalidationPublisher;
+import uz.uzinfocom.product.cache.CacheLoadLease;
+import uz.uzinfocom.product.cache.ProductCacheProperties;
+import uz.uzinfocom.product.cache.ProductNegativeCache;
+import uz.uzinfocom.product.cache.ProductPageCache;
+import uz.uzinfocom.product.cache.TwoTierCacheManager;
+import uz.uzinfocom.product.hotkey.HotKeyTracker;
 
 @Configuration
 @EnableCaching
@@ -64,12 +76,17 @@ public class RedisConfig {
   }
 
   @Bean
-  public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-    GenericJackson2JsonRedisSerializer serializer =
-        new GenericJackson2JsonRedisSerializer(redisObjectMapper());
+  public RedisCacheManager redisCacheManager(RedisConnectionFactory connectionFactory,
+      ProductCacheProperties cacheProperties) {
+    // Eski JSON yozuvlar fallback orqali o'qiladi
+    ProductResponseDtoCodec productCodec = new ProductResponseDtoCodec();
+    BinaryCacheValueSerializer serializer = new BinaryCacheValueSerializer(
+        List.of(productCodec, new CachedPageCodec(productCodec)),
+        new GenericJackson2JsonRedisSerializer(redisObjectMapper()),
+        cacheProperties.isBinaryValues());
 
     RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-        .entryTtl(Duration.ofHours(1))
+        .entryTtl(cacheProperties.getRedisTtl())
         .serializeKeysWith(
             RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer())
         )
@@ -79,9 +96,42 @@ public class RedisConfig {
 
     return RedisCacheManager.builder(connectionFactory)
         .cacheDefaults(config)
+        .withCacheConfiguration(ProductPageCache.CACHE_NAME,
+            config.entryTtl(cacheProperties.getPageTtl()))
+        .withCacheConfiguration(ProductNegativeCache.CACHE_NAME,
+            config.entryTtl(cacheProperties.getNegativeTtl()))
         .build();
   }
 
+  // L1 (Caffeine) + L2 (Redis)
+  @Bean
+  @Primary
+  public TwoTierCacheManager cacheManager(RedisCacheManager redisCacheManager,
+      ProductCacheProperties cacheProperties, StringRedisTemplate stringRedisTemplate,
+      MeterRegistry meterRegistry, RedisConnectionFactory connectionFactory,
+      HotKeyTracker hotKeyTracker) {
+    CacheInvalidationPublisher publisher = new CacheInvalidationPublisher(
+        stringRedisTemplate, cacheProperties.getInvalidationChannel());
+    CacheLoadLease lease = new CacheLoadLease(
+        stringRedisTemplate, publisher.getNodeId(), cacheProperties.getLoadLeaseTimeout());
+    TwoTierCacheManager cacheManager = new TwoTierCacheManager(redisCacheManager, cacheProperties,
+        publisher, meterRegistry, connectionFactory, lease);
+    cacheManager.getCache("products")
+        .setHotKeys(key -> key instanceof Long id && hotKeyTracker.isHot(id));
+    return cacheManager;
+  }
+
+  @Bean
+  public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+      RedisConnectionFactory connectionFactory, TwoTierCacheManager cacheManager,
+      ProductCacheProperties cacheProperties) {
+    RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    container.setConnectionFactory(connectionFactory);
+    container.addMessageListener(cacheManager,
+        new ChannelTopic(cacheProperties.getInvalidationChannel()));
+    return container;
+  }
+
 
 
   /*@Bean
@@ -0,0 +1,323 @@
+package uz.uzinfocom.product.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aktiv product nomlari bo'yicha JVM ichidagi inverted index.
+ * Token -> productId (exact va prefix uchun) va trigram -> token (xatoli yozuv uchun).
+ */
+@Slf4j
+@Component
+public class ProductSearchIndex {
+
+  private static final double EXACT_SCORE = 3.0;
+  private static final double PREFIX_SCORE = 2.0;
+  private static final double MIN_SIMILARITY = 0.4;
+  private static final int MIN_PREFIX_LENGTH = 2;
+  private static final int MIN_FUZZY_LENGTH = 3;
+
+  private final Map<Long, Set<String>> documents = new HashMap<>();
+  private final NavigableMap<String, Set<Long>> postings = new TreeMap<>();
+  private final Map<String, Set<String>> trigrams = new HashMap<>();
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  // Qayta qurish paytidagi jonli o'zgarishlar: id -> nom (null - o'chirilgan)
+  private Map<Long, String> journal;
+
+  public ProductSearchIndex(MeterRegistry meterRegistry) {
+    Gauge.builder("product.search.index.documents", this, ProductSearchIndex::documentCount)
+        .register(meterRegistry);
+    Gauge.builder("product.search.index.terms", this, ProductSearchIndex::termCount)
+        .register(meterRegistry);
+    Gauge.builder("product.search.index.memory", this, ProductSearchIndex::estimatedMemoryBytes)
+        .baseUnit("bytes")
+        .description("Estimated heap used by the product search index")
+        .register(meterRegistry);
+  }
+
+  public void put(Long productId, String name) {
+    Set<String> tokens = tokenize(name);
+    lock.writeLock().lock();
+    try {
+      putInternal(productId, tokens);
+      if (journal != null) {
+        journal.put(productId, name);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void remove(Long productId) {
+    lock.writeLock().lock();
+    try {
+      removeInternal(productId);
+      if (journal != null) {
+        journal.put(productId, null);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * @return score bo'yicha kamayish tartibidagi product id'lari
+   */
+  public List<Long> search(String query) {
+    Set<String> queryTokens = tokenize(query);
+    if (queryTokens.isEmpty()) {
+      return List.of();
+    }
+
+    Map<Long, Double> scores = new HashMap<>();
+    lock.readLock().lock();
+    try {
+      for (String queryToken : queryTokens) {
+        Map<Long, Double> tokenScores = new HashMap<>();
+        for (Map.Entry<String, Double> match : matchingTerms(queryToken).entrySet()) {
+          for (Long id : postings.get(match.getKey())) {
+            tokenScores.merge(id, match.getValue(), Math::max);
+          }
+        }
+        tokenScores.forEach((id, score) -> scores.merge(id, score, Double::sum));
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+
+    List<Map.Entry<Long, Double>> ranked = new ArrayList<>(scores.entrySet());
+    ranked.sort(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+        .thenComparing(Map.Entry.comparingByKey()));
+    List<Long> ids = new ArrayList<>(ranked.size());
+    for (Map.Entry<Long, Double> entry : ranked) {
+      ids.add(entry.getKey());
+    }
+    return ids;
+  }
+
+  /**
+   * Qayta qurish boshlanadi: shu paytdan put/remove jurnalga ham yoziladi (ProductFacets.beginReconcile kabi).
+   */
+  void beginRebuild() {
+    lock.writeLock().lock();
+    try {
+      journal = new LinkedHashMap<>();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Snapshot'dan kelgan yozuv - jurnalga tushmaydi.
+   */
+  void putSnapshot(Long productId, String name) {
+    Set<String> tokens = tokenize(name);
+    lock.writeLock().lock();
+    try {
+      putInternal(productId, tokens);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Snapshot'da bo'lmagan hujjatlar o'chiriladi, keyin jurnal qayta qo'llanadi: scan ochilgandan keyin
+   * yaratilganlar saqlanadi, scan paytida o'chirilganlar eski snapshot'dan qaytib kelmaydi.
+   */
+  void completeRebuild(Set<Long> snapshotIds) {
+    lock.writeLock().lock();
+    try {
+      for (Long productId : new ArrayList<>(documents.keySet())) {
+        if (!snapshotIds.contains(productId)) {
+          removeInternal(productId);
+        }
+      }
+      if (journal != null) {
+        journal.forEach((productId, name) -> {
+          if (name != null) {
+            putInternal(productId, tokenize(name));
+          } else {
+            removeInternal(productId);
+          }
+        });
+      }
+      journal = null;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  void abortRebuild() {
+    lock.writeLock().lock();
+    try {
+      journal = null;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void clear() {
+    lock.writeLock().lock();
+    try {
+      documents.clear();
+      postings.clear();
+      trigrams.clear();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public int documentCount() {
+    lock.readLock().lock();
+    try {
+      return documents.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public int termCount() {
+    lock.readLock().lock();
+    try {
+      return postings.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Taxminiy hajm: HashMap entry ~48 bayt, Long ~16, String ~40 + 1 bayt/belgi (compact strings).
+   */
+  public long estimatedMemoryBytes() {
+    lock.readLock().lock();
+    try {
+      long bytes = 0;
+      for (Set<String> tokens : documents.values()) {
+        bytes += 48 + 16 + 48 + tokens.size() * 48L;
+      }
+      for (Map.Entry<String, Set<Long>> entry : postings.entrySet()) {
+        bytes += 40 + 40 + entry.getKey().length() + 48 + entry.getValue().size() * 48L;
+      }
+      for (Set<String> tokens : trigrams.values()) {
+        bytes += 48 + 40 + 3 + 48 + tokens.size() * 48L;
+      }
+      return bytes;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  // Query token'iga mos keladigan index term'lari va ularning score'i
+  private Map<String, Double> matchingTerms(String queryToken) {
+    Map<String, Double> terms = new HashMap<>();
+    if (postings.containsKey(queryToken)) {
+      terms.put(queryToken, EXACT_SCORE);
+    }
+
+    if (queryToken.length() >= MIN_PREFIX_LENGTH) {
+      for (String term : postings.subMap(queryToken, false, queryToken + Character.MAX_VALUE, false).keySet()) {
+        terms.putIfAbsent(term, PREFIX_SCORE);
+      }
+    }
+
+    if (queryToken.length() >= MIN_FUZZY_LENGTH) {
+      Set<String> queryGrams = trigramsOf(queryToken);
+      Map<String, Integer> shared = new HashMap<>();
+      for (String gram : queryGrams) {
+        for (String term : trigrams.getOrDefault(gram, Set.of())) {
+          shared.merge(term, 1, Integer::sum);
+        }
+      }
+      for (Map.Entry<String, Integer> entry : shared.entrySet()) {
+        int termGrams = entry.getKey().length();
+        double similarity = (double) entry.getValue()
+            / (queryGrams.size() + termGrams - entry.getValue());
+        if (similarity >= MIN_SIMILARITY) {
+          terms.putIfAbsent(entry.getKey(), similarity);
+        }
+      }
+    }
+    return terms;
+  }
+
+  private void putInternal(Long productId, Set<String> tokens) {
+    removeInternal(productId);
+    documents.put(productId, tokens);
+    for (String token : tokens) {
+      Set<Long> ids = postings.get(token);
+      if (ids == null) {
+        ids = new HashSet<>();
+        postings.put(token, ids);
+        for (String gram : trigramsOf(token)) {
+          trigrams.computeIfAbsent(gram, g -> new HashSet<>()).add(token);
+        }
+      }
+      ids.add(productId);
+    }
+  }
+
+  private void removeInternal(Long productId) {
+    Set<String> tokens = documents.remove(productId);
+    if (tokens == null) {
+      return;
+    }
+    for (String token : tokens) {
+      Set<Long> ids = postings.get(token);
+      if (ids == null) {
+        continue;
+      }
+      ids.remove(productId);
+      if (ids.isEmpty()) {
+        postings.remove(token);
+        for (String gram : trigramsOf(token)) {
+          Set<String> terms = trigrams.get(gram);
+          if (terms != null) {
+            terms.remove(token);
+            if (terms.isEmpty()) {
+              trigrams.remove(gram);
+            }
+          }
+        }
+      }
+    }
+  }
+
+  static Set<String> tokenize(String text) {
+    Set<String> tokens = new LinkedHashSet<>();
+    if (text == null) {
+      return tokens;
+    }
+    for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+      if (!token.isEmpty()) {
+        tokens.add(token);
+      }
+    }
+    return tokens;
+  }
+
+  // "$" bilan chegaralangan trigramlar: "tv" -> {"$tv", "tv$"}
+  static Set<String> trigramsOf(String token) {
+    String padded = "$" + token + "$";
+    Set<String> grams = new HashSet<>();
+    for (int i = 0; i + 3 <= padded.length(); i++) {
+      grams.add(padded.substring(i, i + 3));
+    }
+    return grams;
+  }
+}
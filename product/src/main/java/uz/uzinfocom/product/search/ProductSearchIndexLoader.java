@@ -0,0 +1,53 @@
+package uz.uzinfocom.product.search;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import uz.uzinfocom.product.ProductNameView;
+import uz.uzinfocom.product.ProductRepository;
+
+/**
+ * Index'ni aktiv productlarning streaming scan'i bilan quradi: ishga tushganda, har rebuild-interval'da
+ * (pub/sub xabari yo'qolgan bo'lsa ham instance'lar yaqinlashadi) va boshqa instance so'raganda.
+ * Index tozalanmaydi: yozuvlar ustidan yoziladi, bazada yo'qlari oxirida o'chiriladi -
+ * qayta qurish paytida qidiruv to'liq index'dan ishlaydi. Scan paytidagi jonli o'zgarishlar jurnal
+ * orqali oxirida qayta qo'llanadi. Bir vaqtda faqat bitta qayta qurish ishlaydi (jurnal bitta).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndexLoader {
+
+  private final ProductRepository productRepository;
+  private final ProductSearchIndex productSearchIndex;
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(fixedDelayString = "${product.search.rebuild-interval:PT15M}",
+      initialDelayString = "${product.search.rebuild-interval:PT15M}")
+  @Transactional(readOnly = true)
+  public synchronized void load() {
+    long start = System.currentTimeMillis();
+    Set<Long> seen = new HashSet<>();
+    productSearchIndex.beginRebuild();
+    try (Stream<ProductNameView> products = productRepository.streamActiveNames()) {
+      products.forEach(p -> {
+        productSearchIndex.putSnapshot(p.getId(), p.getName());
+        seen.add(p.getId());
+      });
+    } catch (RuntimeException e) {
+      productSearchIndex.abortRebuild();
+      throw e;
+    }
+    productSearchIndex.completeRebuild(seen);
+    log.info("Product search index built: {} products, {} terms in {} ms",
+        productSearchIndex.documentCount(), productSearchIndex.termCount(),
+        System.currentTimeMillis() - start);
+  }
+}
@@ -0,0 +1,121 @@
+package uz.uzinfocom.product.search;
+
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Index o'zgarishlarini Redis pub/sub orqali boshqa instance'larga tarqatadi (L1 invalidatsiyasi kabi).
+ * Xabar formati: {nodeId}|P|{id}|{name} (put), {nodeId}|R|{id} (remove), {nodeId}|L (qayta qurish).
+ * Yo'qolgan xabarlarni ProductSearchIndexLoader'ning davriy qayta qurishi tuzatadi.
+ */
+@Slf4j
+@Component
+public class ProductSearchIndexSync implements MessageListener {
+
+  private static final String SEPARATOR = "|";
+
+  private final ProductSearchIndex productSearchIndex;
+  private final ProductSearchIndexLoader productSearchIndexLoader;
+  private final StringRedisTemplate redisTemplate;
+  private final String channel;
+  private final String nodeId = UUID.randomUUID().toString();
+  // To'liq scan Redis listener thread'ini band qilmasligi uchun alohida thread'da
+  private final ExecutorService reloadExecutor;
+  // Navbatda turgan qayta qurish bo'lsa yangi so'rovlar unga qo'shiladi
+  private final AtomicBoolean reloadPending = new AtomicBoolean();
+
+  public ProductSearchIndexSync(ProductSearchIndex productSearchIndex,
+      ProductSearchIndexLoader productSearchIndexLoader, StringRedisTemplate redisTemplate,
+      RedisMessageListenerContainer listenerContainer,
+      @Value("${product.search.sync-channel:product-search-index}") String channel) {
+    this.productSearchIndex = productSearchIndex;
+    this.productSearchIndexLoader = productSearchIndexLoader;
+    this.redisTemplate = redisTemplate;
+    this.channel = channel;
+    CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("product-search-reload-");
+    threadFactory.setDaemon(true);
+    this.reloadExecutor = Executors.newSingleThreadExecutor(threadFactory);
+    listenerContainer.addMessageListener(this, new ChannelTopic(channel));
+  }
+
+  public void put(Long productId, String name) {
+    productSearchIndex.put(productId, name);
+    publish("P" + SEPARATOR + productId + SEPARATOR + name);
+  }
+
+  public void remove(Long productId) {
+    productSearchIndex.remove(productId);
+    publish("R" + SEPARATOR + productId);
+  }
+
+  /**
+   * Ommaviy o'zgarishdan keyin (import) boshqa instance'lar index'ni bazadan qayta quradi.
+   */
+  public void requestReload() {
+    publish("L");
+  }
+
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\" + SEPARATOR, 4);
+    if (parts.length < 2 || nodeId.equals(parts[0])) {
+      return;
+    }
+    try {
+      switch (parts[1]) {
+        case "P" -> productSearchIndex.put(Long.valueOf(parts[2]), parts[3]);
+        case "R" -> productSearchIndex.remove(Long.valueOf(parts[2]));
+        case "L" -> scheduleReload();
+        default -> log.warn("Unknown search index sync message: {}", parts[1]);
+      }
+    } catch (RuntimeException e) {
+      log.warn("Could not apply search index sync message", e);
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    reloadExecutor.shutdownNow();
+  }
+
+  private void scheduleReload() {
+    if (!reloadPending.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      reloadExecutor.execute(() -> {
+        reloadPending.set(false);
+        try {
+          productSearchIndexLoader.load();
+        } catch (RuntimeException e) {
+          log.warn("Search index reload failed", e);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      reloadPending.set(false);
+    }
+  }
+
+  private void publish(String body) {
+    try {
+      redisTemplate.convertAndSend(channel, nodeId + SEPARATOR + body);
+    } catch (Exception e) {
+      // Davriy qayta qurish baribir yaqinlashtiradi
+      log.warn("Could not publish search index change", e);
+    }
+  }
+}
@@ -0,0 +1,61 @@
+package uz.uzinfocom.product.warmup;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import uz.uzinfocom.product.dto.HotKeyDto;
+import uz.uzinfocom.product.hotkey.HotKeyTracker;
+
+/**
+ * Warm-up snapshot uchun kalitlar. Product id'lar alohida sanalmaydi - HotKeyTracker'ning top-K'si olinadi
+ * (sketch xotirasi o'zgarmas). Bu yerda faqat listing sahifalari sanaladi: ular soni kichik,
+ * maxTrackedPages bilan cheklangan - to'lgandan keyin faqat mavjud sahifalar sanaladi.
+ */
+@Component
+public class ProductAccessTracker {
+
+  private final WarmupProperties properties;
+  private final HotKeyTracker hotKeyTracker;
+  private final Map<WarmupPage, LongAdder> pages = new ConcurrentHashMap<>();
+
+  public ProductAccessTracker(WarmupProperties properties, HotKeyTracker hotKeyTracker) {
+    this.properties = properties;
+    this.hotKeyTracker = hotKeyTracker;
+  }
+
+  /**
+   * @param category null bo'lsa - umumiy listing
+   */
+  public void recordPage(String category, Pageable pageable) {
+    WarmupPage page = new WarmupPage(category, pageable);
+    LongAdder count = pages.get(page);
+    if (count == null) {
+      if (pages.size() >= properties.getMaxTrackedPages()) {
+        return;
+      }
+      count = pages.computeIfAbsent(page, k -> new LongAdder());
+    }
+    count.increment();
+  }
+
+  /**
+   * Joriy issiq id'lar va eng ko'p so'ralgan sahifalarni oladi; sahifa hisobi yangidan boshlanadi.
+   */
+  public WarmupSnapshot drain() {
+    List<Long> ids = hotKeyTracker.topK().stream()
+        .map(HotKeyDto::getId)
+        .limit(properties.getMaxIds())
+        .toList();
+    List<WarmupPage> topPages = pages.entrySet().stream()
+        .sorted(Comparator.comparingLong((Map.Entry<WarmupPage, LongAdder> e) -> e.getValue().sum()).reversed())
+        .limit(properties.getMaxPages())
+        .map(Map.Entry::getKey)
+        .toList();
+    pages.clear();
+    return new WarmupSnapshot(ids, topPages);
+  }
+}
@@ -0,0 +1,173 @@
+package uz.uzinfocom.product.warmup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import uz.uzinfocom.product.ProductService;
+import uz.uzinfocom.product.minio.MinioObjectInfo;
+import uz.uzinfocom.product.minio.MinioService;
+
+/**
+ * Startup'da eng ko'p so'ralgan product'lar va listing sahifalarini keshga (L1 + Redis) yuklaydi.
+ * Lifecycle phase Eureka ro'yxatdan o'tishidan (phase 0) va web server'dan oldin, shuning uchun
+ * instance isitib bo'lingandan keyin (yoki timeBudget tugagach) trafik qabul qila boshlaydi.
+ * Kalitlar ro'yxati MinIO'da saqlanadi va vaqti-vaqti bilan yangilanadi.
+ */
+@Slf4j
+@Component
+public class ProductCacheWarmer implements SmartLifecycle {
+
+  // EurekaAutoServiceRegistration phase'idan oldin
+  private static final int PHASE = -1;
+
+  private final ProductService productService;
+  private final MinioService minioService;
+  private final ProductAccessTracker accessTracker;
+  private final WarmupProperties properties;
+  private final MeterRegistry meterRegistry;
+  private volatile boolean running;
+
+  public ProductCacheWarmer(ProductService productService, MinioService minioService,
+      ProductAccessTracker accessTracker, WarmupProperties properties, MeterRegistry meterRegistry) {
+    this.productService = productService;
+    this.minioService = minioService;
+    this.accessTracker = accessTracker;
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public void start() {
+    running = true;
+    if (!properties.isEnabled()) {
+      return;
+    }
+    try {
+      Optional<WarmupSnapshot> snapshot = readSnapshot();
+      if (snapshot.isPresent()) {
+        warmUp(snapshot.get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Exception e) {
+      // Isitish ixtiyoriy - xato startup'ni to'xtatmaydi
+      log.warn("Cache warm-up failed, starting cold", e);
+    }
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  @Override
+  public int getPhase() {
+    return PHASE;
+  }
+
+  @Scheduled(fixedDelayString = "${product.warmup.snapshot-interval:PT5M}",
+      initialDelayString = "${product.warmup.snapshot-interval:PT5M}")
+  public void writeSnapshot() {
+    WarmupSnapshot snapshot = accessTracker.drain();
+    // Trafik bo'lmagan oraliqda oldingi ro'yxat saqlanib qoladi
+    if (snapshot.isEmpty()) {
+      return;
+    }
+    try {
+      minioService.uploadBytes(snapshot.encode(), "text/plain", properties.getSnapshotObject());
+      log.debug("Warm-up snapshot written: {} ids, {} pages",
+          snapshot.getIds().size(), snapshot.getPages().size());
+    } catch (Exception e) {
+      log.warn("Could not write warm-up snapshot", e);
+    }
+  }
+
+  void warmUp(WarmupSnapshot snapshot) throws InterruptedException {
+    List<Callable<Void>> tasks = new ArrayList<>();
+    AtomicInteger loadedIds = new AtomicInteger();
+    AtomicInteger loadedPages = new AtomicInteger();
+
+    // Avval id'lar: buyurtma va product sahifalari eng ko'p shularni so'raydi
+    List<Long> ids = snapshot.getIds();
+    for (int from = 0; from < ids.size(); from += properties.getBatchSize()) {
+      List<Long> batch = ids.subList(from, Math.min(from + properties.getBatchSize(), ids.size()));
+      tasks.add(() -> {
+        loadedIds.addAndGet(productService.getProductsByIds(batch).getProducts().size());
+        return null;
+      });
+    }
+    for (WarmupPage page : snapshot.getPages()) {
+      tasks.add(() -> {
+        if (page.getCategory() != null) {
+          productService.getProductsByCategory(page.getCategory(), page.toPageable());
+        } else {
+          productService.getAllProducts(page.toPageable());
+        }
+        loadedPages.incrementAndGet();
+        return null;
+      });
+    }
+
+    CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("cache-warmup-");
+    threadFactory.setDaemon(true);
+    ExecutorService executor = Executors.newFixedThreadPool(properties.getConcurrency(), threadFactory);
+    long start = System.nanoTime();
+    int failed = 0;
+    int timedOut = 0;
+    try {
+      // Muddat tugasa tugallanmagan vazifalar bekor qilinadi
+      List<Future<Void>> results = executor.invokeAll(tasks,
+          properties.getTimeBudget().toMillis(), TimeUnit.MILLISECONDS);
+      for (Future<Void> result : results) {
+        if (result.isCancelled()) {
+          timedOut++;
+          continue;
+        }
+        try {
+          result.get();
+        } catch (Exception e) {
+          failed++;
+          log.debug("Warm-up task failed", e);
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    long elapsed = System.nanoTime() - start;
+    meterRegistry.timer("product.warmup").record(elapsed, TimeUnit.NANOSECONDS);
+    log.info("Cache warm-up finished in {} ms: {} products, {} pages, {} failed, {} not finished in time",
+        TimeUnit.NANOSECONDS.toMillis(elapsed), loadedIds.get(), loadedPages.get(), failed, timedOut);
+  }
+
+  private Optional<WarmupSnapshot> readSnapshot() throws Exception {
+    Optional<MinioObjectInfo> info = minioService.findFile(properties.getSnapshotObject());
+    if (info.isEmpty()) {
+      log.info("No warm-up snapshot found, starting cold");
+      return Optional.empty();
+    }
+    try (InputStream in = minioService.getFile(properties.getSnapshotObject())) {
+      WarmupSnapshot snapshot = WarmupSnapshot.read(in);
+      log.info("Warming up caches: {} ids, {} pages, budget {}",
+          snapshot.getIds().size(), snapshot.getPages().size(), properties.getTimeBudget());
+      return Optional.of(snapshot);
+    }
+  }
+}
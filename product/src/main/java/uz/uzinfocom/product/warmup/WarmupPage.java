@@ -0,0 +1,83 @@
+package uz.uzinfocom.product.warmup;
+
+import java.util.Objects;
+import lombok.Getter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Keshlanadigan listing sahifasi: category (null - umumiy listing) va Pageable.
+ * Matn ko'rinishi: page|size|sort|category, sort - "property:DIRECTION" yoki bo'sh.
+ */
+@Getter
+public class WarmupPage {
+
+  private static final String SEPARATOR = "|";
+
+  private final String category;
+  private final int page;
+  private final int size;
+  private final String sortProperty;
+  private final Sort.Direction direction;
+
+  public WarmupPage(String category, Pageable pageable) {
+    this.category = category;
+    this.page = pageable.getPageNumber();
+    this.size = pageable.getPageSize();
+    Sort.Order order = pageable.getSort().stream().findFirst().orElse(null);
+    this.sortProperty = order != null ? order.getProperty() : null;
+    this.direction = order != null ? order.getDirection() : null;
+  }
+
+  public Pageable toPageable() {
+    return sortProperty != null
+        ? PageRequest.of(page, size, Sort.by(direction, sortProperty))
+        : PageRequest.of(page, size);
+  }
+
+  public String encode() {
+    String sort = sortProperty != null ? sortProperty + ":" + direction.name() : "";
+    return page + SEPARATOR + size + SEPARATOR + sort + SEPARATOR + (category != null ? category : "");
+  }
+
+  public static WarmupPage decode(String value) {
+    String[] parts = value.split("\\" + SEPARATOR, 4);
+    if (parts.length != 4) {
+      throw new IllegalArgumentException("Invalid warm-up page: " + value);
+    }
+    int page = Integer.parseInt(parts[0]);
+    int size = Integer.parseInt(parts[1]);
+    Pageable pageable = PageRequest.of(page, size);
+    if (!parts[2].isEmpty()) {
+      int colon = parts[2].lastIndexOf(':');
+      pageable = PageRequest.of(page, size,
+          Sort.by(Sort.Direction.valueOf(parts[2].substring(colon + 1)), parts[2].substring(0, colon)));
+    }
+    return new WarmupPage(parts[3].isEmpty() ? null : parts[3], pageable);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof WarmupPage other)) {
+      return false;
+    }
+    return page == other.page && size == other.size
+        && Objects.equals(category, other.category)
+        && Objects.equals(sortProperty, other.sortProperty)
+        && direction == other.direction;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(category, page, size, sortProperty, direction);
+  }
+
+  @Override
+  public String toString() {
+    return encode();
+  }
+}
@@ -0,0 +1,29 @@
+package uz.uzinfocom.product.warmup;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "product.warmup")
+public class WarmupProperties {
+
+  private boolean enabled = true;
+
+  // Startup'da keshni isitishga ajratilgan vaqt; tugagach instance baribir Eureka'da ro'yxatdan o'tadi
+  private Duration timeBudget = Duration.ofSeconds(30);
+  // Bir vaqtda bajariladigan yuklashlar (DB pool'dan kichik bo'lishi kerak)
+  private int concurrency = 4;
+  private int batchSize = 200;
+
+  // Eng ko'p so'ralgan kalitlar ro'yxati MinIO'ga shu oraliqda yoziladi (Redis flush'dan keyin ham qoladi)
+  private Duration snapshotInterval = Duration.ofMinutes(5);
+  private String snapshotObject = "warmup/product-hot-keys.txt";
+  // Id'lar HotKeyTracker top-K'sidan olinadi, shuning uchun amalda product.hotkeys.top-k dan oshmaydi
+  private int maxIds = 5_000;
+  private int maxPages = 200;
+  // Snapshot'lar orasida kuzatiladigan listing sahifalari chegarasi (xotira uchun)
+  private int maxTrackedPages = 1_000;
+}
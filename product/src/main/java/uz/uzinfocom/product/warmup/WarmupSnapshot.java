@@ -0,0 +1,62 @@
+package uz.uzinfocom.product.warmup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Eng ko'p so'ralgan product id'lari va listing sahifalari (ko'pdan kamga).
+ * Format - har satrda bitta kalit: "i:" + id yoki "p:" + WarmupPage.encode().
+ * Noma'lum satrlar tashlab yuboriladi.
+ */
+@Slf4j
+@Getter
+public class WarmupSnapshot {
+
+  private static final String ID_PREFIX = "i:";
+  private static final String PAGE_PREFIX = "p:";
+
+  private final List<Long> ids;
+  private final List<WarmupPage> pages;
+
+  public WarmupSnapshot(List<Long> ids, List<WarmupPage> pages) {
+    this.ids = ids;
+    this.pages = pages;
+  }
+
+  public boolean isEmpty() {
+    return ids.isEmpty() && pages.isEmpty();
+  }
+
+  public byte[] encode() {
+    StringBuilder out = new StringBuilder(ids.size() * 10 + pages.size() * 32);
+    ids.forEach(id -> out.append(ID_PREFIX).append(id).append('\n'));
+    pages.forEach(page -> out.append(PAGE_PREFIX).append(page.encode()).append('\n'));
+    return out.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  public static WarmupSnapshot read(InputStream in) throws IOException {
+    List<Long> ids = new ArrayList<>();
+    List<WarmupPage> pages = new ArrayList<>();
+    BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    String line;
+    while ((line = reader.readLine()) != null) {
+      try {
+        if (line.startsWith(ID_PREFIX)) {
+          ids.add(Long.parseLong(line.substring(ID_PREFIX.length())));
+        } else if (line.startsWith(PAGE_PREFIX)) {
+          pages.add(WarmupPage.decode(line.substring(PAGE_PREFIX.length())));
+        }
+      } catch (IllegalArgumentException e) {
+        log.debug("Skipping invalid warm-up snapshot line: {}", line);
+      }
+    }
+    return new WarmupSnapshot(ids, pages);
+  }
+}
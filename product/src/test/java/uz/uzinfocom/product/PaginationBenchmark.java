@@ -0,0 +1,59 @@
+package uz.uzinfocom.product;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Set;
+
+/**
+ * OFFSET va cursor pagination'ni chuqur sahifalarda solishtirish.
+ * Ishlab turgan product servisiga qarshi qo'lda ishga tushiriladi:
+ * main [baseUrl] [pageSize], masalan: http://localhost:8081 20
+ * (10 000-sahifa uchun bazada kamida 10 000 * pageSize aktiv product bo'lishi kerak)
+ */
+public class PaginationBenchmark {
+
+  private static final Set<Integer> MILESTONES = Set.of(1, 10, 100, 1_000, 5_000, 10_000);
+  private static final int LAST_PAGE = 10_000;
+
+  public static void main(String[] args) throws Exception {
+    String baseUrl = args.length > 0 ? args[0] : "http://localhost:8081";
+    int size = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+    HttpClient client = HttpClient.newHttpClient();
+    ObjectMapper mapper = new ObjectMapper();
+
+    System.out.println("page     offset(ms)  cursor(ms)");
+    String cursor = null;
+    for (int page = 1; page <= LAST_PAGE; page++) {
+      String cursorUrl = baseUrl + "/api/products/cursor?size=" + size
+          + (cursor != null ? "&cursor=" + cursor : "");
+
+      long start = System.nanoTime();
+      JsonNode body = mapper.readTree(get(client, cursorUrl));
+      double cursorMs = (System.nanoTime() - start) / 1_000_000.0;
+
+      if (MILESTONES.contains(page)) {
+        // Offset sahifalari keshlanadi, shuning uchun har bir sahifa faqat bir marta (sovuq) o'lchanadi
+        String offsetUrl = baseUrl + "/api/products?size=" + size + "&page=" + (page - 1);
+        start = System.nanoTime();
+        get(client, offsetUrl);
+        double offsetMs = (System.nanoTime() - start) / 1_000_000.0;
+        System.out.printf("%-8d %10.2f  %10.2f%n", page, offsetMs, cursorMs);
+      }
+
+      if (!body.path("hasNext").asBoolean()) {
+        System.out.println("Reached last page at " + page);
+        break;
+      }
+      cursor = body.path("nextCursor").asText();
+    }
+  }
+
+  private static String get(HttpClient client, String url) throws Exception {
+    HttpRequest request = HttpRequest.newBuilder(URI.create(url)).GET().build();
+    return client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+  }
+}
@@ -0,0 +1,93 @@
+package uz.uzinfocom.product;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * id bo'yicha lookup narxi: faqat id (barcha partition'lar) va id + category (bitta partition).
+ * Vaqtinchalik bench_products jadvalida partition soni oshib boradi.
+ * Postgres'ga qarshi qo'lda ishga tushiriladi:
+ * main [jdbcUrl] [user] [password], masalan: jdbc:postgresql://localhost:5432/product_db postgres root123
+ */
+public class PartitionPruningBenchmark {
+
+  private static final int[] PARTITIONS = {4, 16, 64, 256};
+  private static final int ROWS_PER_PARTITION = 10_000;
+  private static final int WARMUP = 5_000;
+  private static final int LOOKUPS = 20_000;
+
+  public static void main(String[] args) throws Exception {
+    String url = args.length > 0 ? args[0] : "jdbc:postgresql://localhost:5432/product_db";
+    String user = args.length > 1 ? args[1] : "postgres";
+    String password = args.length > 2 ? args[2] : "root123";
+
+    try (Connection connection = DriverManager.getConnection(url, user, password)) {
+      System.out.println("partitions  id-only(us)  id+category(us)");
+      for (int partitions : PARTITIONS) {
+        setUp(connection, partitions);
+        try {
+          double unpruned = measure(connection, partitions, false);
+          double pruned = measure(connection, partitions, true);
+          System.out.printf("%-10d  %11.1f  %15.1f%n", partitions, unpruned, pruned);
+        } finally {
+          try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_products");
+          }
+        }
+      }
+    }
+  }
+
+  private static void setUp(Connection connection, int partitions) throws Exception {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("DROP TABLE IF EXISTS bench_products");
+      statement.execute("CREATE TABLE bench_products (id BIGINT NOT NULL, category VARCHAR(100) NOT NULL,"
+          + " name VARCHAR(255) NOT NULL, is_active BOOLEAN NOT NULL DEFAULT true,"
+          + " PRIMARY KEY (id, category)) PARTITION BY LIST (category)");
+      for (int p = 0; p < partitions; p++) {
+        statement.execute("CREATE TABLE bench_products_" + p + " PARTITION OF bench_products"
+            + " FOR VALUES IN ('C" + p + "')");
+      }
+      // id'lar partition'lar bo'ylab aralash: id % partitions
+      statement.execute("INSERT INTO bench_products (id, category, name)"
+          + " SELECT g, 'C' || (g % " + partitions + "), 'product ' || g"
+          + " FROM generate_series(1, " + (long) partitions * ROWS_PER_PARTITION + ") g");
+      statement.execute("ANALYZE bench_products");
+    }
+  }
+
+  private static double measure(Connection connection, int partitions, boolean pruned) throws Exception {
+    String sql = pruned
+        ? "SELECT id, name FROM bench_products WHERE id = ? AND category = ? AND is_active = true"
+        : "SELECT id, name FROM bench_products WHERE id = ? AND is_active = true";
+    long maxId = (long) partitions * ROWS_PER_PARTITION;
+    try (PreparedStatement statement = connection.prepareStatement(sql)) {
+      for (int i = 0; i < WARMUP; i++) {
+        lookup(statement, partitions, maxId, pruned);
+      }
+      long start = System.nanoTime();
+      for (int i = 0; i < LOOKUPS; i++) {
+        lookup(statement, partitions, maxId, pruned);
+      }
+      return (System.nanoTime() - start) / 1_000.0 / LOOKUPS;
+    }
+  }
+
+  private static void lookup(PreparedStatement statement, int partitions, long maxId, boolean pruned)
+      throws Exception {
+    long id = ThreadLocalRandom.current().nextLong(1, maxId + 1);
+    statement.setLong(1, id);
+    if (pruned) {
+      statement.setString(2, "C" + (id % partitions));
+    }
+    try (ResultSet resultSet = statement.executeQuery()) {
+      if (!resultSet.next()) {
+        throw new IllegalStateException("Row not found: " + id);
+      }
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package uz.uzinfocom.product;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Function;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import uz.uzinfocom.product.dto.ProductResponseDto;
+
+/**
+ * Listing sahifasini o'qish: managed entity + mapToResponseDto nusxasi,
+ * JPQL constructor expression (ProductRepository.RESPONSE_DTO) bilan to'g'ridan-to'g'ri DTO
+ * va shu projection ustidagi cursor (keyset) sahifa - ProductDtoScrollRepositoryImpl.
+ * Har bir usul uchun so'rov narxi (us) va bitta so'rovdagi ajratilgan xotira (KB) chiqariladi.
+ * Liquibase bilan yaratilgan product_db'ga qarshi qo'lda ishga tushiriladi:
+ * main [jdbcUrl] [user] [password] [pageSize], masalan: jdbc:postgresql://localhost:5432/product_db postgres root123 50
+ */
+public class ProjectionBenchmark {
+
+  private static final int WARMUP = 2_000;
+  private static final int ITERATIONS = 10_000;
+
+  public static void main(String[] args) {
+    String url = args.length > 0 ? args[0] : "jdbc:postgresql://localhost:5432/product_db";
+    String user = args.length > 1 ? args[1] : "postgres";
+    String password = args.length > 2 ? args[2] : "root123";
+    int pageSize = args.length > 3 ? Integer.parseInt(args[3]) : 50;
+
+    Configuration configuration = new Configuration()
+        .addAnnotatedClass(ProductEntity.class)
+        .setProperty(AvailableSettings.JAKARTA_JDBC_URL, url)
+        .setProperty(AvailableSettings.JAKARTA_JDBC_USER, user)
+        .setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, password)
+        .setProperty(AvailableSettings.SHOW_SQL, "false");
+
+    try (SessionFactory sessionFactory = configuration.buildSessionFactory()) {
+      // Servisdagi kabi: entity tranzaksiya ichida yuklanadi va DTO'ga nusxalanadi
+      Function<Session, List<ProductResponseDto>> entities = session -> session
+          .createSelectionQuery("SELECT p FROM ProductEntity p WHERE p.isActive = true ORDER BY p.id",
+              ProductEntity.class)
+          .setMaxResults(pageSize)
+          .getResultList().stream()
+          .map(ProjectionBenchmark::toDto)
+          .toList();
+      Function<Session, List<ProductResponseDto>> projection = session -> session
+          .createSelectionQuery(ProductRepository.RESPONSE_DTO + " WHERE p.isActive = true ORDER BY p.id",
+              ProductResponseDto.class)
+          .setMaxResults(pageSize)
+          .getResultList();
+      // Ikkinchi sahifa: keyset sharti bilan (birinchi sahifa cursor'idan keyin)
+      ProductCursor first = ProductCursor.first("price", "ASC");
+      Function<Session, List<ProductResponseDto>> cursor = session -> {
+        ProductDtoScrollRepositoryImpl repository = new ProductDtoScrollRepositoryImpl(session);
+        List<ProductResponseDto> firstPage = repository.scrollActiveDtos(null, first, pageSize).getContent();
+        if (firstPage.isEmpty()) {
+          return firstPage;
+        }
+        ProductCursor next = ProductCursor.decode(first.next(firstPage.get(firstPage.size() - 1)));
+        return repository.scrollActiveDtos(null, next, pageSize).getContent();
+      };
+
+      System.out.println("mode         latency(us)  allocated(KB)");
+      report("entity", sessionFactory, entities, false);
+      report("projection", sessionFactory, projection, true);
+      report("cursor", sessionFactory, cursor, true);
+    }
+  }
+
+  private static void report(String mode, SessionFactory sessionFactory,
+      Function<Session, List<ProductResponseDto>> query, boolean readOnly) {
+    for (int i = 0; i < WARMUP; i++) {
+      run(sessionFactory, query, readOnly);
+    }
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long thread = Thread.currentThread().getId();
+    long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      run(sessionFactory, query, readOnly);
+    }
+    double latencyUs = (System.nanoTime() - start) / 1_000.0 / ITERATIONS;
+    double allocatedKb = (threads.getThreadAllocatedBytes(thread) - allocatedBefore) / 1024.0 / ITERATIONS;
+    System.out.printf("%-12s %11.1f  %13.1f%n", mode, latencyUs, allocatedKb);
+  }
+
+  private static void run(SessionFactory sessionFactory,
+      Function<Session, List<ProductResponseDto>> query, boolean readOnly) {
+    sessionFactory.inTransaction(session -> {
+      session.setDefaultReadOnly(readOnly);
+      if (query.apply(session).isEmpty()) {
+        throw new IllegalStateException("No active products to read");
+      }
+    });
+  }
+
+  // ProductServiceImpl.mapToResponseDto bilan bir xil
+  private static ProductResponseDto toDto(ProductEntity product) {
+    ProductResponseDto dto = new ProductResponseDto();
+    dto.setId(product.getId());
+    dto.setName(product.getName());
+    dto.setPrice(product.getPrice());
+    dto.setCategory(product.getCategory());
+    dto.setDescription(product.getDescription());
+    dto.setImageName(product.getImageName());
+    dto.setImageUrl(product.getImageName() != null ? ProductResponseDto.imageUrl(product.getId()) : null);
+    dto.setImageContentType(product.getImageContentType());
+    dto.setCreatedAt(product.getCreatedAt());
+    dto.setUpdatedAt(product.getUpdatedAt());
+    dto.setIsActive(product.getIsActive());
+    return dto;
+  }
+}
@@ -0,0 +1,57 @@
+package uz.uzinfocom.product.bulk;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+
+class ProductRowReaderTests {
+
+  @Test
+  void readsQuotedCsvFieldsWithCommasAndNewlines() throws Exception {
+    String csv = "category,name,price,description\r\n"
+        + "BOOKS,\"Clean Code, 2nd\",35.50,\"Line one\nline \"\"two\"\"\"\r\n"
+        + "FOOD,Apple,abc,\n";
+    CsvProductRowReader reader = new CsvProductRowReader(new StringReader(csv), 1024);
+
+    ProductRow first = reader.next();
+    assertEquals(2, first.getLine());
+    assertEquals("Clean Code, 2nd", first.getProduct().getName());
+    assertEquals(new BigDecimal("35.50"), first.getProduct().getPrice());
+    assertEquals("Line one\nline \"two\"", first.getProduct().getDescription());
+
+    ProductRow second = reader.next();
+    assertEquals(4, second.getLine());
+    assertNotNull(second.getError());
+
+    assertNull(reader.next());
+  }
+
+  @Test
+  void reportsInvalidAndOversizedNdjsonLinesAndContinues() throws Exception {
+    String ndjson = "{\"name\":\"Phone\",\"price\":10,\"category\":\"ELECTRONICS\"}\n"
+        + "\n"
+        + "{not json}\n"
+        + "null\n"
+        + "{\"name\":\"" + "x".repeat(100) + "\"}\n"
+        + "{\"name\":\"Tea\",\"price\":2.5,\"category\":\"FOOD\"}";
+    NdjsonProductRowReader reader = new NdjsonProductRowReader(new StringReader(ndjson), new ObjectMapper(), 64);
+
+    assertEquals("Phone", reader.next().getProduct().getName());
+    assertNotNull(reader.next().getError());
+    ProductRow nullRow = reader.next();
+    assertEquals(4, nullRow.getLine());
+    assertEquals("row must be a JSON object", nullRow.getError());
+    ProductRow oversized = reader.next();
+    assertEquals(5, oversized.getLine());
+    assertNotNull(oversized.getError());
+    ProductRow last = reader.next();
+    assertEquals(6, last.getLine());
+    assertEquals("Tea", last.getProduct().getName());
+    assertNull(reader.next());
+  }
+}
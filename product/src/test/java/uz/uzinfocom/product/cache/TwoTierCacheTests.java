@@ -0,0 +1,107 @@
+package uz.uzinfocom.product.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+class TwoTierCacheTests {
+
+  private static final int CONCURRENCY = 32;
+
+  private final TwoTierCache cache = new TwoTierCache(new ConcurrentMapCache("products"),
+      new ProductCacheProperties(), null, null, null, null);
+
+  @Test
+  void concurrentMissesLoadOnce() throws Exception {
+    AtomicInteger loads = new AtomicInteger();
+    List<Object> values = runConcurrently(() -> cache.get(1L, () -> {
+      loads.incrementAndGet();
+      Thread.sleep(100);
+      return "product-1";
+    }));
+
+    assertEquals(1, loads.get());
+    values.forEach(value -> assertEquals("product-1", value));
+    assertEquals("product-1", cache.get(1L, () -> "reloaded"));
+  }
+
+  @Test
+  void loaderFailureIsPropagatedToWaiters() throws Exception {
+    AtomicInteger loads = new AtomicInteger();
+    List<Object> results = runConcurrently(() -> {
+      try {
+        return cache.get(2L, () -> {
+          loads.incrementAndGet();
+          Thread.sleep(100);
+          throw new IllegalStateException("not found");
+        });
+      } catch (Cache.ValueRetrievalException e) {
+        return e.getCause().getMessage();
+      }
+    });
+
+    assertEquals(1, loads.get());
+    results.forEach(result -> assertEquals("not found", result));
+    assertThrows(Cache.ValueRetrievalException.class, () -> cache.get(2L, () -> {
+      throw new IllegalStateException("still not found");
+    }));
+  }
+
+  @Test
+  void waiterLoadsAsSoonAsLeaseIsReleasedWithoutValue() {
+    // Boshqa node lease'ni olgan, loader'i xato berib lease'ni qiymatsiz bo'shatgan
+    CacheLoadLease releasedLease = new CacheLoadLease(null, "other-node", Duration.ofSeconds(5)) {
+      @Override
+      public boolean tryAcquire(String cacheName, String key) {
+        return false;
+      }
+
+      @Override
+      public boolean isHeld(String cacheName, String key) {
+        return false;
+      }
+    };
+    TwoTierCache leasedCache = new TwoTierCache(new ConcurrentMapCache("products"),
+        new ProductCacheProperties(), null, null, releasedLease, null);
+
+    long start = System.nanoTime();
+    assertEquals("product-3", leasedCache.get(3L, () -> "product-3"));
+
+    assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(1)) < 0);
+  }
+
+  private static List<Object> runConcurrently(Callable<Object> task) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<Object>> futures = new ArrayList<>();
+      for (int i = 0; i < CONCURRENCY; i++) {
+        futures.add(executor.submit(() -> {
+          start.await();
+          return task.call();
+        }));
+      }
+      start.countDown();
+      List<Object> results = new ArrayList<>();
+      for (Future<Object> future : futures) {
+        results.add(future.get());
+      }
+      return results;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
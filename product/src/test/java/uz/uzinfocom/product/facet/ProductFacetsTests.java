@@ -0,0 +1,71 @@
+package uz.uzinfocom.product.facet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import uz.uzinfocom.product.dto.ProductFacetsDto;
+
+class ProductFacetsTests {
+
+  private static final LocalDateTime V1 = LocalDateTime.of(2026, 10, 18, 12, 0, 0, 123_456_789);
+  private static final LocalDateTime V2 = V1.plusSeconds(1);
+
+  private final ProductFacets facets = new ProductFacets(new ProductFacetProperties());
+
+  @Test
+  void countsCategoriesAndPriceBuckets() {
+    facets.add(1L, V1, "BOOKS", new BigDecimal("9.99"));
+    facets.add(2L, V1, "BOOKS", new BigDecimal("10.00"));
+    facets.add(3L, V1, "FOOD", new BigDecimal("7500"));
+    facets.update(2L, V2, "BOOKS", new BigDecimal("10.00"), "FOOD", new BigDecimal("60"));
+
+    ProductFacetsDto all = facets.snapshot(null);
+    assertEquals(Map.of("BOOKS", 1L, "FOOD", 2L), all.getCategories());
+    assertEquals(1, all.getPriceBuckets().get(0).getCount());
+    assertEquals(0, all.getPriceBuckets().get(1).getCount());
+    assertEquals(1, all.getPriceBuckets().get(2).getCount());
+    assertEquals(1, all.getPriceBuckets().get(6).getCount());
+
+    ProductFacetsDto food = facets.snapshot("FOOD");
+    assertEquals(0, food.getPriceBuckets().get(0).getCount());
+  }
+
+  @Test
+  void replaysWritesMadeDuringReconciliation() {
+    facets.add(1L, V1, "BOOKS", BigDecimal.ONE);
+
+    facets.beginReconcile();
+    facets.add(2L, V1, "FOOD", BigDecimal.ONE);
+    Map<String, long[]> snapshot = new HashMap<>();
+    snapshot.put("BOOKS", new long[facets.bucketCount()]);
+    snapshot.get("BOOKS")[0] = 3;
+    // 2-product so'rov snapshot'idan keyin commit bo'lgan - snapshot'da yo'q
+    facets.completeReconcile(snapshot, ids -> Map.of());
+
+    assertEquals(Map.of("BOOKS", 3L, "FOOD", 1L), facets.snapshot(null).getCategories());
+  }
+
+  @Test
+  void doesNotReplayWritesAlreadyInQuerySnapshot() {
+    facets.beginReconcile();
+    // beginReconcile va so'rov orasida commit bo'lgan yozuvlar: snapshot ularni allaqachon sanagan
+    facets.add(7L, V1, "FOOD", BigDecimal.ONE);
+    facets.update(8L, V1, "BOOKS", BigDecimal.ONE, "FOOD", BigDecimal.ONE);
+    // So'rovdan keyin commit bo'lgan yozuv: snapshot'da 9-product eski versiyada
+    facets.add(9L, V2, "BOOKS", BigDecimal.ONE);
+    Map<String, long[]> snapshot = new HashMap<>();
+    snapshot.put("FOOD", new long[facets.bucketCount()]);
+    snapshot.get("FOOD")[0] = 2;
+    // Postgres updated_at mikrosekundgacha yaxlitlangan
+    facets.completeReconcile(snapshot, ids -> Map.of(
+        7L, LocalDateTime.of(2026, 10, 18, 12, 0, 0, 123_457_000),
+        8L, LocalDateTime.of(2026, 10, 18, 12, 0, 0, 123_456_000),
+        9L, V1));
+
+    assertEquals(Map.of("BOOKS", 1L, "FOOD", 2L), facets.snapshot(null).getCategories());
+  }
+}
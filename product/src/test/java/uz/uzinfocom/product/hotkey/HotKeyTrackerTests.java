@@ -0,0 +1,51 @@
+package uz.uzinfocom.product.hotkey;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import uz.uzinfocom.product.dto.HotKeyDto;
+
+class HotKeyTrackerTests {
+
+  @Test
+  void findsHeavyHittersInSkewedStream() {
+    HotKeyProperties properties = new HotKeyProperties();
+    properties.setTopK(3);
+    HotKeyTracker tracker = new HotKeyTracker(properties);
+    Random random = new Random(42);
+
+    // 3 ta issiq id va 10 000 ta "uzun dum" id aralash oqimi
+    for (int i = 0; i < 200_000; i++) {
+      if (random.nextInt(10) < 3) {
+        tracker.record(1L + random.nextInt(3));
+      } else {
+        tracker.record(1_000L + random.nextInt(10_000));
+      }
+    }
+
+    List<Long> top = tracker.topK().stream().map(HotKeyDto::getId).sorted().toList();
+    assertEquals(List.of(1L, 2L, 3L), top);
+    assertTrue(tracker.isHot(2L));
+    assertFalse(tracker.isHot(5_000L));
+  }
+
+  @Test
+  void sketchNeverUnderestimates() {
+    CountMinSketch sketch = new CountMinSketch(64, 4);
+    for (long key = 1; key <= 1_000; key++) {
+      for (int i = 0; i < key % 7; i++) {
+        sketch.add(key);
+      }
+    }
+    for (long key = 1; key <= 1_000; key++) {
+      assertTrue(sketch.estimate(key) >= key % 7);
+    }
+
+    sketch.halve();
+    assertTrue(sketch.estimate(6L) >= 3);
+  }
+}
@@ -0,0 +1,133 @@
+package uz.uzinfocom.product.image;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+import uz.uzinfocom.product.ProductRepository;
+import uz.uzinfocom.product.minio.MinioObjectInfo;
+import uz.uzinfocom.product.minio.MinioService;
+import uz.uzinfocom.product.minio.ObjectContent;
+
+class ProductImageStoreTests {
+
+  private final FakeMinioService minio = new FakeMinioService();
+  private final ImageVariantService variants =
+      new ImageVariantService(minio, disabledVariants(), new SimpleMeterRegistry());
+  // Hech bir product commit qilinmagan
+  private final ProductRepository repository = (ProductRepository) Proxy.newProxyInstance(
+      getClass().getClassLoader(), new Class<?>[] {ProductRepository.class}, (proxy, method, args) -> {
+        if (method.getName().equals("existsByImageName")) {
+          return false;
+        }
+        throw new UnsupportedOperationException(method.getName());
+      });
+  private final ProductImageStore store = new ProductImageStore(minio, variants, repository,
+      Duration.ZERO, new SimpleMeterRegistry());
+
+  @AfterEach
+  void tearDown() {
+    store.shutdown();
+    variants.shutdown();
+  }
+
+  @Test
+  void releaseDoesNotDeleteObjectDeduplicatedByUncommittedUpload() {
+    MultipartFile file = new MockMultipartFile("file", "a.png", "image/png", new byte[] {1, 2, 3});
+    String objectName = store.store(file);
+
+    // Boshqa product eski rasmni bo'shatdi; bu yuklash shu obyektga dedup qilingan, hali commit qilinmagan
+    store.store(file);
+    store.unpin(objectName);
+    store.release(objectName, "image/png");
+    assertTrue(minio.objects.contains(objectName));
+
+    store.unpin(objectName);
+    store.release(objectName, "image/png");
+    assertFalse(minio.objects.contains(objectName));
+  }
+
+  private static ImageVariantProperties disabledVariants() {
+    ImageVariantProperties properties = new ImageVariantProperties();
+    properties.setEnabled(false);
+    return properties;
+  }
+
+  private static class FakeMinioService implements MinioService {
+
+    private final Set<String> objects = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public Optional<MinioObjectInfo> findFile(String objectName) {
+      return objects.contains(objectName)
+          ? Optional.of(new MinioObjectInfo(objectName, 3, "etag", Instant.now(), "image/png"))
+          : Optional.empty();
+    }
+
+    @Override
+    public void uploadFile(MultipartFile file, String objectName) {
+      objects.add(objectName);
+    }
+
+    @Override
+    public void deleteFile(String objectName) {
+      objects.remove(objectName);
+    }
+
+    @Override
+    public void createBucket(String bucketName) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean bucketExists(String bucketName) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void uploadBytes(byte[] data, String contentType, String objectName) {
+      objects.add(objectName);
+    }
+
+    @Override
+    public InputStream getFile(String objectName) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public InputStream getFile(String objectName, long offset, long length) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ObjectContent openFile(String objectName, long offset, long length, long totalSize) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public MinioObjectInfo statFile(String objectName) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String getFileUrl(String objectName) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String getFileUrl(String objectName, Duration expiry) {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
@@ -0,0 +1,123 @@
+package uz.uzinfocom.product.kafka;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import uz.uzinfocom.product.ProductEntity;
+import uz.uzinfocom.product.ProductRepository;
+
+class ProductEventProducerTests {
+
+  private final List<Object> sent = new CopyOnWriteArrayList<>();
+  private final AtomicInteger failuresLeft = new AtomicInteger();
+  private volatile ProductEntity stored;
+  private final ProductEventProperties properties = new ProductEventProperties();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private ProductEventProducer producer;
+
+  @AfterEach
+  void tearDown() {
+    producer.shutdown();
+  }
+
+  @Test
+  void failedUpdateIsRepublishedAsTombstoneWhenProductWasDeleted() throws InterruptedException {
+    producer = producer(1);
+    // Yuborish muvaffaqiyatsiz; qayta urinishgacha product o'chirilgan
+    stored = null;
+    producer.sendUpdated(product(1L, "phone"));
+
+    awaitSends(2);
+    assertTrue(sent.get(0) instanceof ProductChangeEvent);
+    assertNull(sent.get(1));
+    assertEquals(0, meterRegistry.counter("product.events.failures").count());
+  }
+
+  @Test
+  void failedUpdateIsRepublishedWithCurrentState() throws InterruptedException {
+    producer = producer(1);
+    // Bazada allaqachon yangiroq holat
+    stored = product(1L, "new phone");
+    producer.sendUpdated(product(1L, "old phone"));
+
+    awaitSends(2);
+    assertEquals("new phone", ((ProductChangeEvent) sent.get(1)).getName());
+  }
+
+  @Test
+  void givesUpAfterRetryAttempts() throws InterruptedException {
+    properties.setRetryAttempts(2);
+    producer = producer(Integer.MAX_VALUE);
+
+    producer.sendDeleted(1L);
+
+    awaitSends(3);
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (meterRegistry.counter("product.events.failures").count() == 0 && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertEquals(1, meterRegistry.counter("product.events.failures").count());
+    Thread.sleep(50);
+    assertEquals(3, sent.size());
+  }
+
+  private ProductEventProducer producer(int failures) {
+    failuresLeft.set(failures);
+    properties.setRetryBackoff(Duration.ofMillis(1));
+    KafkaTemplate<String, Object> template = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(Map.of())) {
+      @Override
+      public CompletableFuture<SendResult<String, Object>> send(String topic, String key, Object data) {
+        sent.add(data);
+        return failuresLeft.getAndDecrement() > 0
+            ? CompletableFuture.failedFuture(new IllegalStateException("broker down"))
+            : CompletableFuture.completedFuture(null);
+      }
+    };
+    return new ProductEventProducer(template, properties, repository(), meterRegistry);
+  }
+
+  private ProductRepository repository() {
+    return (ProductRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+        new Class<?>[] {ProductRepository.class}, (proxy, method, args) -> {
+          if (!method.getName().equals("findByIdAndActive")) {
+            throw new UnsupportedOperationException(method.getName());
+          }
+          return Optional.ofNullable(stored);
+        });
+  }
+
+  private void awaitSends(int count) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (sent.size() < count && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertEquals(count, sent.size());
+  }
+
+  private static ProductEntity product(Long id, String name) {
+    ProductEntity product = new ProductEntity();
+    product.setId(id);
+    product.setName(name);
+    product.setPrice(BigDecimal.TEN);
+    product.setCategory("ELECTRONICS");
+    product.setIsActive(true);
+    return product;
+  }
+}
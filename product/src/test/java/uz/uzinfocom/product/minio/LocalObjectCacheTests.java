@@ -0,0 +1,69 @@
+package uz.uzinfocom.product.minio;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LocalObjectCacheTests {
+
+  @TempDir
+  Path directory;
+
+  private LocalObjectCacheProperties properties;
+
+  @BeforeEach
+  void setUp() {
+    properties = new LocalObjectCacheProperties();
+    properties.setDirectory(directory.toString());
+    properties.setMaxSize(250);
+  }
+
+  @Test
+  void evictsLeastRecentlyUsedWhenOverCapacity() {
+    LocalObjectCache cache = new LocalObjectCache(properties, new SimpleMeterRegistry());
+    cache.put("a.jpg", new ByteArrayInputStream(new byte[100]));
+    cache.put("b.jpg", new ByteArrayInputStream(new byte[100]));
+    cache.get("a.jpg");
+    cache.put("c.jpg", new ByteArrayInputStream(new byte[100]));
+
+    assertTrue(cache.get("a.jpg").isPresent());
+    assertTrue(cache.get("b.jpg").isEmpty());
+    assertTrue(cache.get("c.jpg").isPresent());
+    assertEquals(200, cache.currentSize());
+  }
+
+  @Test
+  void servesRangeFromCachedFile() throws Exception {
+    LocalObjectCache cache = new LocalObjectCache(properties, new SimpleMeterRegistry());
+    Path file = cache.put("a.jpg", new ByteArrayInputStream(new byte[] {1, 2, 3, 4, 5})).orElseThrow();
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (ObjectContent content = ObjectContent.of(file, 1, 3)) {
+      content.transferTo(out);
+    }
+
+    assertArrayEquals(new byte[] {2, 3, 4}, out.toByteArray());
+  }
+
+  @Test
+  void rebuildsIndexFromDiskAndDropsPartialFiles() throws Exception {
+    LocalObjectCache cache = new LocalObjectCache(properties, new SimpleMeterRegistry());
+    cache.put("a.jpg", new ByteArrayInputStream(new byte[100]));
+    Files.write(directory.resolve("partial.tmp"), new byte[10]);
+
+    LocalObjectCache restarted = new LocalObjectCache(properties, new SimpleMeterRegistry());
+
+    assertTrue(restarted.get("a.jpg").isPresent());
+    assertEquals(1, restarted.entryCount());
+    assertTrue(Files.notExists(directory.resolve("partial.tmp")));
+  }
+}
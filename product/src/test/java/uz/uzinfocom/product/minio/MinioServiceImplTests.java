@@ -0,0 +1,133 @@
+package uz.uzinfocom.product.minio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.minio.BucketExistsArgs;
+import io.minio.GetObjectArgs;
+import io.minio.GetObjectResponse;
+import io.minio.MakeBucketArgs;
+import io.minio.MinioClient;
+import io.minio.ObjectWriteResponse;
+import io.minio.PutObjectArgs;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
+import io.minio.errors.ErrorResponseException;
+import io.minio.messages.ErrorResponse;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import okhttp3.Headers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MinioServiceImplTests {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void missingBucketIsTreatedAsAbsentObjectAndCreatedOnUpload() {
+    FakeMinioClient client = new FakeMinioClient();
+    MinioProperties properties = new MinioProperties();
+    properties.setBucketName("product-images");
+    LocalObjectCacheProperties cacheProperties = new LocalObjectCacheProperties();
+    cacheProperties.setDirectory(directory.toString());
+    MinioServiceImpl minioService = new MinioServiceImpl(client, properties,
+        new LocalObjectCache(cacheProperties, new SimpleMeterRegistry()));
+
+    assertTrue(minioService.findFile("products/sha256/abc.jpg").isEmpty());
+
+    minioService.uploadBytes(new byte[] {1, 2, 3}, "image/jpeg", "products/sha256/abc.jpg");
+
+    assertTrue(client.buckets.contains("product-images"));
+    assertEquals(List.of("products/sha256/abc.jpg"), client.uploads);
+  }
+
+  @Test
+  void rangeMissIsServedFromMinioAndCacheIsFilledInBackground() throws Exception {
+    FakeMinioClient client = new FakeMinioClient();
+    MinioProperties properties = new MinioProperties();
+    properties.setBucketName("product-images");
+    LocalObjectCacheProperties cacheProperties = new LocalObjectCacheProperties();
+    cacheProperties.setDirectory(directory.toString());
+    LocalObjectCache cache = new LocalObjectCache(cacheProperties, new SimpleMeterRegistry());
+    MinioServiceImpl minioService = new MinioServiceImpl(client, properties, cache);
+    try {
+      assertEquals("234", read(minioService.openFile("a.jpg", 2, 3, 10)));
+      // Range so'rovi butun obyektni kutmasdan MinIO'dan o'qildi
+      assertTrue(client.reads.contains("a.jpg@2+3"));
+
+      long deadline = System.currentTimeMillis() + 5_000;
+      while (cache.get("a.jpg").isEmpty() && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+      int reads = client.reads.size();
+      assertEquals("567", read(minioService.openFile("a.jpg", 5, 3, 10)));
+      assertEquals(reads, client.reads.size());
+    } finally {
+      minioService.shutdown();
+    }
+  }
+
+  private static String read(ObjectContent content) throws Exception {
+    try (content) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      content.transferTo(out);
+      return out.toString(StandardCharsets.US_ASCII);
+    }
+  }
+
+  private static class FakeMinioClient extends MinioClient {
+
+    private static final byte[] DATA = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    private final Set<String> buckets = new HashSet<>();
+    private final List<String> uploads = new ArrayList<>();
+    private final List<String> reads = new CopyOnWriteArrayList<>();
+
+    FakeMinioClient() {
+      super(MinioClient.builder().endpoint("http://localhost:9000").build());
+    }
+
+    @Override
+    public StatObjectResponse statObject(StatObjectArgs args) throws ErrorResponseException {
+      String code = buckets.contains(args.bucket()) ? "NoSuchKey" : "NoSuchBucket";
+      throw new ErrorResponseException(
+          new ErrorResponse(code, code, args.bucket(), args.object(), null, null, null), null, null);
+    }
+
+    @Override
+    public boolean bucketExists(BucketExistsArgs args) {
+      return buckets.contains(args.bucket());
+    }
+
+    @Override
+    public void makeBucket(MakeBucketArgs args) {
+      buckets.add(args.bucket());
+    }
+
+    @Override
+    public GetObjectResponse getObject(GetObjectArgs args) {
+      int offset = args.offset() != null ? args.offset().intValue() : 0;
+      int length = args.length() != null ? args.length().intValue() : DATA.length - offset;
+      reads.add(args.object() + "@" + offset + "+" + length);
+      return new GetObjectResponse(Headers.of(), args.bucket(), null, args.object(),
+          new ByteArrayInputStream(Arrays.copyOfRange(DATA, offset, offset + length)));
+    }
+
+    @Override
+    public ObjectWriteResponse putObject(PutObjectArgs args) {
+      uploads.add(args.object());
+      return null;
+    }
+  }
+}
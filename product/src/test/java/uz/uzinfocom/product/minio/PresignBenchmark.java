@@ -0,0 +1,51 @@
+package uz.uzinfocom.product.minio;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.minio.MinioClient;
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Presigned URL imzolash narxi va PresignedUrlService keshi bilan solishtirish.
+ * Region berilgani uchun MinIO'ga ulanish kerak emas - imzolash lokal.
+ * Test sifatida ishga tushmaydi, qo'lda: main() orqali.
+ */
+public class PresignBenchmark {
+
+  private static final int OBJECTS = 1_000;
+  private static final int WARMUP = 50_000;
+  private static final int ITERATIONS = 200_000;
+
+  public static void main(String[] args) {
+    MinioClient client = MinioClient.builder()
+        .endpoint("http://localhost:9000")
+        .region("us-east-1")
+        .credentials("minioadmin", "minioadmin")
+        .build();
+    MinioProperties properties = new MinioProperties();
+    properties.setBucketName("product-images");
+    MinioService minioService = new MinioServiceImpl(client, properties, null);
+    PresignedUrlService presignedUrlService =
+        new PresignedUrlService(minioService, properties, new SimpleMeterRegistry());
+
+    run("sign", name -> minioService.getFileUrl(name, Duration.ofMinutes(15)));
+    run("cached", presignedUrlService::getUrl);
+  }
+
+  private static void run(String name, Function<String, String> signer) {
+    long sink = 0;
+    for (int i = 0; i < WARMUP; i++) {
+      sink += signer.apply(objectName(i)).length();
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      sink += signer.apply(objectName(i)).length();
+    }
+    long elapsed = System.nanoTime() - start;
+    System.out.printf("%-7s %6d ns/url (sink %d)%n", name, elapsed / ITERATIONS, sink);
+  }
+
+  private static String objectName(int i) {
+    return "products/sha256/" + Integer.toHexString(i % OBJECTS) + ".jpg";
+  }
+}
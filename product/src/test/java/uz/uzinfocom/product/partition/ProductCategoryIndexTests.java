@@ -0,0 +1,45 @@
+package uz.uzinfocom.product.partition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+class ProductCategoryIndexTests {
+
+  @Test
+  void keepsMappingsAcrossResizeAndUpdates() {
+    ProductCategoryIndex index = new ProductCategoryIndex(new SimpleMeterRegistry());
+    String[] categories = {"ELECTRONICS", "BOOKS", "FOOD", "OTHERS"};
+    for (long id = 1; id <= 10_000; id++) {
+      index.put(id, categories[(int) (id % categories.length)]);
+    }
+
+    index.put(42L, "FOOD");
+
+    assertEquals(10_000, index.size());
+    assertEquals("BOOKS", index.get(1L));
+    assertEquals("FOOD", index.get(42L));
+    assertEquals("ELECTRONICS", index.get(10_000L));
+    assertNull(index.get(10_001L));
+    assertNull(index.get(null));
+  }
+
+  @Test
+  void overflowCategoryIsCountedAndNotRoutedToOldCategory() {
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    ProductCategoryIndex index = new ProductCategoryIndex(meterRegistry);
+    for (long id = 1; id <= 127; id++) {
+      index.put(id, "CATEGORY_" + id);
+    }
+
+    index.put(1L, "CATEGORY_128");
+    index.put(128L, "CATEGORY_128");
+
+    assertNull(index.get(1L));
+    assertNull(index.get(128L));
+    assertEquals("CATEGORY_2", index.get(2L));
+    assertEquals(2, meterRegistry.counter("product.category.index.overflow").count());
+  }
+}
@@ -0,0 +1,136 @@
+package uz.uzinfocom.product.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import uz.uzinfocom.product.cache.CachedPage;
+import uz.uzinfocom.product.dto.ProductResponseDto;
+
+class BinaryCacheValueSerializerTests {
+
+  private final GenericJackson2JsonRedisSerializer json =
+      new GenericJackson2JsonRedisSerializer(new RedisConfig().redisObjectMapper());
+  private final BinaryCacheValueSerializer serializer =
+      new BinaryCacheValueSerializer(List.of(new ProductResponseDtoCodec()), json, true);
+
+  @Test
+  void roundTripsProduct() {
+    ProductResponseDto dto = product();
+
+    Object restored = serializer.deserialize(serializer.serialize(dto));
+
+    ProductResponseDto result = assertInstanceOf(ProductResponseDto.class, restored);
+    assertEquals(dto.getId(), result.getId());
+    assertEquals(dto.getName(), result.getName());
+    assertEquals(dto.getPrice(), result.getPrice());
+    assertEquals(dto.getCategory(), result.getCategory());
+    assertNull(result.getDescription());
+    assertEquals(dto.getCreatedAt(), result.getCreatedAt());
+    assertEquals(dto.getIsActive(), result.getIsActive());
+    assertEquals(dto.getImageUrl(), result.getImageUrl());
+  }
+
+  @Test
+  void readsLegacyJsonEntries() {
+    ProductResponseDto dto = product();
+
+    Object restored = serializer.deserialize(json.serialize(dto));
+
+    ProductResponseDto result = assertInstanceOf(ProductResponseDto.class, restored);
+    assertEquals(dto.getId(), result.getId());
+    assertEquals(dto.getPrice(), result.getPrice());
+  }
+
+  @Test
+  void unknownTypeIsTreatedAsMiss() {
+    byte[] bytes = {BinaryCacheValueSerializer.MAGIC, 99, 1, 0};
+
+    assertNull(serializer.deserialize(bytes));
+  }
+
+  @Test
+  void readsKnownPrefixOfNewerSchemaVersion() throws IOException {
+    // v2 yozuvi: 1 << 11 biti bilan yangi maydon oxiriga qo'shilgan
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeByte(BinaryCacheValueSerializer.MAGIC);
+    CodecSupport.writeVarInt(out, ProductResponseDtoCodec.TYPE_ID);
+    CodecSupport.writeVarInt(out, 2);
+    CodecSupport.writeVarInt(out, 1 | 1 << 1 | 1 << 11);
+    CodecSupport.writeVarLong(out, 42L);
+    CodecSupport.writeString(out, "Noutbuk");
+    CodecSupport.writeString(out, "new field");
+    out.flush();
+
+    ProductResponseDto result = assertInstanceOf(ProductResponseDto.class,
+        serializer.deserialize(bytes.toByteArray()));
+    assertEquals(42L, result.getId());
+    assertEquals("Noutbuk", result.getName());
+  }
+
+  @Test
+  void readsNewerPageWithElementsInTheirOwnSchemaVersion() throws IOException {
+    ProductResponseDtoCodec productCodec = new ProductResponseDtoCodec();
+    BinaryCacheValueSerializer pageSerializer = new BinaryCacheValueSerializer(
+        List.of(productCodec, new CachedPageCodec(productCodec)), json, true);
+
+    // Element: v2 product, 1 << 11 biti bilan yangi maydon oxirida
+    ByteArrayOutputStream element = new ByteArrayOutputStream();
+    DataOutputStream elementOut = new DataOutputStream(element);
+    CodecSupport.writeVarInt(elementOut, 1 | 1 << 11);
+    CodecSupport.writeVarLong(elementOut, 42L);
+    CodecSupport.writeString(elementOut, "new field");
+    elementOut.flush();
+
+    // Sahifa: v3, oxirida noma'lum maydon
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeByte(BinaryCacheValueSerializer.MAGIC);
+    CodecSupport.writeVarInt(out, CachedPageCodec.TYPE_ID);
+    CodecSupport.writeVarInt(out, 3);
+    CodecSupport.writeVarLong(out, 7L);
+    CodecSupport.writeVarInt(out, 1);
+    CodecSupport.writeVarInt(out, 2);
+    CodecSupport.writeVarInt(out, element.size());
+    element.writeTo(out);
+    CodecSupport.writeString(out, "page field");
+    out.flush();
+
+    CachedPage page = assertInstanceOf(CachedPage.class, pageSerializer.deserialize(bytes.toByteArray()));
+    assertEquals(7L, page.getTotalElements());
+    assertEquals(42L, page.getContent().get(0).getId());
+
+    CachedPage restored = assertInstanceOf(CachedPage.class,
+        pageSerializer.deserialize(pageSerializer.serialize(new CachedPage(List.of(product()), 1L))));
+    assertEquals("Noutbuk", restored.getContent().get(0).getName());
+  }
+
+  @Test
+  void binaryIsSmallerThanJson() {
+    ProductResponseDto dto = product();
+
+    assertTrue(serializer.serialize(dto).length < json.serialize(dto).length);
+  }
+
+  private static ProductResponseDto product() {
+    ProductResponseDto dto = new ProductResponseDto();
+    dto.setId(42L);
+    dto.setName("Noutbuk");
+    dto.setPrice(new BigDecimal("1299.99"));
+    dto.setCategory("ELECTRONICS");
+    dto.setCreatedAt(LocalDateTime.of(2025, 11, 19, 10, 46, 0));
+    dto.setIsActive(true);
+    dto.setImageUrl("http://localhost:9000/product-images/products/42/a.jpg");
+    return dto;
+  }
+}
@@ -0,0 +1,60 @@
+package uz.uzinfocom.product.redis;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import uz.uzinfocom.product.dto.ProductResponseDto;
+
+/**
+ * Binar codec va GenericJackson2JsonRedisSerializer ni solishtirish.
+ * Test sifatida ishga tushmaydi, qo'lda: main() orqali.
+ */
+public class CacheSerializerBenchmark {
+
+  private static final int WARMUP = 200_000;
+  private static final int ITERATIONS = 1_000_000;
+
+  public static void main(String[] args) {
+    GenericJackson2JsonRedisSerializer json =
+        new GenericJackson2JsonRedisSerializer(new RedisConfig().redisObjectMapper());
+    BinaryCacheValueSerializer binary =
+        new BinaryCacheValueSerializer(List.of(new ProductResponseDtoCodec()), json, true);
+
+    ProductResponseDto dto = new ProductResponseDto(1_000_123L, "Samsung Galaxy S24 Ultra 256GB",
+        new BigDecimal("1299.99"), "ELECTRONICS",
+        "6.8 inch QHD+ display, Snapdragon 8 Gen 3, 12GB RAM",
+        LocalDateTime.now(), LocalDateTime.now(), true,
+        "products/1000123/3f2c1d9e-8a7b-4c6d-9e0f-1a2b3c4d5e6f.jpg",
+        "http://localhost:9000/product-images/products/1000123/3f2c1d9e-8a7b-4c6d-9e0f-1a2b3c4d5e6f.jpg",
+        "image/jpeg");
+
+    run("json", json, dto);
+    run("binary", binary, dto);
+  }
+
+  private static void run(String name, RedisSerializer<Object> serializer, ProductResponseDto dto) {
+    byte[] bytes = serializer.serialize(dto);
+    long sink = 0;
+    for (int i = 0; i < WARMUP; i++) {
+      sink += serializer.serialize(dto).length;
+      sink += serializer.deserialize(bytes) != null ? 1 : 0;
+    }
+
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      sink += serializer.serialize(dto).length;
+    }
+    long serNanos = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      sink += serializer.deserialize(bytes) != null ? 1 : 0;
+    }
+    long deserNanos = System.nanoTime() - start;
+
+    System.out.printf("%-7s size=%4d bytes  ser=%6.0f ns/op  deser=%6.0f ns/op  (sink=%d)%n",
+        name, bytes.length, (double) serNanos / ITERATIONS, (double) deserNanos / ITERATIONS, sink);
+  }
+}
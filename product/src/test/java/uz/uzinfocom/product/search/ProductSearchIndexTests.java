@@ -0,0 +1,75 @@
+package uz.uzinfocom.product.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ProductSearchIndexTests {
+
+  private ProductSearchIndex index;
+
+  @BeforeEach
+  void setUp() {
+    index = new ProductSearchIndex(new SimpleMeterRegistry());
+    index.put(1L, "Samsung Galaxy S24");
+    index.put(2L, "Apple iPhone 15");
+    index.put(3L, "Samsung TV 55 inch");
+  }
+
+  @Test
+  void exactMatchesRankAbovePrefixMatches() {
+    index.put(4L, "Galaxyland toy");
+
+    List<Long> ids = index.search("galaxy");
+
+    assertEquals(List.of(1L, 4L), ids);
+  }
+
+  @Test
+  void matchesPrefix() {
+    assertEquals(List.of(2L), index.search("iph"));
+  }
+
+  @Test
+  void toleratesTypos() {
+    assertEquals(List.of(1L, 3L), index.search("samsng"));
+    assertEquals(List.of(1L, 3L), index.search("samsungg"));
+  }
+
+  @Test
+  void multiTokenQueryRanksBestMatchFirst() {
+    assertEquals(List.of(3L, 1L), index.search("samsung tv"));
+  }
+
+  @Test
+  void updateAndRemoveKeepIndexConsistent() {
+    index.put(2L, "Apple MacBook Air");
+    assertTrue(index.search("iphone").isEmpty());
+    assertEquals(List.of(2L), index.search("macbook"));
+
+    index.remove(2L);
+    assertTrue(index.search("apple").isEmpty());
+    assertEquals(2, index.documentCount());
+  }
+
+  @Test
+  void rebuildKeepsLiveChangesMadeDuringScan() {
+    index.beginRebuild();
+    index.putSnapshot(1L, "Samsung Galaxy S24");
+    // Scan paytida: yangi product yaratildi, 2 o'chirildi
+    index.put(4L, "Xiaomi Redmi");
+    index.remove(2L);
+    index.putSnapshot(2L, "Apple iPhone 15");
+    index.completeRebuild(Set.of(1L, 2L));
+
+    assertEquals(List.of(4L), index.search("xiaomi"));
+    assertEquals(List.of(), index.search("iphone"));
+    // 3 bazada yo'q
+    assertEquals(List.of(1L), index.search("samsung"));
+  }
+}
@@ -0,0 +1,37 @@
+package uz.uzinfocom.product.warmup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import uz.uzinfocom.product.hotkey.HotKeyProperties;
+import uz.uzinfocom.product.hotkey.HotKeyTracker;
+
+class ProductAccessTrackerTests {
+
+  @Test
+  void snapshotKeepsMostRequestedKeysAndSurvivesRoundTrip() throws Exception {
+    WarmupProperties properties = new WarmupProperties();
+    properties.setMaxIds(2);
+    HotKeyTracker hotKeys = new HotKeyTracker(new HotKeyProperties());
+    ProductAccessTracker tracker = new ProductAccessTracker(properties, hotKeys);
+    List.of(1L, 2L, 2L, 3L, 3L, 3L).forEach(hotKeys::record);
+    tracker.recordPage("BOOKS", PageRequest.of(0, 10));
+    tracker.recordPage(null, PageRequest.of(2, 20, Sort.by(Sort.Direction.DESC, "price")));
+    tracker.recordPage(null, PageRequest.of(2, 20, Sort.by(Sort.Direction.DESC, "price")));
+
+    WarmupSnapshot snapshot = tracker.drain();
+    WarmupSnapshot read = WarmupSnapshot.read(new ByteArrayInputStream(snapshot.encode()));
+
+    assertEquals(List.of(3L, 2L), read.getIds());
+    assertEquals(List.of(
+        new WarmupPage(null, PageRequest.of(2, 20, Sort.by(Sort.Direction.DESC, "price"))),
+        new WarmupPage("BOOKS", PageRequest.of(0, 10))), read.getPages());
+    // Sahifa hisobi yangidan boshlanadi, issiq id'lar esa sketch'da qoladi
+    assertTrue(tracker.drain().getPages().isEmpty());
+  }
+}